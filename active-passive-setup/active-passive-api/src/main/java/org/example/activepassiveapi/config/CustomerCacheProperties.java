@@ -0,0 +1,31 @@
+package org.example.activepassiveapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The cache of customers read from the active instance.
+ * */
+@Data
+@ConfigurationProperties(prefix = "customer.cache")
+public class CustomerCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Customers kept; the least recently used ones are evicted beyond it.
+     * */
+    private int maximumSize = 10_000;
+
+    /**
+     * How long a customer is served without asking the active instance again.
+     * */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * How long after its TTL a customer is still served when the active instance fails.
+     * */
+    private Duration staleIfError = Duration.ofMinutes(10);
+}
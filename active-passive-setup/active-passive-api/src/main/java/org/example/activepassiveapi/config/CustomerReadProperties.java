@@ -0,0 +1,36 @@
+package org.example.activepassiveapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * How reads of customers are routed between the active and the passive instances.
+ * */
+@Data
+@ConfigurationProperties(prefix = "customer.reads")
+public class CustomerReadProperties {
+
+    private ReadMode mode = ReadMode.FAILOVER;
+
+    /**
+     * In HEDGE mode, how long a read waits for the active instance before the passive instance is asked as well.
+     * */
+    private Duration hedgeDelay = Duration.ofMillis(200);
+
+    public enum ReadMode {
+        /**
+         * Active only, the passive instance is the fallback of the circuit breaker and time limiter.
+         * */
+        FAILOVER,
+        /**
+         * Active first, the passive instance is asked too when the active is slower than the hedge delay or fails.
+         * */
+        HEDGE,
+        /**
+         * Both instances are asked at once, the first answer wins.
+         * */
+        RACE
+    }
+}
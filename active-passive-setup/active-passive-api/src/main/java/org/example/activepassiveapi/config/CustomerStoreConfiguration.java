@@ -0,0 +1,93 @@
+package org.example.activepassiveapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.example.activepassiveapi.config.CustomerStoreProperties.Persistence;
+import org.example.activepassiveapi.repository.CustomerJournal;
+import org.example.activepassiveapi.repository.CustomerStore;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.example.activepassiveapi.repository.OffHeapCustomerStore;
+import org.example.activepassiveapi.repository.journal.CustomerSnapshots;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog;
+import org.example.activepassiveapi.repository.journal.DurableCustomerJournal;
+import org.example.activepassiveapi.service.CustomerReplicator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Configuration(proxyBeanMethods = false)
+public class CustomerStoreConfiguration {
+
+    @Bean
+    public CustomerStore customerStore(CustomerStoreProperties properties, MeterRegistry meterRegistry) {
+        return switch (properties.getType()) {
+            case HEAP -> new HeapCustomerStore();
+            case OFF_HEAP -> offHeapStore(properties, meterRegistry);
+        };
+    }
+
+    /**
+     * Metrics: customer.store.allocated and customer.store.dead (bytes of direct memory), customer.store.compactions.
+     * */
+    private static OffHeapCustomerStore offHeapStore(CustomerStoreProperties properties, MeterRegistry meterRegistry) {
+        OffHeapCustomerStore store = new OffHeapCustomerStore(Math.toIntExact(properties.getChunkSize().toBytes()),
+                properties.getCompactionThreshold());
+        Gauge.builder("customer.store.allocated", store, OffHeapCustomerStore::getAllocatedBytes)
+                .description("Direct memory reserved by the chunks of the off-heap store")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("customer.store.dead", store, OffHeapCustomerStore::getDeadBytes)
+                .description("Bytes of the chunks held by updated or deleted records, reclaimed by the next compaction")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.store.compactions", store, OffHeapCustomerStore::getCompactions)
+                .description("Compactions of the off-heap store")
+                .register(meterRegistry);
+        return store;
+    }
+
+    /**
+     * Recovers the store before it is handed to the repository. Metrics: customer.journal.recovery.time,
+     * customer.journal.sequence, customer.journal.syncs and customer.journal.synced.records; synced records per sync
+     * is the size of the fsync groups. With replication enabled the journal also feeds the {@link CustomerReplicator}.
+     * */
+    @Bean
+    public CustomerJournal customerJournal(CustomerStore customerStore, CustomerStoreProperties properties,
+                                           MeterRegistry meterRegistry, ObjectProvider<CustomerReplicator> replicator) throws IOException {
+        CustomerJournal journal = durableJournal(customerStore, properties.getPersistence(), meterRegistry);
+        CustomerReplicator customerReplicator = replicator.getIfAvailable();
+        return customerReplicator == null ? journal : customerReplicator.replicate(journal);
+    }
+
+    private static CustomerJournal durableJournal(CustomerStore customerStore, Persistence persistence,
+                                                  MeterRegistry meterRegistry) throws IOException {
+        if (!persistence.isEnabled()) {
+            return CustomerJournal.NONE;
+        }
+        DurableCustomerJournal journal = new DurableCustomerJournal(
+                new CustomerWriteAheadLog(persistence.getDirectory(), Math.toIntExact(persistence.getSegmentSize().toBytes()), persistence.getSyncMode()),
+                new CustomerSnapshots(persistence.getDirectory()),
+                customerStore);
+        journal.recover();
+        journal.scheduleSnapshots(persistence.getSnapshotInterval());
+
+        TimeGauge.builder("customer.journal.recovery.time", journal, TimeUnit.MILLISECONDS, j -> j.getRecoveryTime().toMillis())
+                .description("Time to load the snapshot and replay the write-ahead log at startup")
+                .register(meterRegistry);
+        Gauge.builder("customer.journal.sequence", journal, DurableCustomerJournal::getLastSequence)
+                .description("Sequence number of the last write in the write-ahead log")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.journal.syncs", journal, DurableCustomerJournal::getSyncs)
+                .description("Forces of the write-ahead log")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.journal.synced.records", journal, DurableCustomerJournal::getSyncedRecords)
+                .description("Writes made durable by the forces of the write-ahead log")
+                .register(meterRegistry);
+        return journal;
+    }
+}
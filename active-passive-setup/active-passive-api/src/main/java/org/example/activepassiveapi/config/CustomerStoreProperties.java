@@ -0,0 +1,62 @@
+package org.example.activepassiveapi.config;
+
+import lombok.Data;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.SyncMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The storage engine of the customer repository.
+ * */
+@Data
+@ConfigurationProperties(prefix = "customer.store")
+public class CustomerStoreProperties {
+
+    private StoreType type = StoreType.HEAP;
+
+    /**
+     * Size of the direct memory chunks of the OFF_HEAP store.
+     * */
+    private DataSize chunkSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Share of the allocated bytes of the OFF_HEAP store held by dead records above which the store is compacted.
+     * */
+    private double compactionThreshold = 0.5;
+
+    private Persistence persistence = new Persistence();
+
+    public enum StoreType {
+        /**
+         * Customer objects in an ordered map on the heap.
+         * */
+        HEAP,
+        /**
+         * UTF-8 encoded records in direct memory, only the id index on the heap.
+         * */
+        OFF_HEAP
+    }
+
+    /**
+     * Write-ahead log and snapshots of the store, off by default.
+     * */
+    @Data
+    public static class Persistence {
+
+        private boolean enabled = false;
+
+        private Path directory = Path.of("data", "customers");
+
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * GROUP shares one fsync between all writes which arrive while the previous fsync runs.
+         * */
+        private SyncMode syncMode = SyncMode.GROUP;
+
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.activepassiveapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Micro-batching of the single customer writes.
+ * */
+@Data
+@ConfigurationProperties(prefix = "customer.writes")
+public class CustomerWriteProperties {
+
+    /**
+     * Collects the single writes into batches which the repository applies and journals in one pass.
+     * */
+    private boolean batching = true;
+
+    /**
+     * How long the first write of a batch waits for more writes.
+     * */
+    private Duration window = Duration.ofMillis(1);
+
+    /**
+     * A batch is applied right away once it holds this many writes.
+     * */
+    private int maxBatchSize = 256;
+}
@@ -0,0 +1,57 @@
+package org.example.activepassiveapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.example.activepassiveapi.service.CustomerReplicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration(proxyBeanMethods = false)
+public class ReplicationConfiguration {
+
+    /**
+     * Only on the active instance. Metrics: customer.replication.sequence, customer.replication.acked,
+     * customer.replication.lag (changes) and customer.replication.lag.time, plus the batches, failures, dropped and
+     * cancelled counters.
+     * */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "customer.replication", name = "role", havingValue = "active")
+    public CustomerReplicator customerReplicator(WebClient.Builder webClientBuilder, ReplicationProperties properties,
+                                                 ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        CustomerReplicator replicator = new CustomerReplicator(webClientBuilder.baseUrl(properties.getTargetUrl()).build(),
+                properties, objectMapper);
+
+        Gauge.builder("customer.replication.sequence", replicator, CustomerReplicator::getSequence)
+                .description("Sequence number of the last replicated write")
+                .register(meterRegistry);
+        Gauge.builder("customer.replication.acked", replicator, CustomerReplicator::getAckedSequence)
+                .description("Sequence number up to which the passive instance applied the writes")
+                .register(meterRegistry);
+        Gauge.builder("customer.replication.lag", replicator, CustomerReplicator::getLag)
+                .description("Writes not yet applied by the passive instance")
+                .register(meterRegistry);
+        TimeGauge.builder("customer.replication.lag.time", replicator, TimeUnit.MILLISECONDS, r -> r.getLagTime().toMillis())
+                .description("Age of the oldest write not yet applied by the passive instance")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.replication.batches", replicator, CustomerReplicator::getBatches)
+                .description("Batches sent to the passive instance")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.replication.failures", replicator, CustomerReplicator::getFailures)
+                .description("Failed attempts to send a batch")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.replication.dropped", replicator, CustomerReplicator::getDropped)
+                .description("Writes dropped on buffer overflow, missing on the passive instance")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.replication.cancelled", replicator, CustomerReplicator::getCancelled)
+                .description("Writes in flight when the replication stopped")
+                .register(meterRegistry);
+        return replicator;
+    }
+}
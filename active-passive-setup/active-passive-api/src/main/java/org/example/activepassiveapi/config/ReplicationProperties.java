@@ -0,0 +1,61 @@
+package org.example.activepassiveapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Replication of the customer writes of the active instance to the passive instance.
+ * */
+@Data
+@ConfigurationProperties(prefix = "customer.replication")
+public class ReplicationProperties {
+
+    /**
+     * The side of the replication this instance is on. Only the passive instance accepts replicated changes.
+     * */
+    private Role role = Role.NONE;
+
+    /**
+     * Shared by the active and the passive instance, which sign and verify every batch with it. Required with a role.
+     * */
+    private String secret;
+
+    /**
+     * On the active instance, the base URL of the passive instance.
+     * */
+    private String targetUrl;
+
+    private int batchSize = 500;
+
+    /**
+     * How long the sender waits for more changes before it sends a batch which is not full.
+     * */
+    private Duration linger = Duration.ofMillis(5);
+
+    /**
+     * Batches sent before the previous ones are acknowledged.
+     * */
+    private int maxInFlight = 4;
+
+    /**
+     * Changes buffered for the passive instance. When the buffer overflows it is dropped and a new stream is started.
+     * */
+    private int bufferCapacity = 100_000;
+
+    public enum Role {
+        /**
+         * No replication.
+         * */
+        NONE,
+        /**
+         * Ships the writes of this instance to the passive instance at the target URL.
+         * */
+        ACTIVE,
+        /**
+         * Applies the writes shipped by the active instance, on POST /replication/customers.
+         * */
+        PASSIVE
+    }
+}
@@ -1,10 +1,16 @@
 package org.example.activepassiveapi.controller;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import lombok.extern.slf4j.Slf4j;
 import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.model.CustomerPage;
+import org.example.activepassiveapi.service.CustomerCache;
+import org.example.activepassiveapi.service.CustomerReadRacer;
 import org.example.activepassiveapi.service.CustomerService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,42 +28,145 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/customers")
 public class CustomerController {
 
+    private static final String CUSTOMER_SERVICE = "customer-service";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final CustomerService customerService;
+    private final CustomerReadRacer customerReadRacer;
+    private final CustomerCache customerCache;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerReadRacer customerReadRacer, CustomerCache customerCache,
+                              CircuitBreakerRegistry circuitBreakerRegistry) {
         this.customerService = customerService;
+        this.customerReadRacer = customerReadRacer;
+        this.customerCache = customerCache;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
     }
 
+    /**
+     * With customer.reads.mode HEDGE or RACE the reads go to both instances and the first good answer wins.
+     * The circuit breaker and time limiter then only see a failure when both instances failed.
+     * */
     @GetMapping("/all")
     @CircuitBreaker(name = "customer-service", fallbackMethod = "getAllPassive")
     @TimeLimiter(name = "customer-service")
     public Flux<Customer> getAllCustomers() {
+        if (customerReadRacer.isEnabled()) {
+            return customerReadRacer.getAllCustomers();
+        }
         log.info("get-customers-from-active-instances");
         return customerService.getAllCustomersFromActive();
     }
 
+    /**
+     * Keyset pagination: pass the nextCursor of a page as the after parameter to get the next one.
+     * */
+    @GetMapping
+    public Mono<CustomerPage> getCustomersPage(@RequestParam(required = false) String after,
+                                               @RequestParam(defaultValue = "100") int limit) {
+        return customerService.getCustomersPageFromActive(after, Math.max(1, Math.min(MAX_PAGE_SIZE, limit)));
+    }
+
+    /**
+     * The full set as NDJSON or server-sent events. Customers are read from the store as the client consumes them,
+     * so neither side has to hold the whole set in memory.
+     * */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Customer> streamCustomers() {
+        return customerService.streamCustomersFromActive();
+    }
+
+    @GetMapping(value = "/search", params = "email")
+    public Flux<Customer> findCustomersByEmail(@RequestParam String email) {
+        return customerService.findCustomersByEmailFromActive(email);
+    }
+
+    @GetMapping(value = "/search", params = "phone")
+    public Flux<Customer> findCustomersByPhone(@RequestParam String phone) {
+        return customerService.findCustomersByPhoneFromActive(phone);
+    }
+
+    /**
+     * Served from the customer cache while fresh; concurrent misses for one id make a single read. Answers of a race
+     * may come from the passive instance and are not cached.
+     * */
     @GetMapping("/{customerId}")
     @CircuitBreaker(name = "customer-service", fallbackMethod = "getByIdPassive")
     public Mono<Customer> getCustomerById(@PathVariable String customerId) {
-        return customerService.getByCustomerByIdFromActive(customerId);
+        if (customerReadRacer.isEnabled()) {
+            return customerReadRacer.getCustomerById(customerId);
+        }
+        return customerCache.get(customerId, () -> customerService.getByCustomerByIdFromActive(customerId));
     }
 
     @PostMapping
     @CircuitBreaker(name = "customer-service", fallbackMethod = "createPassive")
     public Mono<Customer> createNewCustomer(@RequestBody Customer customer) {
-        return customerService.createCustomerInActive(customer);
+        return customerService.createCustomerInActive(customer)
+                .doOnNext(customerCache::put);
     }
 
     @PutMapping("/{customerId}")
     @CircuitBreaker(name = "customer-service", fallbackMethod = "updatePassive")
     public Mono<Customer> updateCustomer(@PathVariable String customerId, @RequestBody Customer customer) {
-        return customerService.updateCustomerInActive(customerId, customer);
+        return customerService.updateCustomerInActive(customerId, customer)
+                .doOnNext(customerCache::put);
     }
 
     @DeleteMapping("/{customerId}")
     @CircuitBreaker(name = "customer-service", fallbackMethod = "deletePassive")
     public Mono<Void> deleteCustomer(@PathVariable String customerId) {
-        return customerService.deleteCustomerFromActive(customerId);
+        return customerService.deleteCustomerFromActive(customerId)
+                .doOnSuccess(done -> customerCache.invalidate(customerId));
+    }
+
+    /**
+     * Bulk writes take a JSON array or NDJSON. The customers are written in chunks of up to 1000, each chunk in one
+     * pass over the repository and one journal sync; the circuit breaker decides per chunk, which falls back to the
+     * passive instance as a whole. Customers without an id are skipped by the bulk update and delete.
+     * */
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Customer> createCustomers(@RequestBody Flux<Customer> customers) {
+        return customers.buffer(BULK_CHUNK_SIZE)
+                .concatMap(chunk -> withCircuitBreaker(Flux.defer(() -> customerService.createCustomersInActive(chunk)))
+                        .doOnNext(customerCache::put)
+                        .onErrorResume(t -> customerService.createCustomersInPassive(chunk)));
+    }
+
+    @PutMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Customer> updateCustomers(@RequestBody Flux<Customer> customers) {
+        return customers.filter(customer -> customer.getId() != null)
+                .buffer(BULK_CHUNK_SIZE)
+                .concatMap(chunk -> withCircuitBreaker(Flux.defer(() -> customerService.updateCustomersInActive(chunk)))
+                        .doOnNext(customerCache::put)
+                        .onErrorResume(t -> {
+                            chunk.forEach(customer -> customerCache.invalidate(customer.getId()));
+                            return customerService.updateCustomersInPassive(chunk);
+                        }));
+    }
+
+    @DeleteMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<Void> deleteCustomers(@RequestBody Flux<Customer> customers) {
+        return customers.mapNotNull(Customer::getId)
+                .buffer(BULK_CHUNK_SIZE)
+                .concatMap(ids -> withCircuitBreaker(Mono.defer(() -> customerService.deleteCustomersFromActive(ids)))
+                        .onErrorResume(t -> customerService.deleteCustomersFromPassive(ids))
+                        .doFinally(signal -> ids.forEach(customerCache::invalidate)))
+                .then();
+    }
+
+    private <T> Flux<T> withCircuitBreaker(Flux<T> call) {
+        return call.transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(CUSTOMER_SERVICE)));
+    }
+
+    private <T> Mono<T> withCircuitBreaker(Mono<T> call) {
+        return call.transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(CUSTOMER_SERVICE)));
     }
 
     /**
@@ -67,8 +177,12 @@ public class CustomerController {
         return customerService.getAllCustomersFromPassive();
     }
 
+    /**
+     * The last known customer (stale-if-error) before the passive instance.
+     * */
     public Mono<Customer> getByIdPassive(String customerId, Throwable t) {
-        return customerService.getCustomerByIdFromPassive(customerId);
+        return customerCache.getIfError(customerId)
+                .switchIfEmpty(Mono.defer(() -> customerService.getCustomerByIdFromPassive(customerId)));
     }
 
     public Mono<Customer> createPassive(Customer customer, Throwable t) {
@@ -76,10 +190,12 @@ public class CustomerController {
     }
 
     public Mono<Customer> updatePassive(String customerId, Customer customer, Throwable t) {
+        customerCache.invalidate(customerId);
         return customerService.updateCustomerInPassive(customerId, customer);
     }
 
     public Mono<Void> deletePassive(String customerId, Throwable t) {
+        customerCache.invalidate(customerId);
         return customerService.deleteCustomerFromPassive(customerId);
     }
 
@@ -113,5 +229,7 @@ public class CustomerController {
      *   - This is how you achieve region-to-region failover.
      *
      *   User → [Active Service] --fails--> fallbackMethod() --calls--> [Passive Service on another server]
+     *
+     *   - active-passive-client implements this on the caller side as ActivePassiveFailover.
      * */
 }
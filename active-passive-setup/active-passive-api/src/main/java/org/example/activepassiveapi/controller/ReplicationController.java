@@ -0,0 +1,62 @@
+package org.example.activepassiveapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.activepassiveapi.config.ReplicationProperties;
+import org.example.activepassiveapi.model.ReplicationAck;
+import org.example.activepassiveapi.model.ReplicationBatch;
+import org.example.activepassiveapi.service.CustomerReplicaApplier;
+import org.example.activepassiveapi.service.ReplicationSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Receives the changes replicated by the active instance, only on the passive instance. The body is verified against
+ * its {@link ReplicationSignature} before it is even parsed; a batch without a valid one is rejected with 401.
+ * */
+@RestController
+@RequestMapping("/replication")
+@ConditionalOnProperty(prefix = "customer.replication", name = "role", havingValue = "passive")
+public class ReplicationController {
+
+    private final CustomerReplicaApplier customerReplicaApplier;
+    private final ReplicationSignature replicationSignature;
+    private final ObjectMapper objectMapper;
+
+    public ReplicationController(CustomerReplicaApplier customerReplicaApplier, ReplicationProperties properties,
+                                 ObjectMapper objectMapper) {
+        this.customerReplicaApplier = customerReplicaApplier;
+        this.replicationSignature = new ReplicationSignature(properties.getSecret());
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/customers")
+    public Mono<ReplicationAck> applyCustomerChanges(@RequestBody byte[] body,
+                                                     @RequestHeader(name = ReplicationSignature.HEADER, required = false) String signature) {
+        if (!replicationSignature.verify(body, signature)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid replication signature");
+        }
+        ReplicationBatch batch;
+        try {
+            batch = objectMapper.readValue(body, ReplicationBatch.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid replication batch", e);
+        }
+        return customerReplicaApplier.apply(batch);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ReplicationAck> staleEpoch(CustomerReplicaApplier.StaleEpochException e) {
+        return ResponseEntity.status(e.getStatusCode()).body(e.getAck());
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.activepassiveapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of customers in id order. The next page starts after nextCursor, which is null on the last page.
+ * */
+@Data
+@Builder
+@AllArgsConstructor(staticName = "create")
+public class CustomerPage {
+    private List<Customer> customers;
+    private String nextCursor;
+}
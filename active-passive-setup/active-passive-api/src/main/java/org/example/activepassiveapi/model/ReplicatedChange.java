@@ -0,0 +1,18 @@
+package org.example.activepassiveapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One write of the active instance. The customer is null for a delete, timestamp is the epoch millis of the write.
+ * */
+@Data
+@Builder
+@AllArgsConstructor(staticName = "create")
+public class ReplicatedChange {
+    private long sequence;
+    private long timestamp;
+    private String id;
+    private Customer customer;
+}
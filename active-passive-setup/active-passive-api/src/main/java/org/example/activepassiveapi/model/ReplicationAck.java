@@ -0,0 +1,16 @@
+package org.example.activepassiveapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The sequence number up to which the passive instance has applied the stream of the given epoch.
+ * */
+@Data
+@Builder
+@AllArgsConstructor(staticName = "create")
+public class ReplicationAck {
+    private long epoch;
+    private long appliedSequence;
+}
@@ -0,0 +1,20 @@
+package org.example.activepassiveapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Consecutive changes of one replication stream. A stream starts at startSequence and is replaced by a stream with a
+ * higher epoch when the active instance restarts or had to drop changes.
+ * */
+@Data
+@Builder
+@AllArgsConstructor(staticName = "create")
+public class ReplicationBatch {
+    private long epoch;
+    private long startSequence;
+    private List<ReplicatedChange> changes;
+}
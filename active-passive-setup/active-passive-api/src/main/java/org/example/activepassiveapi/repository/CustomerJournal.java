@@ -0,0 +1,52 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records the writes of the {@link CustomerRepository}, in the order of the writes to each id. The futures complete
+ * when a write is durable.
+ * */
+public interface CustomerJournal extends Closeable {
+
+    CustomerJournal NONE = new CustomerJournal() {
+        @Override
+        public CompletableFuture<Void> put(Customer customer) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(String id) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> writeAll(List<CustomerWrite> writes) {
+            return CompletableFuture.completedFuture(null);
+        }
+    };
+
+    CompletableFuture<Void> put(Customer customer);
+
+    CompletableFuture<Void> delete(String id);
+
+    /**
+     * Records the applied writes of a batch in their order. Journals which can make a batch durable at once, with one
+     * sync, override this.
+     * */
+    default CompletableFuture<Void> writeAll(List<CustomerWrite> writes) {
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[writes.size()];
+        for (int i = 0; i < durable.length; i++) {
+            CustomerWrite write = writes.get(i);
+            durable[i] = write.type() == CustomerWrite.Type.DELETE ? delete(write.id()) : put(write.customer());
+        }
+        return CompletableFuture.allOf(durable);
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -5,38 +5,211 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+/**
+ * Customers in a {@link CustomerStore}, ordered by id for keyset pagination, with secondary indexes by email and phone.
+ * Writes to one id are serialized by a lock stripe so that the indexes and the {@link CustomerJournal} follow the
+ * stored customer. A write is visible right away and its Mono completes once the journal has made it durable.
+ * */
 @Repository
 public class CustomerRepository {
 
-    private final Map<String, Customer> customerStore = new ConcurrentHashMap<>();
+    private static final int LOCK_STRIPES = 64;
+    private static final String[] NO_IDS = new String[0];
 
+    private final CustomerStore customerStore;
+    private final CustomerJournal customerJournal;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // the id arrays are copied on write, so readers never see them change
+    private final Map<String, String[]> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, String[]> idsByPhone = new ConcurrentHashMap<>();
+
+    public CustomerRepository(CustomerStore customerStore, CustomerJournal customerJournal) {
+        this.customerStore = customerStore;
+        this.customerJournal = customerJournal;
+        Arrays.setAll(locks, i -> new Object());
+        // the store may come recovered from the journal
+        customerStore.values(null).forEach(customer -> reindex(null, customer));
+    }
+
+    /**
+     * Streams the whole store lazily, in id order, as fast as the subscriber requests.
+     * */
     public Flux<Customer> findAll() {
-        return Flux.fromIterable(customerStore.values());
+        return Flux.fromIterable(customerStore.values(null));
+    }
+
+    /**
+     * Keyset pagination: at most limit customers with an id greater than the cursor, or from the start without one.
+     * */
+    public Flux<Customer> findAll(String afterId, int limit) {
+        return Flux.fromIterable(customerStore.values(afterId)).take(limit);
     }
 
     public Mono<Customer> findById(String id) {
         return Mono.justOrEmpty(customerStore.get(id));
     }
 
+    public Flux<Customer> findByEmail(String email) {
+        return findByIndex(idsByEmail, normalizeEmail(email));
+    }
+
+    public Flux<Customer> findByPhone(String phone) {
+        return findByIndex(idsByPhone, normalizePhone(phone));
+    }
+
     public Mono<Customer> save(Customer customer) {
-        customerStore.put(customer.getId(), customer);
-        return Mono.just(customer);
+        CompletableFuture<Void> durable;
+        synchronized (lockFor(customer.getId())) {
+            Customer previous = customerStore.get(customer.getId());
+            customerStore.put(customer);
+            reindex(previous, customer);
+            durable = customerJournal.put(customer);
+        }
+        return Mono.fromFuture(durable).thenReturn(customer);
     }
 
     public Mono<Customer> update(String id, Customer customer) {
-        if (!customerStore.containsKey(id)) {
-            return Mono.empty();
+        CompletableFuture<Void> durable;
+        synchronized (lockFor(id)) {
+            Customer previous = customerStore.get(id);
+            if (previous == null) {
+                return Mono.empty();
+            }
+            customer.setId(id);
+            customerStore.put(customer);
+            reindex(previous, customer);
+            durable = customerJournal.put(customer);
         }
-        customer.setId(id);
-        customerStore.put(id, customer);
-        return Mono.just(customer);
+        return Mono.fromFuture(durable).thenReturn(customer);
     }
 
     public Mono<Void> delete(String id) {
-        customerStore.remove(id);
-        return Mono.empty();
+        synchronized (lockFor(id)) {
+            Customer previous = customerStore.get(id);
+            if (previous == null) {
+                return Mono.empty();
+            }
+            customerStore.remove(id);
+            reindex(previous, null);
+            return Mono.fromFuture(customerJournal.delete(id));
+        }
+    }
+
+    /**
+     * Applies the writes in their order under the lock stripes of all their ids, taken in stripe order, and journals
+     * them as one batch. Updates and deletes of unknown ids are skipped, like their single counterparts.
+     *
+     * @return per write whether it was applied, once the applied writes are durable
+     * */
+    public Mono<boolean[]> writeAll(List<CustomerWrite> writes) {
+        if (writes.isEmpty()) {
+            return Mono.just(new boolean[0]);
+        }
+        int[] stripes = writes.stream().mapToInt(write -> stripeOf(write.id())).distinct().sorted().toArray();
+        boolean[] applied = new boolean[writes.size()];
+        List<CustomerWrite> journaled = new ArrayList<>(writes.size());
+        CompletableFuture<Void> durable = withStripes(stripes, 0, () -> {
+            for (int i = 0; i < writes.size(); i++) {
+                CustomerWrite write = writes.get(i);
+                Customer previous = customerStore.get(write.id());
+                switch (write.type()) {
+                    case SAVE -> {
+                        customerStore.put(write.customer());
+                        reindex(previous, write.customer());
+                    }
+                    case UPDATE -> {
+                        if (previous == null) {
+                            continue;
+                        }
+                        write.customer().setId(write.id());
+                        customerStore.put(write.customer());
+                        reindex(previous, write.customer());
+                    }
+                    case DELETE -> {
+                        if (previous == null) {
+                            continue;
+                        }
+                        customerStore.remove(write.id());
+                        reindex(previous, null);
+                    }
+                }
+                applied[i] = true;
+                journaled.add(write);
+            }
+            return journaled.isEmpty() ? CompletableFuture.<Void>completedFuture(null) : customerJournal.writeAll(journaled);
+        });
+        return Mono.fromFuture(durable).thenReturn(applied);
+    }
+
+    private <T> T withStripes(int[] stripes, int from, Supplier<T> action) {
+        if (from == stripes.length) {
+            return action.get();
+        }
+        synchronized (locks[stripes[from]]) {
+            return withStripes(stripes, from + 1, action);
+        }
+    }
+
+    private Object lockFor(String id) {
+        return locks[stripeOf(id)];
+    }
+
+    private static int stripeOf(String id) {
+        return Math.floorMod(id.hashCode(), LOCK_STRIPES);
+    }
+
+    private Flux<Customer> findByIndex(Map<String, String[]> index, String key) {
+        if (key == null) {
+            return Flux.empty();
+        }
+        return Flux.fromArray(index.getOrDefault(key, NO_IDS))
+                .mapNotNull(customerStore::get);
+    }
+
+    private void reindex(Customer previous, Customer current) {
+        if (previous != null) {
+            unindex(idsByEmail, normalizeEmail(previous.getEmail()), previous.getId());
+            unindex(idsByPhone, normalizePhone(previous.getPhone()), previous.getId());
+        }
+        if (current != null) {
+            index(idsByEmail, normalizeEmail(current.getEmail()), current.getId());
+            index(idsByPhone, normalizePhone(current.getPhone()), current.getId());
+        }
+    }
+
+    private static void index(Map<String, String[]> index, String key, String id) {
+        if (key != null) {
+            index.merge(key, new String[]{id}, (ids, added) -> {
+                String[] grown = Arrays.copyOf(ids, ids.length + 1);
+                grown[ids.length] = id;
+                return grown;
+            });
+        }
+    }
+
+    private static void unindex(Map<String, String[]> index, String key, String id) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, ids) -> {
+                String[] remaining = Arrays.stream(ids).filter(indexed -> !indexed.equals(id)).toArray(String[]::new);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizePhone(String phone) {
+        return phone == null ? null : phone.replaceAll("[^0-9+]", "");
     }
 }
@@ -0,0 +1,24 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+
+/**
+ * Storage engine behind the {@link CustomerRepository}: customers by id, iterable in id order.
+ * Writes to the same id are serialized by the repository; reads may run concurrently with any write.
+ * */
+public interface CustomerStore {
+
+    Customer get(String id);
+
+    void put(Customer customer);
+
+    void remove(String id);
+
+    /**
+     * Customers in id order with an id greater than afterId, or all of them when afterId is null.
+     * The iteration is lazy and weakly consistent, it never fails because of concurrent writes.
+     * */
+    Iterable<Customer> values(String afterId);
+
+    long size();
+}
@@ -0,0 +1,36 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+
+/**
+ * One write of a batch for {@link CustomerRepository#writeAll}. The customer of a delete is null.
+ * */
+public record CustomerWrite(Type type, String id, Customer customer) {
+
+    public enum Type {
+        /**
+         * Creates or replaces the customer.
+         * */
+        SAVE,
+        /**
+         * Replaces the customer if it exists.
+         * */
+        UPDATE,
+        /**
+         * Removes the customer if it exists.
+         * */
+        DELETE
+    }
+
+    public static CustomerWrite save(Customer customer) {
+        return new CustomerWrite(Type.SAVE, customer.getId(), customer);
+    }
+
+    public static CustomerWrite update(String id, Customer customer) {
+        return new CustomerWrite(Type.UPDATE, id, customer);
+    }
+
+    public static CustomerWrite delete(String id) {
+        return new CustomerWrite(Type.DELETE, id, null);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps the {@link Customer} objects on the heap in a skip list ordered by id.
+ * */
+public class HeapCustomerStore implements CustomerStore {
+
+    private final ConcurrentNavigableMap<String, Customer> customers = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Customer get(String id) {
+        return customers.get(id);
+    }
+
+    @Override
+    public void put(Customer customer) {
+        customers.put(customer.getId(), customer);
+    }
+
+    @Override
+    public void remove(String id) {
+        customers.remove(id);
+    }
+
+    @Override
+    public Iterable<Customer> values(String afterId) {
+        return afterId == null ? customers.values() : customers.tailMap(afterId, false).values();
+    }
+
+    @Override
+    public long size() {
+        return customers.size();
+    }
+}
@@ -0,0 +1,260 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps name, email and phone of the customers as UTF-8 records in direct memory, appended to chunks of chunkSize
+ * bytes. The heap only holds the id index, an ordered map from id to the address of the record, and customers are
+ * decoded on every read.
+ *
+ * The chunks are append-only: an update writes a new record and a delete only drops the index entry, the old record is
+ * left behind as dead bytes. So a reader holding an old address still decodes a complete record, no read locks needed.
+ * When the dead bytes exceed compactionThreshold of the allocated bytes, and at least one chunk, the writer which
+ * crossed it compacts the store: the live records are copied in id order into fresh chunks with a new index, and the
+ * new {@link Generation} replaces the old one. Writers wait for the copy; readers keep reading the generation they
+ * started with, which is never written again. The old chunks are released when the last reader drops them and the
+ * garbage collector frees their direct memory.
+ * */
+public class OffHeapCustomerStore implements CustomerStore {
+
+    private static final int NULL_FIELD = 0xFFFF;
+    private static final int MAX_FIELD_LENGTH = NULL_FIELD - 1;
+
+    private final int chunkSize;
+    private final double compactionThreshold;
+    // replaced under the lock by a compaction
+    private volatile Generation generation = new Generation(new ConcurrentSkipListMap<>());
+    private int writeOffset;
+    private long usedBytes;
+    private long deadBytes;
+    private long compactions;
+
+    public OffHeapCustomerStore(int chunkSize) {
+        this(chunkSize, 0.5);
+    }
+
+    public OffHeapCustomerStore(int chunkSize, double compactionThreshold) {
+        if (compactionThreshold <= 0 || compactionThreshold >= 1) {
+            throw new IllegalArgumentException("compactionThreshold must be between 0 and 1");
+        }
+        this.chunkSize = chunkSize;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public Customer get(String id) {
+        Generation current = generation;
+        Long address = current.addresses.get(id);
+        return address == null ? null : current.decode(id, address);
+    }
+
+    @Override
+    public void put(Customer customer) {
+        byte[] name = encode(customer.getName());
+        byte[] email = encode(customer.getEmail());
+        byte[] phone = encode(customer.getPhone());
+        int length = fieldLength(name) + fieldLength(email) + fieldLength(phone);
+        if (length > chunkSize) {
+            throw new IllegalArgumentException("Customer " + customer.getId() + " does not fit into a chunk of " + chunkSize + " bytes");
+        }
+        synchronized (this) {
+            Generation current = generation;
+            Long previous = current.addresses.put(customer.getId(), append(current, name, email, phone, length));
+            if (previous != null) {
+                deadBytes += current.recordLength(previous);
+                maybeCompact();
+            }
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        synchronized (this) {
+            Generation current = generation;
+            Long previous = current.addresses.remove(id);
+            if (previous != null) {
+                deadBytes += current.recordLength(previous);
+                maybeCompact();
+            }
+        }
+    }
+
+    @Override
+    public Iterable<Customer> values(String afterId) {
+        Generation current = generation;
+        Map<String, Long> entries = afterId == null ? current.addresses : current.addresses.tailMap(afterId, false);
+        return () -> new Iterator<>() {
+            private final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Customer next() {
+                Map.Entry<String, Long> entry = iterator.next();
+                return current.decode(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    @Override
+    public long size() {
+        return generation.addresses.size();
+    }
+
+    /**
+     * Direct memory reserved by the chunks of the current generation.
+     * */
+    public synchronized long getAllocatedBytes() {
+        return (long) generation.chunks.length * chunkSize;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getDeadBytes() {
+        return deadBytes;
+    }
+
+    public synchronized long getCompactions() {
+        return compactions;
+    }
+
+    /**
+     * Writes a record at the end of the last chunk of the generation, or of a new one, and returns its address.
+     * */
+    private long append(Generation target, byte[] name, byte[] email, byte[] phone, int length) {
+        if (target.chunks.length == 0 || writeOffset + length > chunkSize) {
+            ByteBuffer[] grown = Arrays.copyOf(target.chunks, target.chunks.length + 1);
+            grown[target.chunks.length] = ByteBuffer.allocateDirect(chunkSize);
+            // published before any address in the new chunk
+            target.chunks = grown;
+            writeOffset = 0;
+        }
+        int chunk = target.chunks.length - 1;
+        int offset = writeOffset;
+        ByteBuffer buffer = target.chunks[chunk];
+        int position = writeField(buffer, offset, name);
+        position = writeField(buffer, position, email);
+        writeField(buffer, position, phone);
+        writeOffset += length;
+        usedBytes += length;
+        return ((long) chunk << 32) | offset;
+    }
+
+    private void maybeCompact() {
+        if (deadBytes >= chunkSize && deadBytes > compactionThreshold * getAllocatedBytes()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        Generation old = generation;
+        Generation compacted = new Generation(new ConcurrentSkipListMap<>());
+        writeOffset = 0;
+        usedBytes = 0;
+        for (Map.Entry<String, Long> entry : old.addresses.entrySet()) {
+            ByteBuffer buffer = old.chunks[(int) (entry.getValue() >>> 32)];
+            int start = (int) (long) entry.getValue();
+            byte[] name = readBytes(buffer, start);
+            int position = start + fieldLength(buffer, start);
+            byte[] email = readBytes(buffer, position);
+            position += fieldLength(buffer, position);
+            byte[] phone = readBytes(buffer, position);
+            int length = fieldLength(name) + fieldLength(email) + fieldLength(phone);
+            compacted.addresses.put(entry.getKey(), append(compacted, name, email, phone, length));
+        }
+        deadBytes = 0;
+        compactions++;
+        generation = compacted;
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Customer fields are limited to " + MAX_FIELD_LENGTH + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int fieldLength(byte[] value) {
+        return Short.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static int fieldLength(ByteBuffer buffer, int position) {
+        int length = Short.toUnsignedInt(buffer.getShort(position));
+        return Short.BYTES + (length == NULL_FIELD ? 0 : length);
+    }
+
+    private static int writeField(ByteBuffer buffer, int position, byte[] value) {
+        buffer.putShort(position, (short) (value == null ? NULL_FIELD : value.length));
+        if (value != null) {
+            buffer.put(position + Short.BYTES, value);
+        }
+        return position + fieldLength(value);
+    }
+
+    private static String readField(ByteBuffer buffer, int position) {
+        byte[] bytes = readBytes(buffer, position);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, int position) {
+        int length = Short.toUnsignedInt(buffer.getShort(position));
+        if (length == NULL_FIELD) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + Short.BYTES, bytes);
+        return bytes;
+    }
+
+    /**
+     * An index and the chunks its addresses point into. The chunks only grow, and a grown array is published before
+     * any address in it, so a reader which finds an address and then reads the chunks always finds its record.
+     * */
+    private static final class Generation {
+
+        private final ConcurrentNavigableMap<String, Long> addresses;
+        private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+        private Generation(ConcurrentNavigableMap<String, Long> addresses) {
+            this.addresses = addresses;
+        }
+
+        private Customer decode(String id, long address) {
+            ByteBuffer buffer = chunks[(int) (address >>> 32)];
+            int position = (int) address;
+            String name = readField(buffer, position);
+            position += fieldLength(buffer, position);
+            String email = readField(buffer, position);
+            position += fieldLength(buffer, position);
+            String phone = readField(buffer, position);
+            return Customer.create(id, name, email, phone);
+        }
+
+        private int recordLength(long address) {
+            ByteBuffer buffer = chunks[(int) (address >>> 32)];
+            int start = (int) address;
+            int position = start;
+            for (int field = 0; field < 3; field++) {
+                position += fieldLength(buffer, position);
+            }
+            return position - start;
+        }
+    }
+}
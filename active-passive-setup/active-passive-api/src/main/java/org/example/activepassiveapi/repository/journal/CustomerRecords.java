@@ -0,0 +1,39 @@
+package org.example.activepassiveapi.repository.journal;
+
+import org.example.activepassiveapi.model.Customer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary layout of a customer in the write-ahead log and the snapshots: id, name, email and phone, each a presence flag
+ * followed by the modified UTF-8 of {@link DataOutput#writeUTF(String)}.
+ * */
+final class CustomerRecords {
+
+    private CustomerRecords() {
+    }
+
+    static void writeCustomer(DataOutput out, Customer customer) throws IOException {
+        writeString(out, customer.getId());
+        writeString(out, customer.getName());
+        writeString(out, customer.getEmail());
+        writeString(out, customer.getPhone());
+    }
+
+    static Customer readCustomer(DataInput in) throws IOException {
+        return Customer.create(readString(in), readString(in), readString(in), readString(in));
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.activepassiveapi.repository.journal;
+
+import org.example.activepassiveapi.model.Customer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot files of all customers, named after the last write-ahead log sequence number they cover. A snapshot is
+ * written to a temporary file, synced and then renamed, so a snapshot file is always complete; a CRC32 of the content
+ * at the end of the file still guards against corruption on disk.
+ *
+ * A snapshot is taken while writes go on, so it may also contain writes after its sequence number. Replaying the log
+ * after that sequence number on top of it gives the same state, because every entry carries the whole customer.
+ * */
+public class CustomerSnapshots {
+
+    private static final int MAGIC = 0x43534e50;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+
+    private final Path directory;
+
+    public CustomerSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Passes the customers of the latest snapshot to the consumer.
+     *
+     * @return the sequence number covered by the snapshot, 0 without a snapshot
+     * */
+    public long load(Consumer<Customer> consumer) throws IOException {
+        List<Long> sequences = snapshotSequences();
+        if (sequences.isEmpty()) {
+            return 0;
+        }
+        long sequence = sequences.getLast();
+        Path snapshot = snapshotPath(sequence);
+        CRC32 crc = new CRC32();
+        try (CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16), crc);
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readLong() != sequence) {
+                throw new IOException("Snapshot " + snapshot + " has an invalid header");
+            }
+            while (in.readBoolean()) {
+                consumer.accept(CustomerRecords.readCustomer(in));
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot " + snapshot + " fails its checksum");
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Writes a snapshot covering the log up to sequence and deletes the older snapshots.
+     * */
+    public void write(long sequence, Iterable<Customer> customers) throws IOException {
+        Files.createDirectories(directory);
+        Path snapshot = snapshotPath(sequence);
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc))) {
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            for (Customer customer : customers) {
+                out.writeBoolean(true);
+                CustomerRecords.writeCustomer(out, customer);
+            }
+            out.writeBoolean(false);
+            out.flush();
+            new DataOutputStream(file).writeLong(crc.getValue());
+            file.getFD().sync();
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // the rename has to be durable before the log segments it replaces are deleted
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        }
+        for (long older : snapshotSequences()) {
+            if (older < sequence) {
+                Files.deleteIfExists(snapshotPath(older));
+            }
+        }
+    }
+
+    private List<Long> snapshotSequences() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+    }
+}
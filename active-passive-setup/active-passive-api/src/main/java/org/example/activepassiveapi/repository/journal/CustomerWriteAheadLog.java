@@ -0,0 +1,428 @@
+package org.example.activepassiveapi.repository.journal;
+
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerWrite;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of customer writes in memory-mapped segment files of segmentSize bytes, named after the sequence
+ * number of their first record. A record is {@code [int length][int crc32][long sequence][payload]}, the payload is
+ * an id and the customer, without a customer for a delete. Recovery stops at the first record which is incomplete or
+ * fails its checksum, and the rest of that segment is cleared before new records are appended.
+ *
+ * The writers never force the segment themselves, since they may be event loop threads and hold the lock stripes of the
+ * repository: a sync thread forces the records and completes the futures of the writes. With {@link SyncMode#GROUP}
+ * it forces everything written since its last sync in one go, so the cost of one fsync is shared by all writes which
+ * arrived while the previous one ran. With {@link SyncMode#EVERY_WRITE} it forces the writes one by one.
+ * */
+public class CustomerWriteAheadLog implements Closeable {
+
+    private static final int HEADER = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    public enum SyncMode {
+        /**
+         * Every write is forced on its own, one fsync per write. Mostly a baseline for GROUP.
+         * */
+        EVERY_WRITE,
+        /**
+         * Writes wait for the next sync of the sync thread, which covers all writes made so far.
+         * */
+        GROUP
+    }
+
+    /**
+     * A write read back from the log, customer is null for a delete.
+     * */
+    public record Entry(long sequence, String id, Customer customer) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final SyncMode syncMode;
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder syncedRecords = new LongAdder();
+
+    // guarded by this
+    private final List<Long> segmentSequences = new ArrayList<>();
+    private Segment current;
+    private long lastSequence;
+    private final Deque<PendingSync> unsynced = new ArrayDeque<>();
+    private boolean recovered;
+    private boolean closed;
+    private Thread syncThread;
+
+    public CustomerWriteAheadLog(Path directory, int segmentSize, SyncMode syncMode) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncMode = syncMode;
+    }
+
+    /**
+     * Reads all segments, passes the entries after afterSequence to the consumer and positions the log for appends.
+     * Has to be called once, before the first append.
+     *
+     * @return the sequence number of the last entry in the log, or afterSequence if the log has no later entries
+     * */
+    public synchronized long recover(long afterSequence, Consumer<Entry> consumer) throws IOException {
+        if (recovered) {
+            throw new IllegalStateException("The write-ahead log in " + directory + " has already been recovered");
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(segmentSequences::add);
+        }
+        long logSequence = segmentSequences.isEmpty() ? 0 : segmentSequences.getFirst() - 1;
+        for (int i = 0; i < segmentSequences.size(); i++) {
+            if (segmentSequences.get(i) != logSequence + 1) {
+                // a record before this segment is lost, so the later records can not be applied either
+                while (segmentSequences.size() > i) {
+                    Files.deleteIfExists(segmentPath(segmentSequences.removeLast()));
+                }
+                break;
+            }
+            current = Segment.open(segmentPath(segmentSequences.get(i)), segmentSequences.get(i), segmentSize);
+            logSequence = readSegment(current, logSequence, afterSequence, consumer);
+        }
+        if (logSequence < afterSequence) {
+            // the snapshot is ahead of the log, which lost its unsynced tail, so the snapshot covers all of the log
+            while (!segmentSequences.isEmpty()) {
+                Files.deleteIfExists(segmentPath(segmentSequences.removeLast()));
+            }
+            current = null;
+        }
+        lastSequence = Math.max(afterSequence, logSequence);
+        if (current == null) {
+            current = newSegment(lastSequence + 1);
+        } else {
+            current.clearTail();
+        }
+        recovered = true;
+        syncThread = Thread.ofPlatform().name("customer-wal-sync").daemon().start(this::syncLoop);
+        return lastSequence;
+    }
+
+    /**
+     * @return the sequence number of the last valid record of the segment
+     * */
+    private long readSegment(Segment segment, long logSequence, long afterSequence, Consumer<Entry> consumer) throws IOException {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER + length > segmentSize) {
+                break;
+            }
+            long sequence = buffer.getLong(position + Integer.BYTES + Integer.BYTES);
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER, payload);
+            if (sequence != logSequence + 1 || buffer.getInt(position + Integer.BYTES) != checksum(sequence, payload)) {
+                break;
+            }
+            if (sequence > afterSequence) {
+                consumer.accept(decode(sequence, payload));
+            }
+            logSequence = sequence;
+            position += HEADER + length;
+        }
+        segment.writePosition = position;
+        segment.forcedPosition = position;
+        return logSequence;
+    }
+
+    /**
+     * Appends a put, or a delete when customer is null. The future completes once the record has been forced.
+     * */
+    public CompletableFuture<Void> append(String id, Customer customer) {
+        byte[] payload = encode(id, customer);
+        checkFits(id, payload);
+        synchronized (this) {
+            checkOpen();
+            return sync(List.of(writeRecord(payload)), 1);
+        }
+    }
+
+    /**
+     * Appends the writes in their order with one force, the future completes once all of them have been forced.
+     * */
+    public CompletableFuture<Void> appendAll(List<CustomerWrite> writes) {
+        List<byte[]> payloads = new ArrayList<>(writes.size());
+        for (CustomerWrite write : writes) {
+            byte[] payload = encode(write.id(), write.type() == CustomerWrite.Type.DELETE ? null : write.customer());
+            checkFits(write.id(), payload);
+            payloads.add(payload);
+        }
+        synchronized (this) {
+            checkOpen();
+            List<Segment> written = new ArrayList<>(1);
+            for (byte[] payload : payloads) {
+                Segment segment = writeRecord(payload);
+                if (written.isEmpty() || written.getLast() != segment) {
+                    written.add(segment);
+                }
+            }
+            return sync(written, payloads.size());
+        }
+    }
+
+    private void checkFits(String id, byte[] payload) {
+        if (HEADER + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Customer " + id + " does not fit into a segment of " + segmentSize + " bytes");
+        }
+    }
+
+    private void checkOpen() {
+        if (!recovered || closed) {
+            throw new IllegalStateException("The write-ahead log in " + directory + " is not open");
+        }
+    }
+
+    /**
+     * @return the segment the record went into
+     * */
+    private Segment writeRecord(byte[] payload) {
+        int length = HEADER + payload.length;
+        long sequence = lastSequence + 1;
+        if (current.writePosition + length > segmentSize) {
+            roll(sequence);
+        }
+        Segment segment = current;
+        int position = segment.writePosition;
+        segment.buffer.putInt(position + Integer.BYTES, checksum(sequence, payload));
+        segment.buffer.putLong(position + Integer.BYTES + Integer.BYTES, sequence);
+        segment.buffer.put(position + HEADER, payload);
+        segment.buffer.putInt(position, payload.length);
+        segment.writePosition += length;
+        lastSequence = sequence;
+        return segment;
+    }
+
+    private CompletableFuture<Void> sync(List<Segment> written, int records) {
+        CompletableFuture<Void> synced = new CompletableFuture<>();
+        int[] positions = written.stream().mapToInt(segment -> segment.writePosition).toArray();
+        unsynced.add(new PendingSync(synced, written, positions, records));
+        notifyAll();
+        return synced;
+    }
+
+    /**
+     * Starts a new segment unless the current one is empty, so that all entries up to the returned sequence number are
+     * in segments which are no longer written.
+     * */
+    public synchronized long roll() {
+        if (current.writePosition > 0) {
+            roll(lastSequence + 1);
+        }
+        return lastSequence;
+    }
+
+    private void roll(long firstSequence) {
+        current = newSegment(firstSequence);
+    }
+
+    /**
+     * Deletes the segments which only hold entries up to the given sequence number.
+     * */
+    public synchronized void deleteSegmentsUpTo(long sequence) throws IOException {
+        while (segmentSequences.size() > 1 && segmentSequences.get(1) - 1 <= sequence) {
+            Files.deleteIfExists(segmentPath(segmentSequences.removeFirst()));
+        }
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getSyncs() {
+        return syncs.sum();
+    }
+
+    public long getSyncedRecords() {
+        return syncedRecords.sum();
+    }
+
+    private void syncLoop() {
+        while (true) {
+            List<PendingSync> batch;
+            synchronized (this) {
+                while (unsynced.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (unsynced.isEmpty()) {
+                    return;
+                }
+                if (syncMode == SyncMode.EVERY_WRITE) {
+                    batch = List.of(unsynced.removeFirst());
+                } else {
+                    batch = List.copyOf(unsynced);
+                    unsynced.clear();
+                }
+            }
+            try {
+                Map<Segment, Integer> forceUpTo = new LinkedHashMap<>();
+                int records = 0;
+                for (PendingSync pending : batch) {
+                    for (int i = 0; i < pending.segments().size(); i++) {
+                        forceUpTo.merge(pending.segments().get(i), pending.positions()[i], Math::max);
+                    }
+                    records += pending.records();
+                }
+                forceUpTo.forEach(Segment::force);
+                syncs.increment();
+                syncedRecords.add(records);
+                batch.forEach(pending -> pending.synced().complete(null));
+            } catch (UncheckedIOException e) {
+                batch.forEach(pending -> pending.synced().completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * Stops the sync thread after it has synced the pending writes.
+     * */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            thread = syncThread;
+            notifyAll();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Segment newSegment(long firstSequence) {
+        try {
+            Segment segment = Segment.open(segmentPath(firstSequence), firstSequence, segmentSize);
+            segmentSequences.add(firstSequence);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static byte[] encode(String id, Customer customer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            CustomerRecords.writeString(out, id);
+            out.writeBoolean(customer != null);
+            if (customer != null) {
+                CustomerRecords.writeCustomer(out, customer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(long sequence, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String id = CustomerRecords.readString(in);
+        return new Entry(sequence, id, in.readBoolean() ? CustomerRecords.readCustomer(in) : null);
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A write awaiting its force: the segments its records went into and the position each was written up to.
+     * */
+    private record PendingSync(CompletableFuture<Void> synced, List<Segment> segments, int[] positions, int records) {
+    }
+
+    /**
+     * A mapped segment file. The mapping stays valid after the channel is closed and after the file is deleted.
+     * */
+    private static final class Segment {
+
+        private final long firstSequence;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        // only moved by the thread which forces the segment
+        private int forcedPosition;
+
+        private Segment(long firstSequence, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, long firstSequence, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        /**
+         * Clears what follows the last valid record, so that a torn record can not be taken for a valid one later.
+         * */
+        private void clearTail() {
+            byte[] zeros = new byte[Math.min(8192, buffer.capacity())];
+            for (int position = writePosition; position < buffer.capacity(); position += zeros.length) {
+                buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+            }
+            buffer.force();
+        }
+
+        private void force(int upTo) {
+            if (upTo > forcedPosition) {
+                buffer.force(forcedPosition, upTo - forcedPosition);
+                forcedPosition = upTo;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Segment " + firstSequence;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.activepassiveapi.repository.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerJournal;
+import org.example.activepassiveapi.repository.CustomerStore;
+import org.example.activepassiveapi.repository.CustomerWrite;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the writes of the repository in a {@link CustomerWriteAheadLog} and compacts the log into
+ * {@link CustomerSnapshots}. {@link #recover()} fills the store from the latest snapshot and the log after it, and has
+ * to run before the repository uses the store.
+ * */
+@Slf4j
+public class DurableCustomerJournal implements CustomerJournal {
+
+    private final CustomerWriteAheadLog writeAheadLog;
+    private final CustomerSnapshots snapshots;
+    private final CustomerStore customerStore;
+    private volatile Duration recoveryTime = Duration.ZERO;
+    private long snapshotSequence;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public DurableCustomerJournal(CustomerWriteAheadLog writeAheadLog, CustomerSnapshots snapshots, CustomerStore customerStore) {
+        this.writeAheadLog = writeAheadLog;
+        this.snapshots = snapshots;
+        this.customerStore = customerStore;
+    }
+
+    public synchronized void recover() throws IOException {
+        long start = System.nanoTime();
+        snapshotSequence = snapshots.load(customerStore::put);
+        long lastSequence = writeAheadLog.recover(snapshotSequence, entry -> {
+            if (entry.customer() == null) {
+                customerStore.remove(entry.id());
+            } else {
+                customerStore.put(entry.customer());
+            }
+        });
+        recoveryTime = Duration.ofNanos(System.nanoTime() - start);
+        log.info("recovered {} customers up to sequence {} in {} ms (snapshot at {})",
+                customerStore.size(), lastSequence, recoveryTime.toMillis(), snapshotSequence);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(Customer customer) {
+        return writeAheadLog.append(customer.getId(), customer);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String id) {
+        return writeAheadLog.append(id, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> writeAll(List<CustomerWrite> writes) {
+        return writeAheadLog.appendAll(writes);
+    }
+
+    /**
+     * Writes a snapshot of the store and deletes the log segments it covers. Does nothing without new writes.
+     * */
+    public synchronized void snapshot() {
+        if (writeAheadLog.getLastSequence() == snapshotSequence) {
+            return;
+        }
+        try {
+            long sequence = writeAheadLog.roll();
+            snapshots.write(sequence, customerStore.values(null));
+            writeAheadLog.deleteSegmentsUpTo(sequence);
+            snapshotSequence = sequence;
+            log.info("snapshot of {} customers at sequence {}", customerStore.size(), sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void scheduleSnapshots(Duration interval) {
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("customer-snapshot").daemon().factory());
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                log.warn("snapshot-failed", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Duration getRecoveryTime() {
+        return recoveryTime;
+    }
+
+    public long getLastSequence() {
+        return writeAheadLog.getLastSequence();
+    }
+
+    public long getSyncs() {
+        return writeAheadLog.getSyncs();
+    }
+
+    public long getSyncedRecords() {
+        return writeAheadLog.getSyncedRecords();
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            scheduler = snapshotScheduler;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        writeAheadLog.close();
+    }
+}
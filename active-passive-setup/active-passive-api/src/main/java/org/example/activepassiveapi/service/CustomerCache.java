@@ -0,0 +1,252 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.activepassiveapi.config.CustomerCacheProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the customers read from the active instance. Fresh customers (younger than the TTL) are served
+ * from the cache, concurrent misses for one id share a single load, and a stale customer is served by
+ * {@link #getIfError(String)} while the active instance fails, up to staleIfError after its TTL. The cache holds at
+ * most maximumSize customers in LRU segments, so lookups of different ids rarely contend.
+ *
+ * Errors of a load are propagated, so that the circuit breaker sees them; the stale customer is served by its
+ * fallback. Metrics: customer.cache.requests tagged result hit, miss or coalesced, customer.cache.hit.ratio,
+ * customer.cache.stale (stale customers served), customer.cache.evictions and customer.cache.size.
+ * */
+@Service
+public class CustomerCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final CustomerCacheProperties properties;
+    private final LongSupplier nanoTime;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final Map<String, Mono<Customer>> loads = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+    private final Counter staleCounter;
+
+    @Autowired
+    public CustomerCache(CustomerCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    CustomerCache(CustomerCacheProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        int segmentSize = Math.max(1, properties.getMaximumSize() / SEGMENTS);
+        Arrays.setAll(segments, i -> new Segment(segmentSize));
+
+        hitCounter = requestCounter(meterRegistry, "hit");
+        missCounter = requestCounter(meterRegistry, "miss");
+        coalescedCounter = requestCounter(meterRegistry, "coalesced");
+        staleCounter = Counter.builder("customer.cache.stale")
+                .description("Stale customers served because the active instance failed")
+                .register(meterRegistry);
+        Gauge.builder("customer.cache.hit.ratio", this, CustomerCache::getHitRatio)
+                .description("Share of the requests served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.cache.evictions", evictions, LongAdder::sum)
+                .description("Customers evicted to keep the cache within its maximum size")
+                .register(meterRegistry);
+        Gauge.builder("customer.cache.size", this, CustomerCache::size)
+                .description("Customers in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The fresh customer from the cache, else the customer from the loader, which is shared with the concurrent
+     * requests for the same id. An empty load removes the id from the cache.
+     * */
+    public Mono<Customer> get(String id, Supplier<Mono<Customer>> loader) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(loader);
+        }
+        return Mono.defer(() -> {
+            requests.increment();
+            Entry entry = segmentFor(id).get(id);
+            if (entry != null && age(entry) < properties.getTtl().toNanos()) {
+                hits.increment();
+                hitCounter.increment();
+                return Mono.just(entry.customer());
+            }
+            boolean[] started = {false};
+            Mono<Customer> load = loads.computeIfAbsent(id, key -> {
+                started[0] = true;
+                return load(key, loader);
+            });
+            (started[0] ? missCounter : coalescedCounter).increment();
+            return load;
+        });
+    }
+
+    /**
+     * The cached customer for the fallback of a failed read, as long as it is not older than TTL plus staleIfError.
+     * */
+    public Mono<Customer> getIfError(String id) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromSupplier(() -> {
+            Entry entry = segmentFor(id).get(id);
+            if (entry == null) {
+                return null;
+            }
+            long age = age(entry);
+            if (age >= properties.getTtl().plus(properties.getStaleIfError()).toNanos()) {
+                return null;
+            }
+            if (age >= properties.getTtl().toNanos()) {
+                staleCounter.increment();
+            }
+            return entry.customer();
+        });
+    }
+
+    /**
+     * For the writes of this instance, so that its reads see them right away.
+     * */
+    public void put(Customer customer) {
+        if (properties.isEnabled()) {
+            segmentFor(customer.getId()).write(customer.getId(), new Entry(customer, nanoTime.getAsLong()));
+        }
+    }
+
+    public void invalidate(String id) {
+        if (properties.isEnabled()) {
+            segmentFor(id).write(id, null);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public double getHitRatio() {
+        long total = requests.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * A write to the segment during the load drops the loaded customer, which may be older than the write.
+     * */
+    private Mono<Customer> load(String id, Supplier<Mono<Customer>> loader) {
+        Segment segment = segmentFor(id);
+        long writes = segment.writes();
+        Object[] self = new Object[1];
+        Mono<Customer> load = Mono.defer(loader)
+                .doOnNext(customer -> segment.loaded(id, new Entry(customer, nanoTime.getAsLong()), writes))
+                .doOnSuccess(customer -> {
+                    if (customer == null) {
+                        segment.loaded(id, null, writes);
+                    }
+                })
+                .doFinally(signal -> loads.remove(id, self[0]))
+                .cache();
+        self[0] = load;
+        return load;
+    }
+
+    private long age(Entry entry) {
+        return nanoTime.getAsLong() - entry.loadedAt();
+    }
+
+    private Segment segmentFor(String id) {
+        int hash = id.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("customer.cache.requests")
+                .description("Reads of customers by id through the cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(Customer customer, long loadedAt) {
+    }
+
+    private final class Segment {
+
+        private final LinkedHashMap<String, Entry> entries;
+        private long writes;
+
+        private Segment(int maximumSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > maximumSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Entry get(String id) {
+            return entries.get(id);
+        }
+
+        synchronized void write(String id, Entry entry) {
+            writes++;
+            store(id, entry);
+        }
+
+        synchronized void loaded(String id, Entry entry, long writesAtStart) {
+            if (writes == writesAtStart) {
+                store(id, entry);
+            }
+        }
+
+        synchronized long writes() {
+            return writes;
+        }
+
+        synchronized void clear() {
+            writes++;
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private void store(String id, Entry entry) {
+            if (entry == null) {
+                entries.remove(id);
+            } else {
+                entries.put(id, entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.activepassiveapi.config.CustomerReadProperties;
+import org.example.activepassiveapi.config.CustomerReadProperties.ReadMode;
+import org.example.activepassiveapi.model.Customer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads from the active and the passive instance in parallel and returns the first good answer, see
+ * {@link ReadMode#HEDGE} and {@link ReadMode#RACE}. An error of one side is only propagated when the other side fails
+ * too; the losing side is cancelled. An empty answer of the active instance (unknown customer) is a good answer.
+ *
+ * The passive answer wins whenever it comes first, in both modes, even against a healthy but slower active instance.
+ * It is the same answer FAILOVER falls back to when the active read times out; these modes only give it the win
+ * earlier, trading the data of the active instance for latency. Reads which must see the active data use FAILOVER.
+ *
+ * Every read is counted in {@code customer.reads} with the tags {@code operation}, {@code mode} and {@code winner}
+ * ({@code active}, {@code passive} or {@code none}).
+ * */
+@Slf4j
+@Service
+public class CustomerReadRacer {
+
+    private static final String ACTIVE = "active";
+    private static final String PASSIVE = "passive";
+
+    private final CustomerService customerService;
+    private final CustomerReadProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public CustomerReadRacer(CustomerService customerService, CustomerReadProperties properties, MeterRegistry meterRegistry) {
+        this.customerService = customerService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.getMode() != ReadMode.FAILOVER;
+    }
+
+    public Flux<Customer> getAllCustomers() {
+        return race("all",
+                Flux.defer(customerService::getAllCustomersFromActive).collectList(),
+                Flux.defer(customerService::getAllCustomersFromPassive).collectList())
+                .flatMapIterable(answer -> answer.orElse(List.of()));
+    }
+
+    public Mono<Customer> getCustomerById(String customerId) {
+        return race("by-id",
+                Mono.defer(() -> customerService.getByCustomerByIdFromActive(customerId)),
+                Mono.defer(() -> customerService.getCustomerByIdFromPassive(customerId)))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Answers are wrapped in an {@link Optional} so that empty answers take part in the race.
+     * */
+    private <T> Mono<Optional<T>> race(String operation, Mono<T> active, Mono<T> passive) {
+        ReadMode mode = properties.getMode();
+        Sinks.Empty<Void> activeFailed = Sinks.empty();
+        Mono<?> passiveTrigger = mode == ReadMode.RACE
+                ? Mono.just(0)
+                : Mono.firstWithSignal(Mono.delay(properties.getHedgeDelay()), activeFailed.asMono());
+
+        Mono<Answer<T>> activeLeg = active
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(value -> new Answer<>(ACTIVE, value))
+                .doOnError(e -> {
+                    log.info("active-read-failed: {}", e.getMessage());
+                    activeFailed.tryEmitEmpty();
+                });
+        Mono<Answer<T>> passiveLeg = passive
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(value -> new Answer<>(PASSIVE, value))
+                .delaySubscription(passiveTrigger);
+
+        return Mono.firstWithValue(activeLeg, passiveLeg)
+                .doOnNext(answer -> winners(operation, mode, answer.side()).increment())
+                .doOnError(e -> winners(operation, mode, "none").increment())
+                .map(Answer::value);
+    }
+
+    private Counter winners(String operation, ReadMode mode, String winner) {
+        return Counter.builder("customer.reads")
+                .description("Customer reads by the instance which answered first")
+                .tag("operation", operation)
+                .tag("mode", mode.name().toLowerCase())
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    private record Answer<T>(String side, Optional<T> value) {
+    }
+}
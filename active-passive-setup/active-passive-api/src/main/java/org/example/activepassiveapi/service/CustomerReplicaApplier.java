@@ -0,0 +1,132 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.activepassiveapi.model.ReplicatedChange;
+import org.example.activepassiveapi.model.ReplicationAck;
+import org.example.activepassiveapi.model.ReplicationBatch;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Passive side of the replication: applies the changes of the active instance to the repository in sequence order.
+ * Changes which arrive ahead of a gap wait until the gap is filled, changes seen before are ignored, so batches may
+ * arrive in any order and be retried. A batch of a higher epoch starts over at its start sequence, a batch of a lower
+ * epoch is rejected with 409 so the active instance stops retrying it. The 409 carries the sequence number up to which
+ * the lower epoch was applied, so the active instance can tell the changes this instance has from the ones it missed.
+ *
+ * The active instance takes its epochs from its clock, so an epoch more than {@code MAX_EPOCH_AHEAD} ahead of the
+ * clock of this instance is rejected with 400: once followed, it would make every real batch stale.
+ * */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "customer.replication", name = "role", havingValue = "passive")
+public class CustomerReplicaApplier {
+
+    private static final int MAX_PENDING_CHANGES = 100_000;
+    private static final int MAX_REPLACED_EPOCHS = 16;
+    private static final Duration MAX_EPOCH_AHEAD = Duration.ofMinutes(5);
+
+    private final CustomerRepository customerRepository;
+    private final TreeMap<Long, ReplicatedChange> pending = new TreeMap<>();
+    // sequence number up to which each of the last replaced epochs was applied
+    private final Map<Long, Long> replacedEpochs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_REPLACED_EPOCHS;
+        }
+    };
+    private long epoch;
+    private volatile long appliedSequence;
+    private volatile long discarded;
+
+    public CustomerReplicaApplier(CustomerRepository customerRepository, MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        Gauge.builder("customer.replica.applied", this, CustomerReplicaApplier::getAppliedSequence)
+                .description("Sequence number up to which this instance applied the replicated writes")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.replica.discarded", this, CustomerReplicaApplier::getDiscarded)
+                .description("Replicated writes held behind a gap and discarded when a newer stream started")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Completes with the acknowledgement once the applied changes are durable on this instance.
+     * */
+    public synchronized Mono<ReplicationAck> apply(ReplicationBatch batch) {
+        if (batch.getEpoch() > System.currentTimeMillis() + MAX_EPOCH_AHEAD.toMillis()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Epoch " + batch.getEpoch() + " is ahead of the clock");
+        }
+        if (batch.getEpoch() < epoch) {
+            // an epoch replaced too long ago, or before a restart, counts as not applied at all
+            long replacedAppliedSequence = replacedEpochs.getOrDefault(batch.getEpoch(), batch.getStartSequence() - 1);
+            throw new StaleEpochException(ReplicationAck.create(batch.getEpoch(), replacedAppliedSequence), epoch);
+        }
+        if (batch.getEpoch() > epoch) {
+            log.info("replication-stream: epoch {} from sequence {}, discarding {} held changes",
+                    batch.getEpoch(), batch.getStartSequence(), pending.size());
+            replacedEpochs.put(epoch, appliedSequence);
+            discarded += pending.size();
+            epoch = batch.getEpoch();
+            appliedSequence = batch.getStartSequence() - 1;
+            pending.clear();
+        }
+        for (ReplicatedChange change : batch.getChanges()) {
+            if (change.getSequence() > appliedSequence) {
+                pending.put(change.getSequence(), change);
+            }
+        }
+        if (pending.size() > MAX_PENDING_CHANGES) {
+            pending.clear();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many changes after the gap at " + (appliedSequence + 1));
+        }
+        List<Mono<?>> writes = new ArrayList<>();
+        Map.Entry<Long, ReplicatedChange> next;
+        while ((next = pending.firstEntry()) != null && next.getKey() == appliedSequence + 1) {
+            ReplicatedChange change = pending.pollFirstEntry().getValue();
+            writes.add(change.getCustomer() == null
+                    ? customerRepository.delete(change.getId())
+                    : customerRepository.save(change.getCustomer()));
+            appliedSequence = change.getSequence();
+        }
+        return Mono.when(writes).thenReturn(ReplicationAck.create(epoch, appliedSequence));
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Rejects a batch of a replaced epoch, with the acknowledgement of that epoch as it was when it was replaced.
+     * */
+    public static class StaleEpochException extends ResponseStatusException {
+
+        private final transient ReplicationAck ack;
+
+        public StaleEpochException(ReplicationAck ack, long epoch) {
+            super(HttpStatus.CONFLICT, "Epoch " + ack.getEpoch() + " replaced by " + epoch);
+            this.ack = ack;
+        }
+
+        public ReplicationAck getAck() {
+            return ack;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package org.example.activepassiveapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.activepassiveapi.config.ReplicationProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.model.ReplicatedChange;
+import org.example.activepassiveapi.model.ReplicationAck;
+import org.example.activepassiveapi.model.ReplicationBatch;
+import org.example.activepassiveapi.repository.CustomerJournal;
+import org.example.activepassiveapi.repository.CustomerWrite;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Replicates the writes of the repository to a passive instance. Writes are numbered and queued when they happen, a
+ * sender thread ships them in batches of up to batchSize changes with up to maxInFlight batches awaiting their
+ * acknowledgement, so a write never waits for the passive instance. A batch is retried until the passive instance
+ * has it; the passive instance applies the changes in sequence order, whatever order they arrive in.
+ *
+ * When the buffer overflows, because the passive instance is away for too long, the buffered changes are dropped and
+ * a stream with a new epoch starts. The passive instance then continues with the new stream and misses the dropped
+ * changes. Once every batch of the old stream has been acknowledged or rejected, the changes it sent that the passive
+ * instance never applied, those still in flight and those held behind a gap, are dropped as well. All of them are
+ * counted in {@code customer.replication.dropped}. Batches still in flight when the replicator closes are counted in
+ * {@code customer.replication.cancelled} instead.
+ *
+ * Every batch is signed with the shared secret, see {@link ReplicationSignature}.
+ * */
+@Slf4j
+public class CustomerReplicator implements Closeable {
+
+    private final WebClient webClient;
+    private final ReplicationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ReplicationSignature signature;
+    private final BlockingQueue<Pending> buffer;
+    private final Semaphore inFlight;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong ackedSequence = new AtomicLong();
+    // last sequence and timestamp of the first change of every batch awaiting its acknowledgement, in sending order
+    private final Deque<long[]> unacked = new ConcurrentLinkedDeque<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final ReadWriteLock streamLock = new ReentrantReadWriteLock();
+    private final Thread sender;
+    // replaced under the write lock of streamLock
+    private volatile Stream stream;
+    private volatile boolean running = true;
+
+    public CustomerReplicator(WebClient webClient, ReplicationProperties properties, ObjectMapper objectMapper) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.signature = new ReplicationSignature(properties.getSecret());
+        this.buffer = new LinkedBlockingQueue<>(properties.getBufferCapacity());
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+        this.stream = new Stream(System.currentTimeMillis(), 1);
+        this.sender = Thread.ofPlatform().name("customer-replication").daemon().start(this::sendLoop);
+    }
+
+    /**
+     * Wraps the journal of the repository, so that every journaled write is replicated as well.
+     * */
+    public CustomerJournal replicate(CustomerJournal journal) {
+        return new CustomerJournal() {
+            @Override
+            public CompletableFuture<Void> put(Customer customer) {
+                publish(customer.getId(), Customer.create(customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone()));
+                return journal.put(customer);
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(String id) {
+                publish(id, null);
+                return journal.delete(id);
+            }
+
+            @Override
+            public CompletableFuture<Void> writeAll(List<CustomerWrite> writes) {
+                for (CustomerWrite write : writes) {
+                    Customer customer = write.customer();
+                    publish(write.id(), write.type() == CustomerWrite.Type.DELETE ? null
+                            : Customer.create(write.id(), customer.getName(), customer.getEmail(), customer.getPhone()));
+                }
+                return journal.writeAll(writes);
+            }
+
+            @Override
+            public void close() {
+                journal.close();
+            }
+        };
+    }
+
+    /**
+     * Called in the order of the writes to each id, so the sequence numbers keep that order. Numbering and buffering
+     * happen under the read lock, so a new stream starts right after the last number handed out.
+     * */
+    private void publish(String id, Customer customer) {
+        Stream attempted;
+        streamLock.readLock().lock();
+        try {
+            attempted = stream;
+            ReplicatedChange change = ReplicatedChange.create(sequence.incrementAndGet(), System.currentTimeMillis(), id, customer);
+            if (buffer.offer(new Pending(attempted, change))) {
+                attempted.published.increment();
+                return;
+            }
+        } finally {
+            streamLock.readLock().unlock();
+        }
+        streamLock.writeLock().lock();
+        try {
+            if (stream == attempted) {
+                int lost = buffer.size();
+                buffer.clear();
+                dropped.add(lost);
+                attempted.lost = lost;
+                attempted.ended.add(lost);
+                attempted.replaced = true;
+                stream = new Stream(Math.max(System.currentTimeMillis(), attempted.epoch + 1), sequence.get() + 1);
+                log.warn("replication-buffer-overflow: dropped {} changes, new stream {}", lost + 1, stream);
+                settle(attempted);
+            }
+            dropped.increment();
+        } finally {
+            streamLock.writeLock().unlock();
+        }
+    }
+
+    private void sendLoop() {
+        List<Pending> carryOver = new ArrayList<>();
+        while (running) {
+            try {
+                List<Pending> drained = new ArrayList<>(carryOver);
+                carryOver.clear();
+                if (drained.isEmpty()) {
+                    drained.add(buffer.take());
+                }
+                long lingerEnd = System.nanoTime() + properties.getLinger().toNanos();
+                while (drained.size() < properties.getBatchSize()) {
+                    Pending next = buffer.poll(lingerEnd - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    drained.add(next);
+                    buffer.drainTo(drained, properties.getBatchSize() - drained.size());
+                }
+                // a batch belongs to one stream, changes of the next stream go into the next batch
+                Stream batchStream = drained.getFirst().stream();
+                List<ReplicatedChange> changes = new ArrayList<>(drained.size());
+                for (Pending pending : drained) {
+                    if (pending.stream() == batchStream) {
+                        changes.add(pending.change());
+                    } else {
+                        carryOver.add(pending);
+                    }
+                }
+                changes.sort(Comparator.comparingLong(ReplicatedChange::getSequence));
+                inFlight.acquire();
+                send(batchStream, ReplicationBatch.create(batchStream.epoch, batchStream.startSequence, changes));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(Stream batchStream, ReplicationBatch batch) {
+        List<ReplicatedChange> changes = batch.getChanges();
+        long lastSequence = changes.getLast().getSequence();
+        unacked.addLast(new long[]{lastSequence, changes.getFirst().getTimestamp()});
+        batches.increment();
+        Mono.fromCallable(() -> objectMapper.writeValueAsBytes(batch))
+                .flatMap(body -> webClient.post()
+                        .uri("/replication/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(ReplicationSignature.HEADER, signature.sign(body))
+                        .bodyValue(body)
+                        .retrieve()
+                        .bodyToMono(ReplicationAck.class))
+                .doOnError(e -> failures.increment())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100))
+                        .maxBackoff(Duration.ofSeconds(5))
+                        .filter(e -> running && !(e instanceof WebClientResponseException.Conflict)))
+                .doFinally(signal -> inFlight.release())
+                .subscribe(ack -> {
+                    acknowledged(ack);
+                    ended(batchStream, changes.size(), ack);
+                }, e -> {
+                    if (e instanceof WebClientResponseException.Conflict conflict) {
+                        // the passive instance moved on to a newer stream, and tells how far it got with this one
+                        log.warn("replication-batch-rejected: epoch {} up to {}: {}", batch.getEpoch(), lastSequence, e.getMessage());
+                        ended(batchStream, changes.size(), conflict.getResponseBodyAs(ReplicationAck.class));
+                    } else {
+                        // retries stop when the replicator closes
+                        cancelled.add(changes.size());
+                        log.warn("replication-batch-cancelled: epoch {} up to {}: {}", batch.getEpoch(), lastSequence, e.getMessage());
+                    }
+                });
+    }
+
+    private void ended(Stream batchStream, int size, ReplicationAck ack) {
+        if (ack != null) {
+            batchStream.appliedSequence.accumulateAndGet(ack.getAppliedSequence(), Math::max);
+        }
+        batchStream.ended.add(size);
+        settle(batchStream);
+    }
+
+    /**
+     * Once a replaced stream has no change left in flight, the changes it sent beyond the sequence number up to which
+     * the passive instance applied it are dropped. The passive instance applies a stream in sequence order from its
+     * start, so every change up to that number was delivered.
+     * */
+    private void settle(Stream replaced) {
+        long published = replaced.published.sum();
+        if (replaced.replaced && replaced.ended.sum() == published && replaced.settled.compareAndSet(false, true)) {
+            long delivered = Math.max(0, replaced.appliedSequence.get() - replaced.startSequence + 1);
+            long undelivered = published - replaced.lost - delivered;
+            dropped.add(undelivered);
+            log.warn("replication-stream-settled: epoch {} applied up to {}, dropped {} sent changes",
+                    replaced.epoch, replaced.appliedSequence.get(), undelivered);
+        }
+    }
+
+    private void acknowledged(ReplicationAck ack) {
+        long applied = ackedSequence.accumulateAndGet(ack.getAppliedSequence(), Math::max);
+        long[] oldest;
+        while ((oldest = unacked.peekFirst()) != null && oldest[0] <= applied) {
+            unacked.pollFirst();
+        }
+    }
+
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    public long getAckedSequence() {
+        return ackedSequence.get();
+    }
+
+    /**
+     * Changes written but not yet applied by the passive instance.
+     * */
+    public long getLag() {
+        return Math.max(0, sequence.get() - ackedSequence.get());
+    }
+
+    /**
+     * Age of the oldest change not yet applied by the passive instance.
+     * */
+    public Duration getLagTime() {
+        long[] oldestSent = unacked.peekFirst();
+        Pending oldestBuffered = buffer.peek();
+        long oldest = oldestSent != null ? oldestSent[1]
+                : oldestBuffered != null ? oldestBuffered.change().getTimestamp()
+                : System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - oldest));
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        sender.interrupt();
+    }
+
+    private static final class Stream {
+        private final long epoch;
+        private final long startSequence;
+        // changes buffered in this stream, incremented under the read lock of streamLock so final once replaced
+        private final LongAdder published = new LongAdder();
+        // changes dropped from the buffer, or in batches acknowledged or rejected
+        private final LongAdder ended = new LongAdder();
+        private final AtomicLong appliedSequence;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        // set under the write lock of streamLock, before the buffer may hold changes of the next stream
+        private long lost;
+        private volatile boolean replaced;
+
+        private Stream(long epoch, long startSequence) {
+            this.epoch = epoch;
+            this.startSequence = startSequence;
+            this.appliedSequence = new AtomicLong(startSequence - 1);
+        }
+
+        @Override
+        public String toString() {
+            return "Stream[epoch=" + epoch + ", startSequence=" + startSequence + "]";
+        }
+    }
+
+    private record Pending(Stream stream, ReplicatedChange change) {
+    }
+}
@@ -2,21 +2,27 @@ package org.example.activepassiveapi.service;
 
 import com.github.javafaker.Faker;
 import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.model.CustomerPage;
 import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.CustomerWrite;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 public class CustomerService {
 
     private final CustomerRepository repository;
+    private final CustomerWriteBatcher writeBatcher;
     private final Faker faker = Faker.instance();
 
-    public CustomerService(CustomerRepository repository) {
+    public CustomerService(CustomerRepository repository, CustomerWriteBatcher writeBatcher) {
         this.repository = repository;
+        this.writeBatcher = writeBatcher;
     }
 
     // Active instance: might fail randomly for demonstration
@@ -34,26 +40,87 @@ public class CustomerService {
         return repository.findById(id);
     }
 
+    /**
+     * One more customer than the limit is read to tell whether there is a next page.
+     * */
+    public Mono<CustomerPage> getCustomersPageFromActive(String afterId, int limit) {
+        return repository.findAll(afterId, limit + 1)
+                .collectList()
+                .map(customers -> customers.size() > limit
+                        ? CustomerPage.create(List.copyOf(customers.subList(0, limit)), customers.get(limit - 1).getId())
+                        : CustomerPage.create(customers, null));
+    }
+
+    public Flux<Customer> streamCustomersFromActive() {
+        return repository.findAll();
+    }
+
+    public Flux<Customer> findCustomersByEmailFromActive(String email) {
+        return repository.findByEmail(email);
+    }
+
+    public Flux<Customer> findCustomersByPhoneFromActive(String phone) {
+        return repository.findByPhone(phone);
+    }
+
     public Mono<Customer> createCustomerInActive(Customer customer) {
         if (Math.random() < 0.5) {
             return Mono.error(new RuntimeException("Active failed!"));
         }
         customer.setId(UUID.randomUUID().toString());
-        return repository.save(customer);
+        return writeBatcher.save(customer);
     }
 
     public Mono<Customer> updateCustomerInActive(String id, Customer customer) {
         if (Math.random() < 0.5) {
             return Mono.error(new RuntimeException("Active failed!"));
         }
-        return repository.update(id, customer);
+        return writeBatcher.update(id, customer);
     }
 
     public Mono<Void> deleteCustomerFromActive(String id) {
         if (Math.random() < 0.5) {
             return Mono.error(new RuntimeException("Active failed!"));
         }
-        return repository.delete(id);
+        return writeBatcher.delete(id);
+    }
+
+    /**
+     * Bulk writes go to the repository as one batch, and fail or succeed as a whole.
+     * */
+    public Flux<Customer> createCustomersInActive(List<Customer> customers) {
+        if (Math.random() < 0.5) {
+            return Flux.error(new RuntimeException("Active failed!"));
+        }
+        List<CustomerWrite> writes = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            customer.setId(UUID.randomUUID().toString());
+            writes.add(CustomerWrite.save(customer));
+        }
+        return repository.writeAll(writes).thenMany(Flux.fromIterable(customers));
+    }
+
+    /**
+     * The customers which exist, updated; the others are skipped.
+     * */
+    public Flux<Customer> updateCustomersInActive(List<Customer> customers) {
+        if (Math.random() < 0.5) {
+            return Flux.error(new RuntimeException("Active failed!"));
+        }
+        List<CustomerWrite> writes = customers.stream()
+                .map(customer -> CustomerWrite.update(customer.getId(), customer))
+                .toList();
+        return repository.writeAll(writes)
+                .flatMapMany(applied -> Flux.range(0, applied.length)
+                        .filter(i -> applied[i])
+                        .map(customers::get));
+    }
+
+    public Mono<Void> deleteCustomersFromActive(List<String> ids) {
+        if (Math.random() < 0.5) {
+            return Mono.error(new RuntimeException("Active failed!"));
+        }
+        return repository.writeAll(ids.stream().map(CustomerWrite::delete).toList()).then();
     }
 
     /**
@@ -99,4 +166,16 @@ public class CustomerService {
     public Mono<Void> deleteCustomerFromPassive(String id) {
         return Mono.empty();
     }
+
+    public Flux<Customer> createCustomersInPassive(List<Customer> customers) {
+        return Flux.fromIterable(customers).concatMap(this::createCustomerInPassive);
+    }
+
+    public Flux<Customer> updateCustomersInPassive(List<Customer> customers) {
+        return Flux.fromIterable(customers).concatMap(customer -> updateCustomerInPassive(customer.getId(), customer));
+    }
+
+    public Mono<Void> deleteCustomersFromPassive(List<String> ids) {
+        return Mono.empty();
+    }
 }
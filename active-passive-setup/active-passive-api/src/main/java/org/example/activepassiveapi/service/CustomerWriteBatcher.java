@@ -0,0 +1,138 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.activepassiveapi.config.CustomerWriteProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.CustomerWrite;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the single customer writes for up to window, or until maxBatchSize of them are queued, and applies them
+ * with {@link CustomerRepository#writeAll}: one pass over the lock stripes and one journal write with one sync for
+ * the whole batch instead of one per write. Concurrent writers trade up to window of latency for it, a lone writer
+ * waits the window alone, so it is kept short.
+ *
+ * The batches are flushed on a single thread of their own, since applying one takes the lock stripes of the
+ * repository and may wait for the journal, so one batch is applied at a time without further locking.
+ *
+ * A write is applied once queued, even when its subscriber cancels, and a failing batch fails all of its writes.
+ * The batch sizes are recorded in customer.writes.batch.size.
+ * */
+@Service
+public class CustomerWriteBatcher implements Closeable {
+
+    private final CustomerRepository repository;
+    private final CustomerWriteProperties properties;
+    private final Scheduler scheduler = Schedulers.newSingle("customer-write-batcher", true);
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final DistributionSummary batchSizes;
+
+    public CustomerWriteBatcher(CustomerRepository repository, CustomerWriteProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.batchSizes = DistributionSummary.builder("customer.writes.batch.size")
+                .description("Customer writes applied together by the write batcher")
+                .register(meterRegistry);
+    }
+
+    public Mono<Customer> save(Customer customer) {
+        if (!properties.isBatching()) {
+            return repository.save(customer);
+        }
+        return submit(CustomerWrite.save(customer)).thenReturn(customer);
+    }
+
+    /**
+     * Empty when there is no customer with the id.
+     * */
+    public Mono<Customer> update(String id, Customer customer) {
+        if (!properties.isBatching()) {
+            return repository.update(id, customer);
+        }
+        return submit(CustomerWrite.update(id, customer))
+                .filter(applied -> applied)
+                .map(applied -> customer);
+    }
+
+    public Mono<Void> delete(String id) {
+        if (!properties.isBatching()) {
+            return repository.delete(id);
+        }
+        return submit(CustomerWrite.delete(id)).then();
+    }
+
+    /**
+     * Completes with whether the write was applied, once it is durable.
+     * */
+    private Mono<Boolean> submit(CustomerWrite write) {
+        return Mono.create(sink -> {
+            queue.add(new Pending(write, sink));
+            if (queued.incrementAndGet() == properties.getMaxBatchSize()) {
+                // a full batch is applied right away, but on the scheduler rather than on the thread of the writer
+                flushScheduled.set(true);
+                scheduler.schedule(this::flush);
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                // the flag is reset before the queue is drained, so a write queued after the reset schedules again
+                scheduler.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        while (true) {
+            List<Pending> batch = new ArrayList<>(Math.min(queued.get(), properties.getMaxBatchSize()));
+            Pending next;
+            while (batch.size() < properties.getMaxBatchSize() && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            queued.addAndGet(-batch.size());
+            batchSizes.record(batch.size());
+            apply(batch);
+        }
+    }
+
+    private void apply(List<Pending> batch) {
+        List<CustomerWrite> writes = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            writes.add(pending.write());
+        }
+        try {
+            repository.writeAll(writes).subscribe(applied -> {
+                for (int i = 0; i < applied.length; i++) {
+                    batch.get(i).sink().success(applied[i]);
+                }
+            }, e -> batch.forEach(pending -> pending.sink().error(e)));
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.sink().error(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private record Pending(CustomerWrite write, MonoSink<Boolean> sink) {
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.activepassiveapi.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 of the body of a replication request under the secret shared by the active and the passive instance,
+ * sent in the {@value #HEADER} header. The passive instance applies a batch only when its signature is valid, so only
+ * the holders of the secret can write to its store through the replication.
+ * */
+public class ReplicationSignature {
+
+    public static final String HEADER = "X-Replication-Signature";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec secret;
+
+    public ReplicationSignature(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("customer.replication.secret is required to authenticate the replication");
+        }
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+    }
+
+    public String sign(byte[] body) {
+        return Base64.getEncoder().encodeToString(mac(body));
+    }
+
+    public boolean verify(byte[] body, String signature) {
+        if (signature == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(mac(body), Base64.getDecoder().decode(signature));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] mac(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -3,19 +3,28 @@ package org.example.activepassiveapi.controller;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.model.CustomerPage;
 import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.service.CustomerCache;
 import org.example.activepassiveapi.service.CustomerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -37,6 +46,9 @@ class CustomerControllerTest {
     @Autowired
     private CircuitBreakerRegistry circuitBreakerRegistry;
 
+    @Autowired
+    private CustomerCache customerCache;
+
     private Customer customer1;
     private Customer customer2;
 
@@ -53,6 +65,7 @@ class CustomerControllerTest {
         customerRepository.save(customer2).subscribe();
 
         circuitBreakerRegistry.circuitBreaker("customer-service").reset();
+        customerCache.invalidateAll();
     }
 
     @Test
@@ -146,6 +159,128 @@ class CustomerControllerTest {
         verify(customerService, times(1)).getAllCustomersFromPassive();
     }
 
+    @Test
+    void getCustomerById_CircuitOpen_ServesLastKnownCustomer_Test() {
+        doReturn(Mono.just(customer1)).when(customerService).getByCustomerByIdFromActive("1");
+        webTestClient.get()
+                .uri("/customers/1")
+                .exchange()
+                .expectStatus().isOk();
+
+        circuitBreakerRegistry.circuitBreaker("customer-service").transitionToOpenState();
+
+        webTestClient.get()
+                .uri("/customers/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Customer.class)
+                .isEqualTo(customer1);
+
+        verify(customerService, times(1)).getByCustomerByIdFromActive("1");
+        verify(customerService, never()).getCustomerByIdFromPassive("1");
+    }
+
+    @Test
+    void getCustomersPage_KeysetPagination_Test() {
+        webTestClient.get()
+                .uri("/customers?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerPage.class)
+                .isEqualTo(CustomerPage.create(List.of(customer1), "1"));
+
+        webTestClient.get()
+                .uri("/customers?after=1&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerPage.class)
+                .isEqualTo(CustomerPage.create(List.of(customer2), null));
+    }
+
+    @Test
+    void streamCustomers_AsNdjson_Test() {
+        webTestClient.get()
+                .uri("/customers/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Customer.class)
+                .isEqualTo(List.of(customer1, customer2));
+    }
+
+    @Test
+    void findCustomersByEmail_Test() {
+        webTestClient.get()
+                .uri("/customers/search?email=jane.doe@example.com")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Customer.class)
+                .isEqualTo(List.of(customer2));
+    }
+
+    @Test
+    void createCustomers_JsonArrayInChunks_Test() {
+        doAnswer(invocation -> Flux.fromIterable(invocation.<List<Customer>>getArgument(0))
+                .doOnNext(customer -> customer.setId("created-" + customer.getName())))
+                .when(customerService).createCustomersInActive(anyList());
+        List<Customer> customers = IntStream.range(0, 2500)
+                .mapToObj(i -> Customer.create(null, "Customer " + i, "customer" + i + "@example.com", "555-" + i))
+                .toList();
+
+        webTestClient.post()
+                .uri("/customers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customers)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Customer.class)
+                .value(created -> assertThat(created).extracting(Customer::getId)
+                        .isEqualTo(customers.stream().map(customer -> "created-" + customer.getName()).toList()));
+
+        verify(customerService, times(3)).createCustomersInActive(anyList());
+        verify(customerService, never()).createCustomersInPassive(anyList());
+    }
+
+    @Test
+    void createCustomers_NdjsonOnActiveFailure_FromPassiveInstance_Test() {
+        doReturn(Flux.error(new RuntimeException("Active failure"))).when(customerService).createCustomersInActive(anyList());
+
+        webTestClient.post()
+                .uri("/customers/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"name":"Jack Doe","email":"jack.doe@example.com","phone":"557"}
+                        {"name":"Jen Doe","email":"jen.doe@example.com","phone":"558"}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Customer.class)
+                .value(created -> assertThat(created).extracting(Customer::getName).containsExactly("Jack Doe", "Jen Doe"));
+
+        verify(customerService, times(1)).createCustomersInPassive(anyList());
+    }
+
+    @Test
+    void deleteCustomers_Batch_InvalidatesCache_Test() {
+        doReturn(Mono.just(customer2)).when(customerService).getByCustomerByIdFromActive("2");
+        doReturn(Mono.empty()).when(customerService).deleteCustomersFromActive(List.of("2"));
+        customerCache.get("2", () -> customerService.getByCustomerByIdFromActive("2")).block();
+
+        webTestClient.method(HttpMethod.DELETE)
+                .uri("/customers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(Customer.create("2", null, null, null), Customer.create(null, "No id", null, null)))
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(customerService, times(1)).deleteCustomersFromActive(List.of("2"));
+        assertThat(customerCache.size()).isZero();
+    }
+
     /**
      * Needs work. Figure out circuit breaker does not transition from OPEN to CLOSED State
      * */
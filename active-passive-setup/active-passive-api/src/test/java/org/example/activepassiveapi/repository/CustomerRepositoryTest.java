@@ -0,0 +1,102 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerRepositoryTest {
+
+    private final CustomerRepository customerRepository = new CustomerRepository(new HeapCustomerStore(), CustomerJournal.NONE);
+
+    private final Customer customer1 = Customer.create("1", "John Doe", "john.doe@example.com", "1234567890");
+    private final Customer customer2 = Customer.create("2", "Jane Doe", "jane.doe@example.com", "0987654321");
+    private final Customer customer3 = Customer.create("3", "Jim Doe", "jim.doe@example.com", "123-456-7890");
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.save(customer3).block();
+        customerRepository.save(customer1).block();
+        customerRepository.save(customer2).block();
+    }
+
+    @Test
+    void findAll_KeysetPagination_Test() {
+        StepVerifier.create(customerRepository.findAll(null, 2))
+                .expectNext(customer1, customer2)
+                .verifyComplete();
+
+        StepVerifier.create(customerRepository.findAll("2", 2))
+                .expectNext(customer3)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_HonoursBackpressure_Test() {
+        StepVerifier.create(customerRepository.findAll(), 1)
+                .expectNext(customer1)
+                .thenRequest(2)
+                .expectNext(customer2, customer3)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByEmail_NormalizedIndex_Test() {
+        StepVerifier.create(customerRepository.findByEmail(" John.Doe@Example.com"))
+                .expectNext(customer1)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByPhone_SharedByCustomers_Test() {
+        StepVerifier.create(customerRepository.findByPhone("1234567890").map(Customer::getId).sort())
+                .expectNext("1", "3")
+                .verifyComplete();
+    }
+
+    @Test
+    void update_MovesIndexEntries_Test() {
+        customerRepository.update("1", Customer.create(null, "John Doe", "john@example.com", "555")).block();
+
+        StepVerifier.create(customerRepository.findByEmail("john.doe@example.com"))
+                .verifyComplete();
+        StepVerifier.create(customerRepository.findByEmail("john@example.com").map(Customer::getId))
+                .expectNext("1")
+                .verifyComplete();
+    }
+
+    @Test
+    void delete_RemovesIndexEntries_Test() {
+        customerRepository.delete("2").block();
+
+        StepVerifier.create(customerRepository.findByPhone("0987654321"))
+                .verifyComplete();
+    }
+
+    @Test
+    void writeAll_AppliesInOrderAndSkipsUnknownIds_Test() {
+        Customer customer4 = Customer.create("4", "Joe Doe", "joe.doe@example.com", "555");
+
+        StepVerifier.create(customerRepository.writeAll(List.of(
+                        CustomerWrite.save(customer4),
+                        CustomerWrite.update("4", Customer.create(null, "Joe Doe", "joe@example.com", "555")),
+                        CustomerWrite.update("5", Customer.create(null, "Nobody", "nobody@example.com", "000")),
+                        CustomerWrite.delete("2"),
+                        CustomerWrite.delete("2"))))
+                .assertNext(applied -> assertThat(applied).containsExactly(true, true, false, true, false))
+                .verifyComplete();
+
+        StepVerifier.create(customerRepository.findAll().map(Customer::getId))
+                .expectNext("1", "3", "4")
+                .verifyComplete();
+        StepVerifier.create(customerRepository.findByEmail("joe@example.com").map(Customer::getId))
+                .expectNext("4")
+                .verifyComplete();
+        StepVerifier.create(customerRepository.findByPhone("0987654321"))
+                .verifyComplete();
+    }
+}
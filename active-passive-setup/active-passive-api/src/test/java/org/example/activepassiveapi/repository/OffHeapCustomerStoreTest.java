@@ -0,0 +1,89 @@
+package org.example.activepassiveapi.repository;
+
+import org.example.activepassiveapi.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapCustomerStoreTest {
+
+    private final OffHeapCustomerStore customerStore = new OffHeapCustomerStore(64);
+
+    @Test
+    void put_DecodesUtf8AndNullFields_Test() {
+        Customer customer = Customer.create("1", "Jürgen Groß", null, "+49 30 1234");
+
+        customerStore.put(customer);
+
+        assertThat(customerStore.get("1")).isEqualTo(customer).isNotSameAs(customer);
+        assertThat(customerStore.get("2")).isNull();
+    }
+
+    @Test
+    void values_InIdOrderAcrossChunks_Test() {
+        for (int i = 9; i >= 0; i--) {
+            customerStore.put(Customer.create(String.valueOf(i), "Customer " + i, i + "@example.com", "000" + i));
+        }
+
+        assertThat(customerStore.getAllocatedBytes()).isGreaterThan(64);
+        assertThat(customerStore.values(null)).extracting(Customer::getId)
+                .containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(customerStore.values("7")).extracting(Customer::getName)
+                .containsExactly("Customer 8", "Customer 9");
+    }
+
+    @Test
+    void putAndRemove_LeaveDeadBytes_Test() {
+        customerStore.put(Customer.create("1", "John Doe", "john.doe@example.com", "1234567890"));
+        long recordBytes = customerStore.getUsedBytes();
+
+        customerStore.put(Customer.create("1", "John Doe", "john@example.com", "1234567890"));
+        assertThat(customerStore.getDeadBytes()).isEqualTo(recordBytes);
+        assertThat(customerStore.get("1").getEmail()).isEqualTo("john@example.com");
+
+        customerStore.remove("1");
+        assertThat(customerStore.getDeadBytes()).isEqualTo(customerStore.getUsedBytes());
+        assertThat(customerStore.size()).isZero();
+    }
+
+    @Test
+    void put_ManyUpdates_CompactDeadBytes_Test() {
+        for (int i = 0; i < 10_000; i++) {
+            customerStore.put(Customer.create(String.valueOf(i % 3), "Customer " + i, null, null));
+        }
+
+        assertThat(customerStore.getCompactions()).isPositive();
+        assertThat(customerStore.getAllocatedBytes()).isLessThanOrEqualTo(4 * 64);
+        assertThat(customerStore.values(null)).extracting(Customer::getName)
+                .containsExactly("Customer 9999", "Customer 9997", "Customer 9998");
+    }
+
+    @Test
+    void values_IterationStartedBeforeACompaction_Test() {
+        for (int i = 0; i < 3; i++) {
+            customerStore.put(Customer.create(String.valueOf(i), "Customer " + i, null, null));
+        }
+        Iterator<Customer> iterator = customerStore.values(null).iterator();
+        assertThat(iterator.next().getName()).isEqualTo("Customer 0");
+
+        long compactions = customerStore.getCompactions();
+        while (customerStore.getCompactions() == compactions) {
+            customerStore.put(Customer.create("2", "Renamed", null, null));
+        }
+
+        assertThat(iterator.next().getName()).isEqualTo("Customer 1");
+        // updated in the old generation before it was compacted
+        assertThat(iterator.next().getName()).isEqualTo("Renamed");
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(customerStore.get("2").getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void put_RecordLargerThanAChunk_Test() {
+        assertThatThrownBy(() -> customerStore.put(Customer.create("1", "x".repeat(100), null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
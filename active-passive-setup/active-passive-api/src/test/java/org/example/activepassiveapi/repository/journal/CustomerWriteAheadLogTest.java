@@ -0,0 +1,168 @@
+package org.example.activepassiveapi.repository.journal;
+
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerWrite;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.Entry;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.SyncMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerWriteAheadLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void recover_ReplaysPutsAndDeletesInOrder_Test() throws IOException {
+        try (CustomerWriteAheadLog log = open(SyncMode.EVERY_WRITE, 1024)) {
+            log.append("1", customer("1")).join();
+            log.append("2", customer("2")).join();
+            log.append("1", null).join();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        try (CustomerWriteAheadLog log = new CustomerWriteAheadLog(directory, 1024, SyncMode.EVERY_WRITE)) {
+            assertThat(log.recover(0, entries::add)).isEqualTo(3);
+            assertThat(log.append("3", customer("3")).join()).isNull();
+            assertThat(log.getLastSequence()).isEqualTo(4);
+        }
+
+        assertThat(entries).containsExactly(
+                new Entry(1, "1", customer("1")),
+                new Entry(2, "2", customer("2")),
+                new Entry(3, "1", null));
+    }
+
+    @Test
+    void recover_SkipsEntriesCoveredBySnapshotAcrossSegments_Test() throws IOException {
+        try (CustomerWriteAheadLog log = open(SyncMode.GROUP, 128)) {
+            IntStream.rangeClosed(1, 10).mapToObj(i -> log.append(String.valueOf(i), customer(String.valueOf(i))))
+                    .toList()
+                    .forEach(CompletableFuture::join);
+        }
+        assertThat(segments()).hasSizeGreaterThan(1);
+
+        List<Entry> entries = new ArrayList<>();
+        try (CustomerWriteAheadLog log = new CustomerWriteAheadLog(directory, 128, SyncMode.GROUP)) {
+            assertThat(log.recover(7, entries::add)).isEqualTo(10);
+            assertThat(log.getSyncs()).isZero();
+        }
+
+        assertThat(entries).extracting(Entry::sequence).containsExactly(8L, 9L, 10L);
+    }
+
+    @Test
+    void recover_StopsAtTornRecord_Test() throws IOException {
+        try (CustomerWriteAheadLog log = open(SyncMode.EVERY_WRITE, 1024)) {
+            log.append("1", customer("1")).join();
+            log.append("2", customer("2")).join();
+        }
+        Path segment = segments().getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // flip the last byte of the payload of the second record
+            long end = Files.size(segment);
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+            int secondRecordEnd = 0;
+            for (int i = 0; i < 2; i++) {
+                secondRecordEnd += 16 + content.getInt(secondRecordEnd);
+            }
+            assertThat(secondRecordEnd).isLessThan((int) end);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) ~content.get(secondRecordEnd - 1)}), secondRecordEnd - 1);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        try (CustomerWriteAheadLog log = new CustomerWriteAheadLog(directory, 1024, SyncMode.EVERY_WRITE)) {
+            assertThat(log.recover(0, entries::add)).isEqualTo(1);
+            log.append("3", customer("3")).join();
+        }
+        entries.clear();
+        try (CustomerWriteAheadLog log = new CustomerWriteAheadLog(directory, 1024, SyncMode.EVERY_WRITE)) {
+            log.recover(0, entries::add);
+        }
+
+        assertThat(entries).extracting(Entry::id).containsExactly("1", "3");
+    }
+
+    @Test
+    void groupCommit_SharesSyncsBetweenWriters_Test() throws IOException {
+        try (CustomerWriteAheadLog log = open(SyncMode.GROUP, 1 << 20)) {
+            List<CompletableFuture<Void>> writes = IntStream.range(0, 1000)
+                    .mapToObj(i -> log.append(String.valueOf(i), customer(String.valueOf(i))))
+                    .toList();
+            writes.forEach(CompletableFuture::join);
+
+            assertThat(log.getSyncedRecords()).isEqualTo(1000);
+            assertThat(log.getSyncs()).isLessThan(1000);
+        }
+    }
+
+    @Test
+    void everyWrite_OneSyncPerWrite_Test() throws IOException {
+        try (CustomerWriteAheadLog log = open(SyncMode.EVERY_WRITE, 1 << 20)) {
+            List<CompletableFuture<Void>> writes = IntStream.range(0, 100)
+                    .mapToObj(i -> log.append(String.valueOf(i), customer(String.valueOf(i))))
+                    .toList();
+            writes.forEach(CompletableFuture::join);
+
+            assertThat(log.getSyncedRecords()).isEqualTo(100);
+            assertThat(log.getSyncs()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void appendAll_OneSyncAcrossSegments_Test() throws IOException {
+        try (CustomerWriteAheadLog log = open(SyncMode.EVERY_WRITE, 128)) {
+            log.appendAll(List.of(
+                    CustomerWrite.save(customer("1")),
+                    CustomerWrite.save(customer("2")),
+                    CustomerWrite.delete("1"),
+                    CustomerWrite.update("3", customer("3")))).join();
+
+            assertThat(log.getSyncs()).isEqualTo(1);
+            assertThat(log.getSyncedRecords()).isEqualTo(4);
+        }
+        assertThat(segments()).hasSizeGreaterThan(1);
+
+        List<Entry> entries = new ArrayList<>();
+        try (CustomerWriteAheadLog log = new CustomerWriteAheadLog(directory, 128, SyncMode.EVERY_WRITE)) {
+            assertThat(log.recover(0, entries::add)).isEqualTo(4);
+        }
+
+        assertThat(entries).containsExactly(
+                new Entry(1, "1", customer("1")),
+                new Entry(2, "2", customer("2")),
+                new Entry(3, "1", null),
+                new Entry(4, "3", customer("3")));
+    }
+
+    private CustomerWriteAheadLog open(SyncMode syncMode, int segmentSize) throws IOException {
+        CustomerWriteAheadLog log = new CustomerWriteAheadLog(directory, segmentSize, syncMode);
+        log.recover(0, entry -> {
+        });
+        return log;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+
+    private static Customer customer(String id) {
+        return Customer.create(id, "Customer " + id, "customer" + id + "@example.com", "555-" + id);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.activepassiveapi.repository.journal;
+
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.CustomerStore;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.example.activepassiveapi.repository.OffHeapCustomerStore;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.SyncMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DurableCustomerJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void recover_FromWriteAheadLog_Test() throws IOException {
+        CustomerStore written = new HeapCustomerStore();
+        try (DurableCustomerJournal journal = open(written)) {
+            CustomerRepository repository = new CustomerRepository(written, journal);
+            repository.save(customer("1")).block();
+            repository.save(customer("2")).block();
+            repository.update("1", Customer.create(null, "John Doe", "john@example.com", "555")).block();
+            repository.delete("2").block();
+        }
+
+        CustomerStore store = new HeapCustomerStore();
+        try (DurableCustomerJournal journal = open(store)) {
+            CustomerRepository repository = new CustomerRepository(store, journal);
+
+            assertThat(repository.findAll().collectList().block())
+                    .containsExactly(Customer.create("1", "John Doe", "john@example.com", "555"));
+            assertThat(repository.findByEmail("john@example.com").collectList().block()).hasSize(1);
+        }
+    }
+
+    @Test
+    void recover_FromSnapshotAndLogTail_Test() throws IOException {
+        CustomerStore written = new OffHeapCustomerStore(1024);
+        try (DurableCustomerJournal journal = open(written)) {
+            CustomerRepository repository = new CustomerRepository(written, journal);
+            repository.save(customer("1")).block();
+            repository.save(customer("2")).block();
+        }
+        CustomerStore restarted = new OffHeapCustomerStore(1024);
+        try (DurableCustomerJournal journal = open(restarted)) {
+            journal.snapshot();
+            assertThat(files("snapshot-")).isEqualTo(1);
+            assertThat(files("wal-")).isEqualTo(1);
+
+            CustomerRepository repository = new CustomerRepository(restarted, journal);
+            repository.save(customer("3")).block();
+            repository.delete("1").block();
+        }
+
+        CustomerStore store = new OffHeapCustomerStore(1024);
+        try (DurableCustomerJournal journal = open(store)) {
+            assertThat(store.values(null)).containsExactly(customer("2"), customer("3"));
+            assertThat(journal.getLastSequence()).isEqualTo(4);
+        }
+    }
+
+    private DurableCustomerJournal open(CustomerStore store) throws IOException {
+        DurableCustomerJournal journal = new DurableCustomerJournal(
+                new CustomerWriteAheadLog(directory, 1 << 16, SyncMode.GROUP), new CustomerSnapshots(directory), store);
+        journal.recover();
+        return journal;
+    }
+
+    private long files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    private static Customer customer(String id) {
+        return Customer.create(id, "Customer " + id, "customer" + id + "@example.com", "555-" + id);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.activepassiveapi.config.CustomerCacheProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerCacheTest {
+
+    private final CustomerCacheProperties properties = new CustomerCacheProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Customer john = Customer.create("1", "John Doe", "john.doe@example.com", "1234567890");
+    private final Customer jane = Customer.create("1", "Jane Doe", "jane.doe@example.com", "0987654321");
+
+    private CustomerCache cache() {
+        properties.setTtl(Duration.ofSeconds(30));
+        properties.setStaleIfError(Duration.ofMinutes(10));
+        return new CustomerCache(properties, meterRegistry, now::get);
+    }
+
+    private Mono<Customer> load(Customer customer) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return customer;
+        });
+    }
+
+    @Test
+    void get_WithinTtl_ServedFromCache_Test() {
+        CustomerCache cache = cache();
+
+        assertThat(cache.get("1", () -> load(john)).block()).isEqualTo(john);
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(cache.get("1", () -> load(jane)).block()).isEqualTo(john);
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(cache.get("1", () -> load(jane)).block()).isEqualTo(jane);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getHitRatio()).isEqualTo(1 / 3.0);
+        assertThat(meterRegistry.get("customer.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShareOneLoad_Test() {
+        CustomerCache cache = cache();
+        Sinks.One<Customer> backend = Sinks.one();
+
+        Flux<Customer> herd = Flux.range(0, 100)
+                .flatMap(i -> cache.get("1", () -> {
+                    loads.incrementAndGet();
+                    return backend.asMono();
+                }));
+
+        StepVerifier.create(herd)
+                .then(() -> backend.tryEmitValue(john))
+                .expectNextCount(100)
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("customer.cache.requests").tag("result", "coalesced").counter().count()).isEqualTo(99);
+    }
+
+    @Test
+    void getIfError_StaleWithinStaleIfError_Test() {
+        CustomerCache cache = cache();
+        cache.get("1", () -> load(john)).block();
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        StepVerifier.create(cache.get("1", () -> Mono.error(new RuntimeException("Active failed!"))))
+                .expectError(RuntimeException.class)
+                .verify();
+        StepVerifier.create(cache.getIfError("1"))
+                .expectNext(john)
+                .verifyComplete();
+        assertThat(meterRegistry.get("customer.cache.stale").counter().count()).isEqualTo(1);
+
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        StepVerifier.create(cache.getIfError("1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void get_EmptyLoad_RemovesCustomer_Test() {
+        CustomerCache cache = cache();
+        cache.get("1", () -> load(john)).block();
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        StepVerifier.create(cache.get("1", Mono::empty))
+                .verifyComplete();
+        StepVerifier.create(cache.getIfError("1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void put_DuringLoad_WinsOverLoadedCustomer_Test() {
+        CustomerCache cache = cache();
+        Sinks.One<Customer> backend = Sinks.one();
+
+        StepVerifier.create(cache.get("1", backend::asMono))
+                .then(() -> cache.put(jane))
+                .then(() -> backend.tryEmitValue(john))
+                .expectNext(john)
+                .verifyComplete();
+
+        assertThat(cache.get("1", () -> load(john)).block()).isEqualTo(jane);
+    }
+
+    @Test
+    void put_BeyondMaximumSize_EvictsLeastRecentlyUsed_Test() {
+        properties.setMaximumSize(16);
+        CustomerCache cache = cache();
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(Customer.create(String.valueOf(i), "Customer " + i, null, null));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(16);
+        assertThat(meterRegistry.get("customer.cache.evictions").functionCounter().count()).isEqualTo(1000 - cache.size());
+    }
+}
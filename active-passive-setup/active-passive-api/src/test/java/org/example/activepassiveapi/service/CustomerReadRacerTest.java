@@ -0,0 +1,149 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.activepassiveapi.config.CustomerReadProperties;
+import org.example.activepassiveapi.config.CustomerReadProperties.ReadMode;
+import org.example.activepassiveapi.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerReadRacerTest {
+
+    private final CustomerService customerService = mock(CustomerService.class);
+    private final CustomerReadProperties properties = new CustomerReadProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CustomerReadRacer racer = new CustomerReadRacer(customerService, properties, meterRegistry);
+
+    private final Customer active = Customer.create("1", "John Doe", "john.doe@example.com", "1234567890");
+    private final Customer passive = Customer.create("1", "Jane Doe", "jane.doe@example.com", "0987654321");
+
+    @BeforeEach
+    void setUp() {
+        properties.setMode(ReadMode.HEDGE);
+        properties.setHedgeDelay(Duration.ofMillis(50));
+        when(customerService.getCustomerByIdFromPassive("1")).thenReturn(Mono.just(passive));
+        when(customerService.getAllCustomersFromPassive()).thenReturn(Flux.just(passive));
+    }
+
+    @Test
+    void hedge_FastActive_DoesNotAskPassive_Test() {
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.just(active));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .expectNext(active)
+                .verifyComplete();
+
+        verify(customerService, never()).getCustomerByIdFromPassive("1");
+        assertThat(winners("by-id", "hedge", "active")).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_SlowActive_PassiveWins_Test() {
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.just(active).delayElement(Duration.ofSeconds(10)));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .expectNext(passive)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(winners("by-id", "hedge", "passive")).isEqualTo(1);
+    }
+
+    @Test
+    void hedge_ActiveFailure_AsksPassiveWithoutWaiting_Test() {
+        properties.setHedgeDelay(Duration.ofSeconds(10));
+        when(customerService.getAllCustomersFromActive()).thenReturn(Flux.error(new RuntimeException("Active failed!")));
+
+        StepVerifier.create(racer.getAllCustomers())
+                .expectNext(passive)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(winners("all", "hedge", "passive")).isEqualTo(1);
+    }
+
+    @Test
+    void race_UnknownCustomerInActive_IsAnAnswer_Test() {
+        properties.setMode(ReadMode.RACE);
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.empty());
+        when(customerService.getCustomerByIdFromPassive("1")).thenReturn(Mono.just(passive).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .verifyComplete();
+
+        assertThat(winners("by-id", "race", "active")).isEqualTo(1);
+    }
+
+    @Test
+    void race_FasterPassive_BeatsSlowerActive_Test() {
+        properties.setMode(ReadMode.RACE);
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.just(active).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .expectNext(passive)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(winners("by-id", "race", "passive")).isEqualTo(1);
+    }
+
+    @Test
+    void race_FasterActive_BeatsPassive_Test() {
+        properties.setMode(ReadMode.RACE);
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.just(active));
+        when(customerService.getCustomerByIdFromPassive("1")).thenReturn(Mono.just(passive).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .expectNext(active)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(winners("by-id", "race", "active")).isEqualTo(1);
+    }
+
+    @Test
+    void race_ActiveFailure_PassiveAnswers_Test() {
+        properties.setMode(ReadMode.RACE);
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.error(new RuntimeException("Active failed!"))
+                .delaySubscription(Duration.ofMillis(100)).cast(Customer.class));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .expectNext(passive)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(winners("by-id", "race", "passive")).isEqualTo(1);
+    }
+
+    @Test
+    void race_BothFail_PropagatesError_Test() {
+        properties.setMode(ReadMode.RACE);
+        when(customerService.getByCustomerByIdFromActive("1")).thenReturn(Mono.error(new RuntimeException("Active failed!")));
+        when(customerService.getCustomerByIdFromPassive("1")).thenReturn(Mono.error(new RuntimeException("Passive failed!")));
+
+        StepVerifier.create(racer.getCustomerById("1"))
+                .verifyError();
+
+        assertThat(winners("by-id", "race", "none")).isEqualTo(1);
+    }
+
+    private double winners(String operation, String mode, String winner) {
+        return meterRegistry.get("customer.reads")
+                .tag("operation", operation)
+                .tag("mode", mode)
+                .tag("winner", winner)
+                .counter()
+                .count();
+    }
+}
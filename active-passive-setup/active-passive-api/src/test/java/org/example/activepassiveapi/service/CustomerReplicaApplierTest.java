@@ -0,0 +1,109 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.model.ReplicatedChange;
+import org.example.activepassiveapi.model.ReplicationAck;
+import org.example.activepassiveapi.model.ReplicationBatch;
+import org.example.activepassiveapi.repository.CustomerJournal;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerReplicaApplierTest {
+
+    private final CustomerRepository customerRepository = new CustomerRepository(new HeapCustomerStore(), CustomerJournal.NONE);
+    private final CustomerReplicaApplier applier = new CustomerReplicaApplier(customerRepository, new SimpleMeterRegistry());
+
+    @Test
+    void apply_OutOfOrderBatches_AppliesInSequenceOrder_Test() {
+        StepVerifier.create(applier.apply(batch(7, 1, put(2, "1", "Jane Doe"), put(3, "2", "John Doe"))))
+                .expectNext(ReplicationAck.create(7, 0))
+                .verifyComplete();
+        assertThat(customerRepository.findById("1").block()).isNull();
+
+        StepVerifier.create(applier.apply(batch(7, 1, put(1, "1", "Jane Roe"))))
+                .expectNext(ReplicationAck.create(7, 3))
+                .verifyComplete();
+        assertThat(customerRepository.findById("1").block().getName()).isEqualTo("Jane Doe");
+        assertThat(customerRepository.findById("2").block().getName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    void apply_RetriedBatch_IsIgnored_Test() {
+        applier.apply(batch(7, 1, put(1, "1", "Jane Doe"), delete(2, "1"))).block();
+
+        StepVerifier.create(applier.apply(batch(7, 1, put(1, "1", "Jane Doe"))))
+                .expectNext(ReplicationAck.create(7, 2))
+                .verifyComplete();
+        assertThat(customerRepository.findById("1").block()).isNull();
+    }
+
+    @Test
+    void apply_NewEpoch_StartsOverAtItsStartSequence_Test() {
+        applier.apply(batch(7, 1, put(1, "1", "Jane Doe"), put(3, "3", "Lost Change"))).block();
+
+        StepVerifier.create(applier.apply(batch(8, 10, put(10, "2", "John Doe"))))
+                .expectNext(ReplicationAck.create(8, 10))
+                .verifyComplete();
+        assertThat(customerRepository.findById("2").block()).isNotNull();
+        assertThat(customerRepository.findById("3").block()).isNull();
+        assertThat(applier.getAppliedSequence()).isEqualTo(10);
+        assertThat(applier.getDiscarded()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_StaleEpoch_IsRejected_Test() {
+        applier.apply(batch(8, 1, put(1, "1", "Jane Doe"))).block();
+
+        assertThatThrownBy(() -> applier.apply(batch(7, 1, put(2, "2", "John Doe"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(customerRepository.findById("2").block()).isNull();
+    }
+
+    @Test
+    void apply_ReplacedEpoch_RejectedWithItsAppliedSequence_Test() {
+        applier.apply(batch(7, 1, put(1, "1", "Jane Doe"), put(2, "2", "John Doe"))).block();
+        applier.apply(batch(8, 10, put(10, "3", "Jim Doe"))).block();
+
+        // the response to the first attempt was lost, the retry learns the batch was applied
+        assertThatThrownBy(() -> applier.apply(batch(7, 1, put(1, "1", "Jane Doe"), put(2, "2", "John Doe"))))
+                .isInstanceOfSatisfying(CustomerReplicaApplier.StaleEpochException.class,
+                        e -> assertThat(e.getAck()).isEqualTo(ReplicationAck.create(7, 2)));
+    }
+
+    @Test
+    void apply_EpochFarAheadOfTheClock_IsRejected_Test() {
+        applier.apply(batch(7, 1, put(1, "1", "Jane Doe"))).block();
+
+        assertThatThrownBy(() -> applier.apply(batch(Long.MAX_VALUE, 1, put(1, "2", "John Doe"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        StepVerifier.create(applier.apply(batch(7, 1, put(2, "3", "Jim Doe"))))
+                .expectNext(ReplicationAck.create(7, 2))
+                .verifyComplete();
+        assertThat(customerRepository.findById("2").block()).isNull();
+    }
+
+    private static ReplicationBatch batch(long epoch, long startSequence, ReplicatedChange... changes) {
+        return ReplicationBatch.create(epoch, startSequence, List.of(changes));
+    }
+
+    private static ReplicatedChange put(long sequence, String id, String name) {
+        return ReplicatedChange.create(sequence, System.currentTimeMillis(), id, Customer.create(id, name, null, null));
+    }
+
+    private static ReplicatedChange delete(long sequence, String id) {
+        return ReplicatedChange.create(sequence, System.currentTimeMillis(), id, null);
+    }
+}
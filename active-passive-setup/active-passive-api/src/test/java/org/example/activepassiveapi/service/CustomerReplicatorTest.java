@@ -0,0 +1,115 @@
+package org.example.activepassiveapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.activepassiveapi.config.ReplicationProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerJournal;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The application of this test is the passive instance, the test plays the active one.
+ * */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"customer.replication.role=passive", "customer.replication.secret=" + CustomerReplicatorTest.SECRET})
+class CustomerReplicatorTest {
+
+    static final String SECRET = "replication-test-secret";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository passiveRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ReplicationProperties properties = new ReplicationProperties();
+    private CustomerReplicator replicator;
+    private CustomerRepository activeRepository;
+
+    @BeforeEach
+    void setUp() {
+        passiveRepository.findAll()
+                .flatMap(customer -> passiveRepository.delete(customer.getId()))
+                .blockLast();
+        properties.setSecret(SECRET);
+        properties.setBatchSize(50);
+        properties.setBufferCapacity(1000);
+        replicator = new CustomerReplicator(WebClient.create("http://localhost:" + port), properties, objectMapper);
+        activeRepository = new CustomerRepository(new HeapCustomerStore(), replicator.replicate(CustomerJournal.NONE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicator.close();
+    }
+
+    @Test
+    void replicate_Writes_AppliedOnPassive_Test() {
+        Flux.range(0, 500)
+                .flatMap(i -> activeRepository.save(Customer.create("customer-" + i, "Customer " + i, null, null)))
+                .blockLast();
+        activeRepository.update("customer-1", Customer.create(null, "Renamed", null, null)).block();
+        activeRepository.delete("customer-2").block();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> replicator.getLag() == 0);
+
+        assertThat(replicator.getAckedSequence()).isEqualTo(502);
+        assertThat(passiveRepository.findAll().count().block()).isEqualTo(499);
+        assertThat(passiveRepository.findById("customer-1").block().getName()).isEqualTo("Renamed");
+        assertThat(passiveRepository.findById("customer-2").block()).isNull();
+        assertThat(replicator.getBatches()).isLessThan(500);
+        assertThat(replicator.getDropped()).isZero();
+    }
+
+    @Test
+    void replicate_BufferOverflow_ContinuesWithNewStream_Test() {
+        replicator.close();
+        properties.setBufferCapacity(10);
+        replicator = new CustomerReplicator(WebClient.create("http://localhost:" + port), properties, objectMapper);
+        activeRepository = new CustomerRepository(new HeapCustomerStore(), replicator.replicate(CustomerJournal.NONE));
+
+        for (int i = 0; i < 2000; i++) {
+            activeRepository.save(Customer.create("customer-" + i, "Customer " + i, null, null)).block();
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> replicator.getLag() == 0 || replicator.getDropped() > 0);
+        activeRepository.save(Customer.create("last", "Last Customer", null, null)).block();
+        await().atMost(Duration.ofSeconds(10)).until(() -> replicator.getLag() == 0);
+
+        assertThat(passiveRepository.findById("last").block()).isNotNull();
+        // every write is either applied on the passive instance or counted as dropped, once the old streams settle
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> passiveRepository.findAll().count().block() + replicator.getDropped() == 2001);
+        assertThat(replicator.getCancelled()).isZero();
+    }
+
+    @Test
+    void replicate_WrongSecret_IsRejected_Test() {
+        replicator.close();
+        properties.setSecret("not-the-secret");
+        replicator = new CustomerReplicator(WebClient.create("http://localhost:" + port), properties, objectMapper);
+        activeRepository = new CustomerRepository(new HeapCustomerStore(), replicator.replicate(CustomerJournal.NONE));
+
+        activeRepository.save(Customer.create("intruder", "Intruder", null, null)).block();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> replicator.getFailures() > 0);
+        assertThat(replicator.getAckedSequence()).isZero();
+        assertThat(passiveRepository.findById("intruder").block()).isNull();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.activepassiveapi.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.activepassiveapi.config.CustomerWriteProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerJournal;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.CustomerWrite;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerWriteBatcherTest {
+
+    private final AtomicInteger journalWrites = new AtomicInteger();
+    private final CustomerRepository repository = new CustomerRepository(new HeapCustomerStore(), new CustomerJournal() {
+        @Override
+        public CompletableFuture<Void> put(Customer customer) {
+            journalWrites.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(String id) {
+            journalWrites.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> writeAll(List<CustomerWrite> writes) {
+            journalWrites.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+    });
+    private final CustomerWriteProperties properties = new CustomerWriteProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static Customer customer(int i) {
+        return Customer.create(String.valueOf(i), "Customer " + i, "customer" + i + "@example.com", "555-" + i);
+    }
+
+    @Test
+    void save_ConcurrentWrites_JournaledInBatches_Test() {
+        properties.setWindow(Duration.ofMillis(50));
+        properties.setMaxBatchSize(100);
+        CustomerWriteBatcher batcher = new CustomerWriteBatcher(repository, properties, meterRegistry);
+
+        StepVerifier.create(Flux.range(0, 250).flatMap(i -> batcher.save(customer(i)), 250).count())
+                .expectNext(250L)
+                .verifyComplete();
+
+        // how the writes split after the first full batch depends on when the flushes run
+        DistributionSummary batchSizes = meterRegistry.get("customer.writes.batch.size").summary();
+        assertThat(repository.findAll().count().block()).isEqualTo(250);
+        assertThat(batchSizes.totalAmount()).isEqualTo(250);
+        assertThat(batchSizes.max()).isEqualTo(100);
+        assertThat(batchSizes.count()).isGreaterThanOrEqualTo(3).isLessThan(250);
+        assertThat(journalWrites.get()).isEqualTo((int) batchSizes.count());
+    }
+
+    @Test
+    void updateAndDelete_UnknownId_CompleteEmpty_Test() {
+        CustomerWriteBatcher batcher = new CustomerWriteBatcher(repository, properties, meterRegistry);
+        batcher.save(customer(1)).block();
+
+        StepVerifier.create(batcher.update("1", Customer.create(null, "Renamed", "renamed@example.com", "555")))
+                .assertNext(updated -> assertThat(updated.getId()).isEqualTo("1"))
+                .verifyComplete();
+        StepVerifier.create(batcher.update("2", customer(2)))
+                .verifyComplete();
+        StepVerifier.create(batcher.delete("1").then(Mono.defer(() -> repository.findById("1"))))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_BatchingDisabled_JournaledOneByOne_Test() {
+        properties.setBatching(false);
+        CustomerWriteBatcher batcher = new CustomerWriteBatcher(repository, properties, meterRegistry);
+
+        Flux.range(0, 10).flatMap(i -> batcher.save(customer(i))).blockLast();
+
+        assertThat(journalWrites.get()).isEqualTo(10);
+        assertThat(meterRegistry.get("customer.writes.batch.size").summary().count()).isZero();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.activepassiveclient.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Cross-region failover as described at the bottom of the CustomerController of active-passive-api: a call goes to the
+ * primary region through the circuit breaker "primary-region" and, when it fails, to the secondary region through
+ * "secondary-region". While the primary circuit breaker is open calls go straight to the secondary region.
+ *
+ * Idempotent calls fail over on connection errors, timeouts and 5xx answers. Other calls only fail over when the
+ * primary region cannot have seen the request: its circuit breaker is open or the connection was refused. A stream
+ * fails over only before its first element, so the caller never gets elements twice.
+ * */
+@Slf4j
+public class ActivePassiveFailover {
+
+    public static final String PRIMARY = "primary-region";
+    public static final String SECONDARY = "secondary-region";
+
+    private final WebClient primary;
+    private final WebClient secondary;
+    private final CircuitBreaker primaryCircuitBreaker;
+    private final CircuitBreaker secondaryCircuitBreaker;
+
+    public ActivePassiveFailover(WebClient primary, WebClient secondary, CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.primaryCircuitBreaker = circuitBreakerRegistry.circuitBreaker(PRIMARY);
+        this.secondaryCircuitBreaker = circuitBreakerRegistry.circuitBreaker(SECONDARY);
+    }
+
+    public <T> Mono<T> mono(boolean idempotent, Function<WebClient, Mono<T>> call) {
+        return Mono.defer(() -> call.apply(primary))
+                .transformDeferred(CircuitBreakerOperator.of(primaryCircuitBreaker))
+                .onErrorResume(e -> shouldFailover(e, idempotent), e -> {
+                    log.info("failover-to-secondary-region: {}", e.toString());
+                    return Mono.defer(() -> call.apply(secondary))
+                            .transformDeferred(CircuitBreakerOperator.of(secondaryCircuitBreaker));
+                });
+    }
+
+    public <T> Flux<T> flux(Function<WebClient, Flux<T>> call) {
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return Flux.defer(() -> call.apply(primary))
+                    .transformDeferred(CircuitBreakerOperator.of(primaryCircuitBreaker))
+                    .doOnNext(element -> emitted.lazySet(true))
+                    .onErrorResume(e -> !emitted.get() && shouldFailover(e, true), e -> {
+                        log.info("failover-to-secondary-region: {}", e.toString());
+                        return Flux.defer(() -> call.apply(secondary))
+                                .transformDeferred(CircuitBreakerOperator.of(secondaryCircuitBreaker));
+                    });
+        });
+    }
+
+    private static boolean shouldFailover(Throwable e, boolean idempotent) {
+        if (e instanceof CallNotPermittedException) {
+            return true;
+        }
+        if (e instanceof WebClientRequestException && e.getCause() instanceof ConnectException) {
+            return true;
+        }
+        return idempotent && (e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError());
+    }
+}
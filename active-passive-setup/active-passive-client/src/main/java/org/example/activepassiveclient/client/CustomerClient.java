@@ -0,0 +1,87 @@
+package org.example.activepassiveclient.client;
+
+import org.example.activepassiveclient.model.Customer;
+import org.example.activepassiveclient.model.CustomerPage;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Client of the /customers API of active-passive-api in two regions, see {@link ActivePassiveFailover}. Unknown
+ * customers complete empty, they are no reason to fail over.
+ * */
+public class CustomerClient {
+
+    private final ActivePassiveFailover failover;
+
+    public CustomerClient(ActivePassiveFailover failover) {
+        this.failover = failover;
+    }
+
+    public Flux<Customer> getAllCustomers() {
+        return failover.flux(webClient -> webClient.get()
+                .uri("/customers/all")
+                .retrieve()
+                .bodyToFlux(Customer.class));
+    }
+
+    public Mono<CustomerPage> getCustomersPage(String after, int limit) {
+        return failover.mono(true, webClient -> webClient.get()
+                .uri(uri -> uri.path("/customers")
+                        .queryParamIfPresent("after", Optional.ofNullable(after))
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .bodyToMono(CustomerPage.class));
+    }
+
+    /**
+     * The whole set as NDJSON, decoded while it arrives.
+     * */
+    public Flux<Customer> streamCustomers() {
+        return failover.flux(webClient -> webClient.get()
+                .uri("/customers/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Customer.class));
+    }
+
+    public Mono<Customer> getCustomerById(String customerId) {
+        return failover.mono(true, webClient -> webClient.get()
+                .uri("/customers/{customerId}", customerId)
+                .retrieve()
+                .bodyToMono(Customer.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+
+    /**
+     * The API assigns the id, so a create is not retried in the secondary region after the primary may have seen it.
+     * */
+    public Mono<Customer> createCustomer(Customer customer) {
+        return failover.mono(false, webClient -> webClient.post()
+                .uri("/customers")
+                .bodyValue(customer)
+                .retrieve()
+                .bodyToMono(Customer.class));
+    }
+
+    public Mono<Customer> updateCustomer(String customerId, Customer customer) {
+        return failover.mono(true, webClient -> webClient.put()
+                .uri("/customers/{customerId}", customerId)
+                .bodyValue(customer)
+                .retrieve()
+                .bodyToMono(Customer.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+
+    public Mono<Void> deleteCustomer(String customerId) {
+        return failover.mono(true, webClient -> webClient.delete()
+                .uri("/customers/{customerId}", customerId)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+}
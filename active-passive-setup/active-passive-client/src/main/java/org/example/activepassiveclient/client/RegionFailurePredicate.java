@@ -0,0 +1,16 @@
+package org.example.activepassiveclient.client;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.function.Predicate;
+
+/**
+ * Failures of a region for its circuit breaker: everything but 4xx answers, which are the caller's fault.
+ * */
+public class RegionFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable e) {
+        return !(e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+}
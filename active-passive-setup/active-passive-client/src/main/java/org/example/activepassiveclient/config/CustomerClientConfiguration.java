@@ -0,0 +1,61 @@
+package org.example.activepassiveclient.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.channel.ChannelOption;
+import org.example.activepassiveclient.client.ActivePassiveFailover;
+import org.example.activepassiveclient.client.CustomerClient;
+import org.example.activepassiveclient.config.CustomerClientProperties.Pool;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration(proxyBeanMethods = false)
+public class CustomerClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider customerConnectionProvider(CustomerClientProperties properties) {
+        Pool pool = properties.getPool();
+        return ConnectionProvider.builder("customer-client")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .lifo()
+                .build();
+    }
+
+    /**
+     * Also picked up by the auto-configured WebClient.Builder, so every WebClient of the application shares the pool.
+     * */
+    @Bean
+    public ClientHttpConnector customerClientHttpConnector(ConnectionProvider customerConnectionProvider,
+                                                           CustomerClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(customerConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .responseTimeout(properties.getResponseTimeout())
+                .protocol(properties.getProtocols().toArray(HttpProtocol[]::new));
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ActivePassiveFailover activePassiveFailover(WebClient.Builder webClientBuilder, CustomerClientProperties properties,
+                                                       CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new ActivePassiveFailover(
+                webClientBuilder.clone().baseUrl(properties.getPrimaryUrl()).build(),
+                webClientBuilder.clone().baseUrl(properties.getSecondaryUrl()).build(),
+                circuitBreakerRegistry);
+    }
+
+    @Bean
+    public CustomerClient customerClient(ActivePassiveFailover activePassiveFailover) {
+        return new CustomerClient(activePassiveFailover);
+    }
+}
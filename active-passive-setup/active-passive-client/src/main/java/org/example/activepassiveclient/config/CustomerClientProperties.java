@@ -0,0 +1,66 @@
+package org.example.activepassiveclient.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Where the /customers API runs and how the client connects to it.
+ * */
+@Data
+@ConfigurationProperties(prefix = "customer.client")
+public class CustomerClientProperties {
+
+    /**
+     * Base URL of the active region, called first.
+     * */
+    private String primaryUrl = "http://localhost:8080";
+
+    /**
+     * Base URL of the passive region, called when the primary fails or its circuit breaker is open.
+     * */
+    private String secondaryUrl = "http://localhost:8081";
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration responseTimeout = Duration.ofSeconds(5);
+
+    /**
+     * H2 is negotiated with ALPN on https URLs, HTTP11 is used on http URLs. H2C alone speaks HTTP/2 without TLS
+     * right away, for a server with server.http2.enabled; there is no h2c upgrade, it cannot carry request bodies.
+     * */
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.H2, HttpProtocol.HTTP11);
+
+    private Pool pool = new Pool();
+
+    /**
+     * The connection pool shared by both regions; maxConnections applies per region.
+     * */
+    @Data
+    public static class Pool {
+
+        private int maxConnections = 100;
+
+        /**
+         * Requests waiting for a connection before new requests fail right away.
+         * */
+        private int pendingAcquireMaxCount = 500;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Kept below the keep-alive timeout of load balancers, so the client never reuses a connection they closed.
+         * */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections are renewed regularly, so a region added behind DNS gets traffic.
+         * */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        private Duration evictInBackground = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.activepassiveclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the keyset pagination of the API, nextCursor is null on the last page.
+ * */
+@Data
+@Builder
+@AllArgsConstructor(staticName = "create")
+public class CustomerPage {
+    private List<Customer> customers;
+    private String nextCursor;
+}
@@ -0,0 +1,144 @@
+package org.example.activepassiveclient.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.example.activepassiveclient.config.CustomerClientConfiguration;
+import org.example.activepassiveclient.config.CustomerClientProperties;
+import org.example.activepassiveclient.model.Customer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerClientTest {
+
+    private static final String JOHN = "{\"id\":\"1\",\"name\":\"John Doe\",\"email\":\"john.doe@example.com\",\"phone\":\"1234567890\"}";
+    private static final String JANE = "{\"id\":\"1\",\"name\":\"Jane Doe\",\"email\":\"jane.doe@example.com\",\"phone\":\"0987654321\"}";
+
+    private final AtomicInteger primaryStatus = new AtomicInteger(200);
+    private final AtomicInteger primaryRequests = new AtomicInteger();
+    private final List<String> protocols = new CopyOnWriteArrayList<>();
+    private DisposableServer primaryServer;
+    private DisposableServer secondaryServer;
+    private ConnectionProvider connectionProvider;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private CustomerClient customerClient;
+
+    @BeforeEach
+    void setUp() {
+        primaryServer = server(JOHN, primaryStatus, primaryRequests);
+        secondaryServer = server(JANE, new AtomicInteger(200), new AtomicInteger());
+
+        CustomerClientProperties properties = new CustomerClientProperties();
+        properties.setPrimaryUrl("http://localhost:" + primaryServer.port());
+        properties.setSecondaryUrl("http://localhost:" + secondaryServer.port());
+        properties.setProtocols(List.of(HttpProtocol.H2C));
+        CustomerClientConfiguration configuration = new CustomerClientConfiguration();
+        connectionProvider = configuration.customerConnectionProvider(properties);
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .clientConnector(configuration.customerClientHttpConnector(connectionProvider, properties));
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .recordException(new RegionFailurePredicate())
+                .build());
+        customerClient = configuration.customerClient(
+                configuration.activePassiveFailover(webClientBuilder, properties, circuitBreakerRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        primaryServer.disposeNow();
+        secondaryServer.disposeNow();
+    }
+
+    @Test
+    void getCustomerById_PrimaryUp_UsesPrimaryOverHttp2_Test() {
+        StepVerifier.create(customerClient.getCustomerById("1").repeat(2))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(primaryRequests).hasValue(3);
+        assertThat(protocols).containsOnly("HTTP/2.0");
+    }
+
+    @Test
+    void getCustomerById_PrimaryFails_FailsOverToSecondary_Test() {
+        primaryStatus.set(503);
+
+        StepVerifier.create(customerClient.getCustomerById("1"))
+                .assertNext(customer -> assertThat(customer.getName()).isEqualTo("Jane Doe"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getCustomerById_PrimaryKeepsFailing_OpensCircuitAndSkipsPrimary_Test() {
+        primaryStatus.set(500);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(customerClient.getCustomerById("1").block().getName()).isEqualTo("Jane Doe");
+        }
+
+        assertThat(circuitBreakerRegistry.circuitBreaker(ActivePassiveFailover.PRIMARY).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(primaryRequests).hasValue(4);
+    }
+
+    @Test
+    void getCustomerById_NotFound_CompletesEmptyWithoutFailover_Test() {
+        primaryStatus.set(404);
+
+        StepVerifier.create(customerClient.getCustomerById("1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void createCustomer_PrimaryFails_DoesNotFailOver_Test() {
+        primaryStatus.set(500);
+
+        StepVerifier.create(customerClient.createCustomer(Customer.create(null, "John Doe", null, null)))
+                .expectError(WebClientResponseException.InternalServerError.class)
+                .verify();
+    }
+
+    @Test
+    void getAllCustomers_PrimaryDown_FailsOverToSecondary_Test() {
+        primaryServer.disposeNow();
+
+        StepVerifier.create(customerClient.getAllCustomers())
+                .assertNext(customer -> assertThat(customer.getName()).isEqualTo("Jane Doe"))
+                .verifyComplete();
+    }
+
+    private DisposableServer server(String customer, AtomicInteger status, AtomicInteger requests) {
+        return HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    protocols.add(request.protocol());
+                    HttpStatus httpStatus = HttpStatus.valueOf(status.get());
+                    String body = request.uri().endsWith("/all") ? "[" + customer + "]" : customer;
+                    return response.status(httpStatus.value())
+                            .header("Content-Type", "application/json")
+                            .sendString(Mono.just(httpStatus.is2xxSuccessful() ? body : "{}"))
+                            .then();
+                })
+                .bindNow();
+    }
+}
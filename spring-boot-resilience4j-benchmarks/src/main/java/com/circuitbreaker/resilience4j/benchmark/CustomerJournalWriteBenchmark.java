@@ -0,0 +1,106 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.SyncMode;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Durable customer writes per second into the write-ahead log of active-passive-api, with an fsync per write and with
+ * group commit, from 1 and 8 writer threads. Every operation waits until its write is durable. The {@code fsyncs}
+ * counter is fsyncs per second, so the score divided by it is the number of writes one fsync made durable.
+ *
+ * The log lives in the temporary directory, which has to be on a real disk for meaningful numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class CustomerJournalWriteBenchmark {
+
+    @Param({"EVERY_WRITE", "GROUP"})
+    private SyncMode syncMode;
+
+    private Path directory;
+    private CustomerWriteAheadLog writeAheadLog;
+    private Customer customer;
+    private volatile long syncsBefore;
+
+    /**
+     * The syncs are shared by all threads, so only the first thread reports them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Syncs {
+        public long fsyncs;
+
+        @Setup(Level.Iteration)
+        public void start(CustomerJournalWriteBenchmark benchmark, ThreadParams threadParams) {
+            fsyncs = 0;
+            if (threadParams.getThreadIndex() == 0) {
+                benchmark.syncsBefore = benchmark.writeAheadLog.getSyncs();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void report(CustomerJournalWriteBenchmark benchmark, ThreadParams threadParams) {
+            if (threadParams.getThreadIndex() == 0) {
+                fsyncs = benchmark.writeAheadLog.getSyncs() - benchmark.syncsBefore;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("customer-wal");
+        writeAheadLog = new CustomerWriteAheadLog(directory, 64 * 1024 * 1024, syncMode);
+        writeAheadLog.recover(0, entry -> {
+        });
+        customer = Customer.create(UUID.randomUUID().toString(), "Customer Name", "customer@example.com", "+1-555-0000000");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writeAheadLog.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads01(Syncs syncs) {
+        writeAheadLog.append(customer.getId(), customer).join();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void threads08(Syncs syncs) {
+        writeAheadLog.append(customer.getId(), customer).join();
+    }
+}
@@ -0,0 +1,100 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerStore;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.example.activepassiveapi.repository.journal.CustomerSnapshots;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.SyncMode;
+import org.example.activepassiveapi.repository.journal.DurableCustomerJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup recovery of the active-passive-api customer store from 1M customer writes, replayed from the write-ahead log
+ * only ({@code LOG}) and from a snapshot with an empty log tail ({@code SNAPSHOT}). The score is the time to recover.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CustomerRecoveryBenchmark {
+
+    public enum Source { LOG, SNAPSHOT }
+
+    @Param({"LOG", "SNAPSHOT"})
+    private Source source;
+
+    @Param({"1000000"})
+    private int customers;
+
+    private Path directory;
+    private DurableCustomerJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("customer-recovery");
+        HeapCustomerStore store = new HeapCustomerStore();
+        try (DurableCustomerJournal writer = open(store)) {
+            CompletableFuture<Void> last = null;
+            for (int i = 0; i < customers; i++) {
+                Customer customer = Customer.create(UUID.randomUUID().toString(), "Customer Name " + i,
+                        "customer." + i + "@example.com", "+1-555-" + i);
+                store.put(customer);
+                last = writer.put(customer);
+            }
+            last.join();
+            if (source == Source.SNAPSHOT) {
+                writer.snapshot();
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        journal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public CustomerStore recover() throws IOException {
+        CustomerStore store = new HeapCustomerStore();
+        journal = open(store);
+        return store;
+    }
+
+    private DurableCustomerJournal open(CustomerStore store) throws IOException {
+        DurableCustomerJournal opened = new DurableCustomerJournal(
+                new CustomerWriteAheadLog(directory, 64 * 1024 * 1024, SyncMode.GROUP), new CustomerSnapshots(directory), store);
+        opened.recover();
+        return opened;
+    }
+}
@@ -0,0 +1,89 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerStore;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.example.activepassiveapi.repository.OffHeapCustomerStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory footprint of the customer store of active-passive-api with 1M and 10M customers, on the heap and off heap.
+ * One operation fills a new store with customers shaped like the ones CustomerService creates (UUID id, name, email
+ * and phone). The {@code heapBytesPerCustomer} and {@code offHeapBytesPerCustomer} counters are what stays reachable
+ * after a full GC, divided by the number of customers; the score is the time to fill the store.
+ *
+ * Needs about 4 GB of heap for 10M customers on the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=2g"})
+public class CustomerStoreFootprintBenchmark {
+
+    public enum StoreType { HEAP, OFF_HEAP }
+
+    @Param({"HEAP", "OFF_HEAP"})
+    private StoreType storeType;
+
+    @Param({"1000000", "10000000"})
+    private int customers;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long heapBytesPerCustomer;
+        public long offHeapBytesPerCustomer;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapBytesPerCustomer = 0;
+            offHeapBytesPerCustomer = 0;
+        }
+    }
+
+    @Benchmark
+    public CustomerStore fill(Footprint footprint) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeapAfterGc(memory);
+
+        CustomerStore store = switch (storeType) {
+            case HEAP -> new HeapCustomerStore();
+            case OFF_HEAP -> new OffHeapCustomerStore(64 * 1024 * 1024);
+        };
+        for (int i = 0; i < customers; i++) {
+            store.put(Customer.create(UUID.randomUUID().toString(), "Customer Name " + i,
+                    "customer." + i + "@example.com", String.format("+1-555-%07d", i)));
+        }
+
+        footprint.heapBytesPerCustomer = (usedHeapAfterGc(memory) - heapBefore) / customers;
+        if (store instanceof OffHeapCustomerStore offHeap) {
+            footprint.offHeapBytesPerCustomer = offHeap.getUsedBytes() / customers;
+        }
+        return store;
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        memory.gc();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,95 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.activepassiveapi.config.CustomerWriteProperties;
+import org.example.activepassiveapi.model.Customer;
+import org.example.activepassiveapi.repository.CustomerRepository;
+import org.example.activepassiveapi.repository.CustomerStore;
+import org.example.activepassiveapi.repository.HeapCustomerStore;
+import org.example.activepassiveapi.repository.journal.CustomerSnapshots;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog;
+import org.example.activepassiveapi.repository.journal.CustomerWriteAheadLog.SyncMode;
+import org.example.activepassiveapi.repository.journal.DurableCustomerJournal;
+import org.example.activepassiveapi.service.CustomerWriteBatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Durable single customer writes through the active-passive-api write batcher, with and without batching, from 8
+ * writer threads into a write-ahead log which fsyncs every append. Throughput gives the writes per second, SampleTime
+ * the latency percentiles of the same runs, so the two settings compare at their p99.
+ *
+ * The log lives in the temporary directory, which has to be on a real disk for meaningful numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class CustomerWriteBatchingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean batching;
+
+    private Path directory;
+    private DurableCustomerJournal journal;
+    private CustomerWriteBatcher writeBatcher;
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private Customer customer;
+
+        @Setup
+        public void setUp() {
+            customer = Customer.create(UUID.randomUUID().toString(), "Customer Name", "customer@example.com", "+1-555-0000000");
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("customer-writes");
+        CustomerStore customerStore = new HeapCustomerStore();
+        journal = new DurableCustomerJournal(new CustomerWriteAheadLog(directory, 64 * 1024 * 1024, SyncMode.EVERY_WRITE),
+                new CustomerSnapshots(directory), customerStore);
+        journal.recover();
+        CustomerWriteProperties properties = new CustomerWriteProperties();
+        properties.setBatching(batching);
+        writeBatcher = new CustomerWriteBatcher(new CustomerRepository(customerStore, journal), properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writeBatcher.close();
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Customer save(Writer writer) {
+        return writeBatcher.save(writer.customer).block();
+    }
+}
@@ -0,0 +1,131 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import com.circuitbreaker.resilience4j.service.BackendService;
+import com.circuitbreaker.resilience4j.service.BoundedElasticBackendService;
+import com.circuitbreaker.resilience4j.service.ReactiveBackendService;
+import com.circuitbreaker.resilience4j.service.SlowBackend;
+import com.circuitbreaker.resilience4j.service.WestEuropeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event loop saturation of a blocking backend call. A Reactor Netty server with a single event loop serves
+ * {@code /success}, which calls a {@link BackendService} blocking for {@code backendLatencyMillis}, and {@code /ping},
+ * which does no work at all. 16 threads load {@code /success} while one thread measures {@code /ping}.
+ *
+ * With {@code EVENT_LOOP} the blocking call runs on the event loop, as the String endpoints of the controllers used
+ * to do, and every ping waits behind the backend calls. With {@code BOUNDED_ELASTIC} the call goes through
+ * {@link BoundedElasticBackendService} and the event loop stays free.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventLoopSaturationBenchmark {
+
+    public enum Dispatch { EVENT_LOOP, BOUNDED_ELASTIC }
+
+    @Param({"EVENT_LOOP", "BOUNDED_ELASTIC"})
+    private Dispatch dispatch;
+
+    @Param({"5"})
+    private long backendLatencyMillis;
+
+    private ScheduledExecutorService scheduler;
+    private LoopResources serverLoop;
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private HttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        BackendService backendService = new WestEuropeService(new SlowBackend(scheduler)) {
+            @Override
+            public String success() {
+                try {
+                    Thread.sleep(backendLatencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.success();
+            }
+        };
+        ReactiveBackendService reactiveBackendService =
+                new BoundedElasticBackendService(backendService, Schedulers.boundedElastic());
+        Mono<String> success = switch (dispatch) {
+            case EVENT_LOOP -> Mono.fromCallable(backendService::success);
+            case BOUNDED_ELASTIC -> reactiveBackendService.success();
+        };
+
+        serverLoop = LoopResources.create("saturation-server", 1, true);
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(serverLoop)
+                .route(routes -> routes
+                        .get("/success", (request, response) -> response.sendString(success))
+                        .get("/ping", (request, response) -> response.sendString(Mono.just("pong"))))
+                .bindNow();
+        connectionProvider = ConnectionProvider.create("saturation-client", 64);
+        client = HttpClient.create(connectionProvider)
+                .baseUrl("http://127.0.0.1:" + server.port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.disposeLater().block();
+        server.disposeNow();
+        serverLoop.disposeLater().block();
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    @Group("saturation")
+    @GroupThreads(16)
+    public String backend() {
+        return get("/success");
+    }
+
+    @Benchmark
+    @Group("saturation")
+    @GroupThreads(1)
+    public String ping() {
+        return get("/ping");
+    }
+
+    private String get(String uri) {
+        return client.get()
+                .uri(uri)
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block();
+    }
+}
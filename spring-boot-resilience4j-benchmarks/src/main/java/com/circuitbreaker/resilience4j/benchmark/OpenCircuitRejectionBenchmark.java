@@ -0,0 +1,134 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import com.circuitbreaker.resilience4j.bulkhead.AdaptiveBulkhead;
+import com.circuitbreaker.resilience4j.bulkhead.AimdLimit;
+import com.circuitbreaker.resilience4j.latency.StageTimers;
+import com.circuitbreaker.resilience4j.pipeline.ResiliencePipeline;
+import com.circuitbreaker.resilience4j.service.FallbackResponse;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.decorators.Decorators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Rejections per second while the circuit breaker is open and while the bulkhead is full, with and without writable
+ * stack traces in the configs. {@code decoratorsConcatenatingFallback} is the rejection as the {@code @CircuitBreaker}
+ * annotation runs it, with the fallbacks the services had before, which built their response from
+ * {@code ex.toString()}; {@code decoratorsFallback} answers the {@link FallbackResponse} instead. The {@code pipeline*}
+ * benchmarks reject before the decorator chain and, without stack traces, with one shared exception. Run with
+ * {@code -prof gc} to see the allocations per rejection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenCircuitRejectionBenchmark {
+
+    @Param({"true", "false"})
+    private boolean writableStackTrace;
+
+    private ResilienceFixture fixture;
+    private AdaptiveBulkhead fullBulkhead;
+    private Supplier<String> concatenatingFallback;
+    private Supplier<String> fallback;
+    private ResiliencePipeline pipeline;
+    private Supplier<CompletionStage<String>> pipelineFuture;
+    private final Function<Throwable, Mono<String>> monoFallback = ex -> FallbackResponse.of(ex).mono();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ResilienceFixture();
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(ResilienceFixture.WEST_EUROPE, CircuitBreakerConfig.custom()
+                .writableStackTraceEnabled(writableStackTrace)
+                .build());
+        circuitBreaker.transitionToForcedOpenState();
+        fullBulkhead = new AdaptiveBulkhead(ResilienceFixture.WEST_EUROPE, BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .writableStackTraceEnabled(writableStackTrace)
+                .build(), new AimdLimit(Duration.ofMillis(500), 0.9), 1, 1, Duration.ofSeconds(1), Map.of());
+        fullBulkhead.acquirePermission();
+
+        Supplier<String> success = () -> "Hello World from backend B";
+        concatenatingFallback = Decorators.ofSupplier(success)
+                .withCircuitBreaker(circuitBreaker)
+                .withFallback(List.of(CallNotPermittedException.class), ex -> "Recovered: " + ex.toString())
+                .decorate();
+        fallback = Decorators.ofSupplier(success)
+                .withCircuitBreaker(circuitBreaker)
+                .withFallback(List.of(CallNotPermittedException.class), ex -> FallbackResponse.of(ex).body())
+                .decorate();
+        pipeline = new ResiliencePipeline(ResilienceFixture.WEST_EUROPE,
+                circuitBreaker,
+                fixture.bulkhead(),
+                fixture.threadPoolBulkhead(),
+                fixture.retry(),
+                fixture.timeLimiter(),
+                fixture.scheduledExecutorService(),
+                new StageTimers(ResilienceFixture.WEST_EUROPE, Duration.ofMinutes(1), Duration.ofSeconds(10),
+                        Duration.ofMinutes(1)));
+        pipelineFuture = pipeline.decorateCompletionStage(() -> CompletableFuture.completedFuture(success.get()),
+                ex -> FallbackResponse.of(ex).body());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String decoratorsConcatenatingFallback() {
+        return concatenatingFallback.get();
+    }
+
+    @Benchmark
+    public String decoratorsFallback() {
+        return fallback.get();
+    }
+
+    @Benchmark
+    public String pipelineMonoFallback() {
+        return pipeline.apply(Mono.just("Hello World from backend B"), monoFallback).block();
+    }
+
+    @Benchmark
+    public String pipelineFutureFallback() {
+        return pipelineFuture.get().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public Object bulkheadFull() {
+        try {
+            fullBulkhead.acquirePermission();
+            return fullBulkhead;
+        } catch (BulkheadFullException e) {
+            return e;
+        }
+    }
+}
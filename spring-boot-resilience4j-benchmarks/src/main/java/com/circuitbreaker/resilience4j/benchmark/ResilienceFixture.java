@@ -0,0 +1,119 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import com.circuitbreaker.resilience4j.exception.BusinessException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resilience4j instances configured like the {@code default} configs in the application.yml of
+ * spring-boot-resilience4j, which is what the {@code backend-b} instances of the WestEuropeRestController resolve to.
+ */
+public class ResilienceFixture implements AutoCloseable {
+
+    public static final String WEST_EUROPE = "backend-b";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ThreadPoolBulkhead threadPoolBulkhead;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    public ResilienceFixture() {
+        this.circuitBreaker = CircuitBreaker.of(WEST_EUROPE, circuitBreakerConfig());
+        this.bulkhead = Bulkhead.of(WEST_EUROPE, BulkheadConfig.custom()
+                .maxConcurrentCalls(100)
+                .build());
+        this.threadPoolBulkhead = ThreadPoolBulkhead.of(WEST_EUROPE, ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(4)
+                .coreThreadPoolSize(2)
+                .queueCapacity(2)
+                .build());
+        this.retry = Retry.of(WEST_EUROPE, retryConfig());
+        this.timeLimiter = TimeLimiter.of(WEST_EUROPE, TimeLimiterConfig.custom()
+                .cancelRunningFuture(false)
+                .timeoutDuration(Duration.ofSeconds(2))
+                .build());
+        this.scheduledExecutorService = Executors.newScheduledThreadPool(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CircuitBreakerConfig circuitBreakerConfig() {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .waitDurationInOpenState(Duration.ofSeconds(5))
+                .failureRateThreshold(50)
+                .recordExceptions(HttpServerErrorException.class, TimeoutException.class, IOException.class)
+                .ignoreExceptions(BusinessException.class)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RetryConfig retryConfig() {
+        return RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofSeconds(100))
+                .retryExceptions(HttpServerErrorException.class, TimeoutException.class, IOException.class)
+                .ignoreExceptions(BusinessException.class)
+                .build();
+    }
+
+    /**
+     * Pins the circuit breaker in the given state. OPEN is forced, so the benchmark never drifts into HALF_OPEN.
+     */
+    public void transitionTo(CircuitBreaker.State state) {
+        switch (state) {
+            case CLOSED -> circuitBreaker.transitionToClosedState();
+            case OPEN -> circuitBreaker.transitionToForcedOpenState();
+            default -> throw new IllegalArgumentException("Unsupported circuit breaker state: " + state);
+        }
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    public ThreadPoolBulkhead threadPoolBulkhead() {
+        return threadPoolBulkhead;
+    }
+
+    public Retry retry() {
+        return retry;
+    }
+
+    public TimeLimiter timeLimiter() {
+        return timeLimiter;
+    }
+
+    public ScheduledExecutorService scheduledExecutorService() {
+        return scheduledExecutorService;
+    }
+
+    @Override
+    public void close() throws Exception {
+        threadPoolBulkhead.close();
+        scheduledExecutorService.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowSynchronizationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Threads recording outcomes into one count-based circuit breaker with the {@code shared} window of 100 calls, with the
+ * default synchronized sliding window and with the lock-free one. Every call does what the decorators do around a
+ * successful call: acquire a permission and record the outcome.
+ *
+ * The score is the average time per call and thread, so a flat score from 1 to 32 threads means no contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlidingWindowContentionBenchmark {
+
+    @Param({"SYNCHRONIZED", "LOCK_FREE"})
+    private SlidingWindowSynchronizationStrategy synchronizationStrategy;
+
+    private CircuitBreaker circuitBreaker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        circuitBreaker = CircuitBreaker.of("north-europe", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(100)
+                .slidingWindowSynchronizationStrategy(synchronizationStrategy)
+                .build());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads01() {
+        recordSuccess();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void threads08() {
+        recordSuccess();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void threads32() {
+        recordSuccess();
+    }
+
+    private void recordSuccess() {
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onSuccess(1_000, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,106 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import com.circuitbreaker.resilience4j.bulkhead.VirtualThreadBulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1k concurrent callers against a blocking backend, through the {@code north-europe} thread pool bulkhead
+ * (4 threads, queue of 2) and through a {@link VirtualThreadBulkhead}. One operation is one wave of callers;
+ * the {@code completed} and {@code rejected} counters are reported as calls per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadPoolBulkheadLoadBenchmark {
+
+    public enum BulkheadType { PLATFORM, VIRTUAL }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private BulkheadType bulkheadType;
+
+    @Param({"1000"})
+    private int concurrentCallers;
+
+    @Param({"10"})
+    private long backendLatencyMillis;
+
+    private ThreadPoolBulkhead bulkhead;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Calls {
+        public long completed;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed = 0;
+            rejected = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadPoolBulkheadConfig northEurope = ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(4)
+                .coreThreadPoolSize(2)
+                .queueCapacity(2)
+                .build();
+        bulkhead = switch (bulkheadType) {
+            case PLATFORM -> ThreadPoolBulkhead.of("north-europe", northEurope);
+            case VIRTUAL -> new VirtualThreadBulkhead("north-europe", northEurope, concurrentCallers, Map.of());
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        bulkhead.close();
+    }
+
+    @Benchmark
+    public void wave(Calls calls) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrentCallers];
+        int submitted = 0;
+        for (int i = 0; i < concurrentCallers; i++) {
+            try {
+                CompletionStage<String> call = bulkhead.executeCallable(this::blockingBackend);
+                futures[submitted++] = call.toCompletableFuture();
+            } catch (BulkheadFullException e) {
+                calls.rejected++;
+            }
+        }
+        for (int i = 0; i < submitted; i++) {
+            futures[i].join();
+            calls.completed++;
+        }
+    }
+
+    private String blockingBackend() throws InterruptedException {
+        Thread.sleep(backendLatencyMillis);
+        return "Hello World from backend A";
+    }
+}
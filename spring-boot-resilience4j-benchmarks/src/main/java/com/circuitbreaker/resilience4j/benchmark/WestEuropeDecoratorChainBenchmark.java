@@ -0,0 +1,165 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import com.circuitbreaker.resilience4j.service.BackendService;
+import com.circuitbreaker.resilience4j.service.SlowBackend;
+import com.circuitbreaker.resilience4j.service.WestEuropeService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Per-call overhead of the decorator chains WestEuropeRestController builds for every request.
+ * The chains below are kept identical to the controller so the numbers can be compared to the
+ * backend call alone ({@link #baseline()}). Run with {@code -prof gc} to get allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WestEuropeDecoratorChainBenchmark {
+
+    @Param({"CLOSED", "OPEN"})
+    private CircuitBreaker.State circuitState;
+
+    private BackendService westEuropeService;
+    private ResilienceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ResilienceFixture();
+        westEuropeService = new WestEuropeService(new SlowBackend(fixture.scheduledExecutorService()));
+        fixture.transitionTo(circuitState);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String baseline() {
+        return westEuropeService.success();
+    }
+
+    @Benchmark
+    public Object execute() {
+        try {
+            return execute(westEuropeService::success);
+        } catch (CallNotPermittedException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String executeWithFallbackMono() {
+        return executeWithFallback(westEuropeService.monoSuccess(), this::monoFallback).block();
+    }
+
+    @Benchmark
+    public String executeWithFallbackFlux() {
+        return executeWithFallback(westEuropeService.fluxSuccess(), this::fluxFallback).blockLast();
+    }
+
+    @Benchmark
+    public Object executeAsync() {
+        try {
+            return executeAsync(westEuropeService::success).join();
+        } catch (CompletionException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String executeAsyncWithFallback() {
+        return executeAsyncWithFallback(westEuropeService::success, this::fallback).join();
+    }
+
+    private <T> T execute(Supplier<T> supplier) {
+        return Decorators.ofSupplier(supplier)
+                .withCircuitBreaker(fixture.circuitBreaker())
+                .withBulkhead(fixture.bulkhead())
+                .withRetry(fixture.retry())
+                .get();
+    }
+
+    private <T> Mono<T> executeWithFallback(Mono<T> publisher, Function<Throwable, Mono<T>> fallback) {
+        return publisher
+                .transform(TimeLimiterOperator.of(fixture.timeLimiter()))
+                .transform(BulkheadOperator.of(fixture.bulkhead()))
+                .transform(CircuitBreakerOperator.of(fixture.circuitBreaker()))
+                .onErrorResume(TimeoutException.class, fallback)
+                .onErrorResume(CallNotPermittedException.class, fallback)
+                .onErrorResume(BulkheadFullException.class, fallback);
+    }
+
+    private <T> Flux<T> executeWithFallback(Flux<T> publisher, Function<Throwable, Flux<T>> fallback) {
+        return publisher
+                .transform(TimeLimiterOperator.of(fixture.timeLimiter()))
+                .transform(BulkheadOperator.of(fixture.bulkhead()))
+                .transform(CircuitBreakerOperator.of(fixture.circuitBreaker()))
+                .onErrorResume(TimeoutException.class, fallback)
+                .onErrorResume(CallNotPermittedException.class, fallback)
+                .onErrorResume(BulkheadFullException.class, fallback);
+    }
+
+    private <T> CompletableFuture<T> executeAsync(Supplier<T> supplier) {
+        return Decorators.ofSupplier(supplier)
+                .withThreadPoolBulkhead(fixture.threadPoolBulkhead())
+                .withTimeLimiter(fixture.timeLimiter(), fixture.scheduledExecutorService())
+                .withCircuitBreaker(fixture.circuitBreaker())
+                .withRetry(fixture.retry(), fixture.scheduledExecutorService())
+                .get().toCompletableFuture();
+    }
+
+    private <T> CompletableFuture<T> executeAsyncWithFallback(Supplier<T> supplier, Function<Throwable, T> fallback) {
+        return Decorators.ofSupplier(supplier)
+                .withThreadPoolBulkhead(fixture.threadPoolBulkhead())
+                .withTimeLimiter(fixture.timeLimiter(), fixture.scheduledExecutorService())
+                .withCircuitBreaker(fixture.circuitBreaker())
+                .withFallback(asList(TimeoutException.class, CallNotPermittedException.class, BulkheadFullException.class),
+                        fallback)
+                .get().toCompletableFuture();
+    }
+
+    private String fallback(Throwable ex) {
+        return "Recovered: " + ex.toString();
+    }
+
+    private Mono<String> monoFallback(Throwable ex) {
+        return Mono.just("Recovered: " + ex.toString());
+    }
+
+    private Flux<String> fluxFallback(Throwable ex) {
+        return Flux.just("Recovered: " + ex.toString());
+    }
+}
@@ -0,0 +1,128 @@
+package com.circuitbreaker.resilience4j.benchmark;
+
+import com.circuitbreaker.resilience4j.latency.StageTimers;
+import com.circuitbreaker.resilience4j.pipeline.ResiliencePipeline;
+import com.circuitbreaker.resilience4j.service.BackendService;
+import com.circuitbreaker.resilience4j.service.FallbackResponse;
+import com.circuitbreaker.resilience4j.service.SlowBackend;
+import com.circuitbreaker.resilience4j.service.WestEuropeService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Same operations as {@link WestEuropeDecoratorChainBenchmark}, but through a {@link ResiliencePipeline} whose chains
+ * are composed once in {@link #setUp()}. Compare both classes with {@code -prof gc} to see the allocations saved per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WestEuropePipelineBenchmark {
+
+    @Param({"CLOSED", "OPEN"})
+    private CircuitBreaker.State circuitState;
+
+    private BackendService westEuropeService;
+    private ResilienceFixture fixture;
+    private ResiliencePipeline pipeline;
+
+    private Supplier<String> success;
+    private Supplier<CompletionStage<String>> futureSuccess;
+    private Supplier<CompletionStage<String>> futureSuccessWithFallback;
+    private final Function<Throwable, Mono<String>> monoFallback = this::monoFallback;
+    private final Function<Throwable, Flux<String>> fluxFallback = this::fluxFallback;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ResilienceFixture();
+        westEuropeService = new WestEuropeService(new SlowBackend(fixture.scheduledExecutorService()));
+        fixture.transitionTo(circuitState);
+        pipeline = new ResiliencePipeline(ResilienceFixture.WEST_EUROPE,
+                fixture.circuitBreaker(),
+                fixture.bulkhead(),
+                fixture.threadPoolBulkhead(),
+                fixture.retry(),
+                fixture.timeLimiter(),
+                fixture.scheduledExecutorService(),
+                new StageTimers(ResilienceFixture.WEST_EUROPE, Duration.ofMinutes(1), Duration.ofSeconds(10),
+                        Duration.ofMinutes(1)));
+
+        success = pipeline.decorateSupplier(westEuropeService::success);
+        futureSuccess = pipeline.decorateAsync(westEuropeService::success);
+        futureSuccessWithFallback = pipeline.decorateAsync(westEuropeService::success, this::fallback);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Object execute() {
+        try {
+            return success.get();
+        } catch (CallNotPermittedException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String executeWithFallbackMono() {
+        return pipeline.apply(westEuropeService.monoSuccess(), monoFallback).block();
+    }
+
+    @Benchmark
+    public String executeWithFallbackFlux() {
+        return pipeline.apply(westEuropeService.fluxSuccess(), fluxFallback).blockLast();
+    }
+
+    @Benchmark
+    public Object executeAsync() {
+        try {
+            return futureSuccess.get().toCompletableFuture().join();
+        } catch (CompletionException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String executeAsyncWithFallback() {
+        return futureSuccessWithFallback.get().toCompletableFuture().join();
+    }
+
+    private String fallback(Throwable ex) {
+        return FallbackResponse.of(ex).body();
+    }
+
+    private Mono<String> monoFallback(Throwable ex) {
+        return FallbackResponse.of(ex).mono();
+    }
+
+    private Flux<String> fluxFallback(Throwable ex) {
+        return FallbackResponse.of(ex).flux();
+    }
+}
@@ -0,0 +1,262 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallFinishedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallPermittedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallRejectedEvent;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A semaphore {@link Bulkhead} whose concurrency limit is recomputed by a {@link LimitAlgorithm} once per sample
+ * window, between {@code minLimit} and {@code maxLimit}. A call is rejected with a {@link BulkheadFullException} when
+ * the limit is reached; there is no waiting, whatever the {@code maxWaitDuration} of the config. With writable stack
+ * traces disabled in the config, all rejections throw the same exception.
+ *
+ * The Bulkhead API does not tie a completion to its permission, so the average latency of a window is derived with
+ * Little's law: the time spent in flight by all calls, divided by the number of completed calls. That time is the
+ * integral of the number of calls in flight over the window; it is kept in one immutable {@link Window} together with
+ * that number, and both change in the same compare-and-set, so a window always sees them consistent. The window is
+ * evaluated by the first call completing after it has elapsed, so no extra thread is needed.
+ */
+public class AdaptiveBulkhead implements Bulkhead {
+
+    private final String name;
+    private final LimitAlgorithm limitAlgorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long sampleWindowNanos;
+    private final Map<String, String> tags;
+    private final LongSupplier nanoClock;
+    private final BulkheadMetrics metrics;
+    private final BulkheadEventProcessor eventProcessor;
+    private volatile BulkheadConfig config;
+    private volatile BulkheadFullException rejection;
+    private volatile int limit;
+
+    private final AtomicReference<Window> window;
+
+    public AdaptiveBulkhead(String name, BulkheadConfig config, LimitAlgorithm limitAlgorithm,
+                            int minLimit, int maxLimit, Duration sampleWindow, Map<String, String> tags) {
+        this(name, config, limitAlgorithm, minLimit, maxLimit, sampleWindow, tags, System::nanoTime);
+    }
+
+    AdaptiveBulkhead(String name, BulkheadConfig config, LimitAlgorithm limitAlgorithm,
+                     int minLimit, int maxLimit, Duration sampleWindow, Map<String, String> tags,
+                     LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("minLimit must be greater than 0 and not greater than maxLimit");
+        }
+        this.name = name;
+        this.config = config;
+        this.rejection = preallocateRejection();
+        this.limitAlgorithm = limitAlgorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.sampleWindowNanos = sampleWindow.toNanos();
+        this.tags = tags;
+        this.nanoClock = nanoClock;
+        this.limit = clamp(config.getMaxConcurrentCalls());
+        this.metrics = new BulkheadMetrics();
+        this.eventProcessor = new BulkheadEventProcessor();
+        this.window = new AtomicReference<>(Window.start(0, nanoClock.getAsLong()));
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        boolean permitted = tryEnter();
+        publishBulkheadEvent(() -> permitted
+                ? new BulkheadOnCallPermittedEvent(name)
+                : new BulkheadOnCallRejectedEvent(name));
+        return permitted;
+    }
+
+    private boolean tryEnter() {
+        while (true) {
+            Window current = window.get();
+            if (current.inFlight() >= limit) {
+                return false;
+            }
+            if (window.compareAndSet(current, current.enter(nanoClock.getAsLong()))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void acquirePermission() {
+        if (!tryAcquirePermission()) {
+            BulkheadFullException preallocated = rejection;
+            throw preallocated != null ? preallocated : BulkheadFullException.createBulkheadFullException(this);
+        }
+    }
+
+    private BulkheadFullException preallocateRejection() {
+        // without a stack trace, cause or suppressed exceptions, one exception says all that a new one would
+        return config.isWritableStackTraceEnabled() ? null : BulkheadFullException.createBulkheadFullException(this);
+    }
+
+    @Override
+    public void releasePermission() {
+        // a call released before it ran took next to no time, it still left the calls in flight
+        exit();
+    }
+
+    @Override
+    public void onComplete() {
+        exit();
+        publishBulkheadEvent(() -> new BulkheadOnCallFinishedEvent(name));
+    }
+
+    private void exit() {
+        while (true) {
+            Window current = window.get();
+            long now = nanoClock.getAsLong();
+            Window ended = current.exit(now);
+            boolean due = now - current.startNanos() >= sampleWindowNanos;
+            if (window.compareAndSet(current, due ? Window.start(ended.inFlight(), now) : ended)) {
+                if (due) {
+                    // only the thread which replaced the window gets here, once per window
+                    sample(ended);
+                }
+                return;
+            }
+        }
+    }
+
+    private void sample(Window ended) {
+        // without completions the calls still in flight give a lower bound of the latency
+        long calls = ended.completed() > 0 ? ended.completed() : ended.inFlight();
+        if (calls > 0) {
+            long latencyNanos = ended.inFlightNanos() / calls;
+            limit = clamp(limitAlgorithm.update(limit, latencyNanos, ended.peak()));
+        }
+    }
+
+    private int clamp(int newLimit) {
+        return Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Keeps the config for {@link #getBulkheadConfig()}; the limit stays adaptive.
+     */
+    @Override
+    public void changeConfig(BulkheadConfig newConfig) {
+        this.config = newConfig;
+        this.rejection = preallocateRejection();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public BulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    private void publishBulkheadEvent(Supplier<BulkheadEvent> eventSupplier) {
+        if (eventProcessor.hasConsumers()) {
+            eventProcessor.consumeEvent(eventSupplier.get());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveBulkhead '%s'", this.name);
+    }
+
+    private class BulkheadEventProcessor extends EventProcessor<BulkheadEvent> implements
+            EventPublisher, EventConsumer<BulkheadEvent> {
+
+        @Override
+        public EventPublisher onCallPermitted(EventConsumer<BulkheadOnCallPermittedEvent> onCallPermittedEventConsumer) {
+            registerConsumer(BulkheadOnCallPermittedEvent.class.getName(), onCallPermittedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onCallRejected(EventConsumer<BulkheadOnCallRejectedEvent> onCallRejectedEventConsumer) {
+            registerConsumer(BulkheadOnCallRejectedEvent.class.getName(), onCallRejectedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onCallFinished(EventConsumer<BulkheadOnCallFinishedEvent> onCallFinishedEventConsumer) {
+            registerConsumer(BulkheadOnCallFinishedEvent.class.getName(), onCallFinishedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(BulkheadEvent event) {
+            super.processEvent(event);
+        }
+    }
+
+    /**
+     * The maximum allowed concurrent calls are the current limit, so the Resilience4j bulkhead gauges show it moving.
+     */
+    private final class BulkheadMetrics implements Metrics {
+
+        @Override
+        public int getAvailableConcurrentCalls() {
+            return Math.max(0, limit - window.get().inFlight());
+        }
+
+        @Override
+        public int getMaxAllowedConcurrentCalls() {
+            return limit;
+        }
+    }
+
+    /**
+     * One sample window: the calls in flight, the most seen at once and the calls completed since {@code startNanos},
+     * and the time they spent in flight up to {@code changedNanos}, the last time a call entered or left.
+     */
+    private record Window(int inFlight, int peak, long completed, long startNanos, long changedNanos,
+                          long inFlightNanos) {
+
+        static Window start(int inFlight, long now) {
+            return new Window(inFlight, inFlight, 0, now, now, 0);
+        }
+
+        Window enter(long now) {
+            return new Window(inFlight + 1, Math.max(peak, inFlight + 1), completed, startNanos, now,
+                    inFlightNanos(now));
+        }
+
+        Window exit(long now) {
+            return new Window(inFlight - 1, peak, completed + 1, startNanos, now, inFlightNanos(now));
+        }
+
+        private long inFlightNanos(long now) {
+            // clocks read on other threads just before a winning CAS may lag behind by a little
+            return inFlightNanos + inFlight * Math.max(0, now - changedNanos);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Switches semaphore bulkhead instances to {@link AdaptiveBulkhead}, per instance name. The configured
+ * {@code max-concurrent-calls} of the bulkhead becomes the initial limit:
+ *
+ * <pre>
+ * resilience4j.adaptive-bulkhead:
+ *   instances:
+ *     north-europe:
+ *       enabled: true
+ *       algorithm: gradient
+ *       min-limit: 2
+ *       max-limit: 100
+ *       sample-window: 1s
+ * </pre>
+ *
+ * {@code latency-threshold} and {@code backoff-ratio} apply to {@code aimd}, {@code smoothing} to {@code gradient}.
+ */
+@ConfigurationProperties(prefix = AdaptiveBulkheadProperties.PREFIX)
+public class AdaptiveBulkheadProperties {
+
+    public static final String PREFIX = "resilience4j.adaptive-bulkhead";
+
+    private Map<String, InstanceProperties> instances = new HashMap<>();
+
+    public Map<String, InstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, InstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public enum Algorithm { AIMD, GRADIENT }
+
+    public static class InstanceProperties {
+
+        private boolean enabled = true;
+        private Algorithm algorithm = Algorithm.GRADIENT;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private Duration sampleWindow = Duration.ofSeconds(1);
+        private Duration latencyThreshold = Duration.ofMillis(100);
+        private double backoffRatio = 0.9;
+        private double smoothing = 0.2;
+
+        public LimitAlgorithm createLimitAlgorithm() {
+            return switch (algorithm) {
+                case AIMD -> new AimdLimit(latencyThreshold, backoffRatio);
+                case GRADIENT -> new GradientLimit(smoothing);
+            };
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getSampleWindow() {
+            return sampleWindow;
+        }
+
+        public void setSampleWindow(Duration sampleWindow) {
+            this.sampleWindow = sampleWindow;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the semaphore bulkheads enabled in {@link AdaptiveBulkheadProperties} with an {@link AdaptiveBulkhead}
+ * as soon as the {@link BulkheadRegistry} is created, so that {@code @Bulkhead} picks it up without any change to
+ * the annotated service.
+ */
+@Component
+public class AdaptiveBulkheadRegistrar implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveBulkheadRegistrar.class);
+
+    private AdaptiveBulkheadProperties properties = new AdaptiveBulkheadProperties();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.properties = Binder.get(environment)
+                .bind(AdaptiveBulkheadProperties.PREFIX, AdaptiveBulkheadProperties.class)
+                .orElseGet(AdaptiveBulkheadProperties::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof BulkheadRegistry registry) {
+            properties.getInstances().forEach((name, instance) -> {
+                if (instance.isEnabled()) {
+                    register(registry, name, instance);
+                }
+            });
+        }
+        return bean;
+    }
+
+    private void register(BulkheadRegistry registry, String name, AdaptiveBulkheadProperties.InstanceProperties instance) {
+        // the registry has no "add", so the configured bulkhead is created first and then replaced
+        Bulkhead bulkhead = registry.bulkhead(name);
+        AdaptiveBulkhead adaptiveBulkhead = new AdaptiveBulkhead(name, bulkhead.getBulkheadConfig(),
+                instance.createLimitAlgorithm(), instance.getMinLimit(), instance.getMaxLimit(),
+                instance.getSampleWindow(), bulkhead.getTags());
+        registry.replace(name, adaptiveBulkhead);
+        LOG.info("Bulkhead '{}' adapts its limit with {} between {} and {}, starting at {}", name,
+                instance.getAlgorithm(), instance.getMinLimit(), instance.getMaxLimit(),
+                adaptiveBulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+    }
+}
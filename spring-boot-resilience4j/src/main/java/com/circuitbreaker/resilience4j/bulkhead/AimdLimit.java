@@ -0,0 +1,32 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import java.time.Duration;
+
+/**
+ * Additive increase, multiplicative decrease: the limit shrinks by {@code backoffRatio} as soon as the average latency
+ * exceeds the threshold, and grows by one when the window was limited by the bulkhead rather than by the callers.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    public AimdLimit(Duration latencyThreshold, double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public int update(int limit, long latencyNanos, int maxInFlight) {
+        if (latencyNanos > latencyThresholdNanos) {
+            return (int) (limit * backoffRatio);
+        }
+        if (maxInFlight >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+}
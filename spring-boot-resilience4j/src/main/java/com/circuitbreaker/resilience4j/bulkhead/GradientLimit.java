@@ -0,0 +1,47 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+/**
+ * A Vegas-style gradient limit. The ratio between the lowest latency seen (the latency without queueing) and the
+ * current latency scales the limit down when calls start to queue in the backend, while a headroom of
+ * {@code sqrt(limit)} lets it grow while the latency stays flat. The new limit is smoothed with the previous one.
+ *
+ * The lowest latency rises by 1/64 per window, and by at least a nanosecond, unless it is seen again, so the baseline
+ * follows a backend that has become permanently slower instead of shrinking the limit forever.
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final double smoothing;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private double estimate = -1;
+
+    public GradientLimit(double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be greater than 0 and at most 1");
+        }
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public int update(int limit, long latencyNanos, int maxInFlight) {
+        long latency = Math.max(1, latencyNanos);
+        minLatencyNanos = minLatencyNanos == Long.MAX_VALUE
+                ? latency
+                : Math.min(latency, minLatencyNanos + Math.max(1, minLatencyNanos >> 6));
+
+        if (estimate < 0 || Math.abs(estimate - limit) >= 1) {
+            // first window, or the limit has been clamped by the bulkhead
+            estimate = limit;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, (double) minLatencyNanos / latency));
+        double newLimit = estimate * gradient + Math.sqrt(estimate);
+        if (maxInFlight < limit / 2) {
+            // the callers did not need the limit, a higher one would not be backed by any measurement
+            newLimit = Math.min(newLimit, estimate);
+        }
+        // the fraction is kept, otherwise smoothing would swallow every change of less than one call
+        estimate = estimate * (1 - smoothing) + newLimit * smoothing;
+        return (int) estimate;
+    }
+}
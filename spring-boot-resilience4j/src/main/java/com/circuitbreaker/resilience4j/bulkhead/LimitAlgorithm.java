@@ -0,0 +1,16 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+/**
+ * Computes the next concurrency limit of an {@link AdaptiveBulkhead} from one sample window. Implementations are
+ * called by one thread at a time and may keep state between windows.
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * @param limit          the current limit
+     * @param latencyNanos   the average latency of the calls in the window
+     * @param maxInFlight    the highest number of concurrent calls seen in the window
+     * @return the new limit, before it is clamped to the configured bounds
+     */
+    int update(int limit, long latencyNanos, int maxInFlight);
+}
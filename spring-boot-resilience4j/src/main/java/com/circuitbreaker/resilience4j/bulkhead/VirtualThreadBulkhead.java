@@ -0,0 +1,240 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallFinishedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallPermittedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallRejectedEvent;
+import io.github.resilience4j.core.ContextPropagator;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ThreadPoolBulkhead} which runs every call on its own virtual thread. Concurrency is limited by a number
+ * of permits instead of a fixed number of platform threads, so a blocking backend only parks virtual threads.
+ * A call is rejected with a {@link BulkheadFullException} when no permit is free; there is no queue. With writable
+ * stack traces disabled in the config, all rejections throw the same exception.
+ */
+public class VirtualThreadBulkhead implements ThreadPoolBulkhead {
+
+    private final String name;
+    private final ThreadPoolBulkheadConfig config;
+    private final Map<String, String> tags;
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final ExecutorService executorService;
+    private final BulkheadMetrics metrics;
+    private final BulkheadEventProcessor eventProcessor;
+    private final BulkheadFullException rejection;
+
+    public VirtualThreadBulkhead(String name, ThreadPoolBulkheadConfig config, int maxConcurrentCalls,
+                                 Map<String, String> tags) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be greater than 0");
+        }
+        this.name = name;
+        this.config = config;
+        this.tags = tags;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.executorService = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("bulkhead-" + name + "-", 1).factory());
+        this.metrics = new BulkheadMetrics();
+        this.eventProcessor = new BulkheadEventProcessor();
+        // without a stack trace, cause or suppressed exceptions, one exception says all that a new one would
+        this.rejection = config.isWritableStackTraceEnabled()
+                ? null
+                : BulkheadFullException.createBulkheadFullException(this);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> callable) {
+        acquirePermission();
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        Supplier<T> task = ContextPropagator.decorateSupplier(config.getContextPropagator(), () -> {
+            try {
+                return callable.call();
+            } catch (CompletionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        execute(() -> promise.complete(task.get()), promise);
+        return promise;
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(Runnable runnable) {
+        acquirePermission();
+        CompletableFuture<Void> promise = new CompletableFuture<>();
+        Runnable task = ContextPropagator.decorateRunnable(config.getContextPropagator(), runnable);
+        execute(() -> {
+            task.run();
+            promise.complete(null);
+        }, promise);
+        return promise;
+    }
+
+    private void acquirePermission() {
+        if (!permits.tryAcquire()) {
+            publishBulkheadEvent(() -> new BulkheadOnCallRejectedEvent(name));
+            throw rejection();
+        }
+    }
+
+    private BulkheadFullException rejection() {
+        return rejection != null ? rejection : BulkheadFullException.createBulkheadFullException(this);
+    }
+
+    private void execute(Runnable task, CompletableFuture<?> promise) {
+        try {
+            executorService.execute(() -> {
+                publishBulkheadEvent(() -> new BulkheadOnCallPermittedEvent(name));
+                try {
+                    task.run();
+                } catch (CompletionException e) {
+                    promise.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+                } catch (Throwable e) {
+                    promise.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                    publishBulkheadEvent(() -> new BulkheadOnCallFinishedEvent(name));
+                }
+            });
+        } catch (RuntimeException e) {
+            // the executor has been shut down
+            permits.release();
+            publishBulkheadEvent(() -> new BulkheadOnCallRejectedEvent(name));
+            throw rejection();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ThreadPoolBulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public ThreadPoolBulkheadEventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    private void publishBulkheadEvent(Supplier<BulkheadEvent> eventSupplier) {
+        if (eventProcessor.hasConsumers()) {
+            eventProcessor.consumeEvent(eventSupplier.get());
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VirtualThreadBulkhead '%s'", this.name);
+    }
+
+    private class BulkheadEventProcessor extends EventProcessor<BulkheadEvent> implements
+            ThreadPoolBulkheadEventPublisher, EventConsumer<BulkheadEvent> {
+
+        @Override
+        public ThreadPoolBulkheadEventPublisher onCallPermitted(
+                EventConsumer<BulkheadOnCallPermittedEvent> onCallPermittedEventConsumer) {
+            registerConsumer(BulkheadOnCallPermittedEvent.class.getName(), onCallPermittedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public ThreadPoolBulkheadEventPublisher onCallRejected(
+                EventConsumer<BulkheadOnCallRejectedEvent> onCallRejectedEventConsumer) {
+            registerConsumer(BulkheadOnCallRejectedEvent.class.getName(), onCallRejectedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public ThreadPoolBulkheadEventPublisher onCallFinished(
+                EventConsumer<BulkheadOnCallFinishedEvent> onCallFinishedEventConsumer) {
+            registerConsumer(BulkheadOnCallFinishedEvent.class.getName(), onCallFinishedEventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(BulkheadEvent event) {
+            super.processEvent(event);
+        }
+    }
+
+    /**
+     * Maps the permits onto the thread pool metrics: the "pool" is the number of permits and there is no queue.
+     */
+    private final class BulkheadMetrics implements Metrics {
+
+        @Override
+        public int getCoreThreadPoolSize() {
+            return maxConcurrentCalls;
+        }
+
+        @Override
+        public int getThreadPoolSize() {
+            return getActiveThreadCount();
+        }
+
+        @Override
+        public int getMaximumThreadPoolSize() {
+            return maxConcurrentCalls;
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return 0;
+        }
+
+        @Override
+        public int getRemainingQueueCapacity() {
+            return 0;
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return 0;
+        }
+
+        @Override
+        public int getActiveThreadCount() {
+            return maxConcurrentCalls - permits.availablePermits();
+        }
+
+        @Override
+        public int getAvailableThreadCount() {
+            return permits.availablePermits();
+        }
+    }
+}
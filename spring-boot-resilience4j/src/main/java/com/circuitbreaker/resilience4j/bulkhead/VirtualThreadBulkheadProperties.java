@@ -0,0 +1,55 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Switches thread pool bulkhead instances to {@link VirtualThreadBulkhead}, per instance name:
+ *
+ * <pre>
+ * resilience4j.virtual-thread-bulkhead:
+ *   instances:
+ *     north-europe:
+ *       enabled: true
+ *       max-concurrent-calls: 200
+ * </pre>
+ */
+@ConfigurationProperties(prefix = VirtualThreadBulkheadProperties.PREFIX)
+public class VirtualThreadBulkheadProperties {
+
+    public static final String PREFIX = "resilience4j.virtual-thread-bulkhead";
+
+    private Map<String, InstanceProperties> instances = new HashMap<>();
+
+    public Map<String, InstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, InstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public static class InstanceProperties {
+
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+}
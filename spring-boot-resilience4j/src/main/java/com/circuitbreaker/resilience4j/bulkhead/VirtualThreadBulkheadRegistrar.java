@@ -0,0 +1,57 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the thread pool bulkheads enabled in {@link VirtualThreadBulkheadProperties} with a
+ * {@link VirtualThreadBulkhead} as soon as the {@link ThreadPoolBulkheadRegistry} is created, so that both
+ * {@code @Bulkhead(type = THREADPOOL)} and code reading the registry get the virtual thread variant.
+ */
+@Component
+public class VirtualThreadBulkheadRegistrar implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadBulkheadRegistrar.class);
+
+    private VirtualThreadBulkheadProperties properties = new VirtualThreadBulkheadProperties();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.properties = Binder.get(environment)
+                .bind(VirtualThreadBulkheadProperties.PREFIX, VirtualThreadBulkheadProperties.class)
+                .orElseGet(VirtualThreadBulkheadProperties::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ThreadPoolBulkheadRegistry registry) {
+            properties.getInstances().forEach((name, instance) -> {
+                if (instance.isEnabled()) {
+                    register(registry, name, instance.getMaxConcurrentCalls());
+                }
+            });
+        }
+        return bean;
+    }
+
+    private void register(ThreadPoolBulkheadRegistry registry, String name, int maxConcurrentCalls) {
+        // the registry has no "add", so the configured bulkhead is created first and then replaced
+        ThreadPoolBulkhead threadPoolBulkhead = registry.bulkhead(name);
+        VirtualThreadBulkhead virtualThreadBulkhead = new VirtualThreadBulkhead(name,
+                threadPoolBulkhead.getBulkheadConfig(), maxConcurrentCalls, threadPoolBulkhead.getTags());
+        registry.replace(name, virtualThreadBulkhead);
+        try {
+            threadPoolBulkhead.close();
+        } catch (Exception e) {
+            LOG.warn("Could not close replaced thread pool bulkhead '{}'", name, e);
+        }
+        LOG.info("Thread pool bulkhead '{}' runs on virtual threads with {} permits", name, maxConcurrentCalls);
+    }
+}
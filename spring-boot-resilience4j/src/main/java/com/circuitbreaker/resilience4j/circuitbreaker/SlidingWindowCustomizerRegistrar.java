@@ -0,0 +1,40 @@
+package com.circuitbreaker.resilience4j.circuitbreaker;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowSynchronizationStrategy;
+import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers one {@link CircuitBreakerConfigCustomizer} per entry of {@link SlidingWindowProperties}. Resilience4j
+ * applies a customizer to the config or instance of the same name while it builds the circuit breaker registry, and
+ * an instance inherits the strategy of its base config.
+ */
+@Component
+public class SlidingWindowCustomizerRegistrar implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+    private SlidingWindowProperties properties = new SlidingWindowProperties();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.properties = Binder.get(environment)
+                .bind(SlidingWindowProperties.PREFIX, SlidingWindowProperties.class)
+                .orElseGet(SlidingWindowProperties::new);
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        properties.getConfigs().forEach((name, config) -> {
+            SlidingWindowSynchronizationStrategy strategy = config.getSynchronizationStrategy();
+            registry.registerBeanDefinition("slidingWindowCustomizer-" + name, BeanDefinitionBuilder
+                    .genericBeanDefinition(CircuitBreakerConfigCustomizer.class, () -> CircuitBreakerConfigCustomizer
+                            .of(name, builder -> builder.slidingWindowSynchronizationStrategy(strategy)))
+                    .getBeanDefinition());
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.circuitbreaker.resilience4j.circuitbreaker;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowSynchronizationStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Selects how the sliding window of a circuit breaker config or instance is synchronized. The keys are matched like
+ * the names of {@code resilience4j.circuitbreaker.configs} and {@code resilience4j.circuitbreaker.instances}:
+ *
+ * <pre>
+ * resilience4j.sliding-window:
+ *   configs:
+ *     shared:
+ *       synchronization-strategy: lock-free
+ * </pre>
+ *
+ * {@code synchronized} is the Resilience4j default, which takes a lock per recorded call. {@code lock-free} records
+ * with compare-and-swap only, so threads recording into a hot breaker no longer queue on its monitor.
+ */
+@ConfigurationProperties(prefix = SlidingWindowProperties.PREFIX)
+public class SlidingWindowProperties {
+
+    public static final String PREFIX = "resilience4j.sliding-window";
+
+    private Map<String, ConfigProperties> configs = new HashMap<>();
+
+    public Map<String, ConfigProperties> getConfigs() {
+        return configs;
+    }
+
+    public void setConfigs(Map<String, ConfigProperties> configs) {
+        this.configs = configs;
+    }
+
+    public static class ConfigProperties {
+
+        private SlidingWindowSynchronizationStrategy synchronizationStrategy = SlidingWindowSynchronizationStrategy.SYNCHRONIZED;
+
+        public SlidingWindowSynchronizationStrategy getSynchronizationStrategy() {
+            return synchronizationStrategy;
+        }
+
+        public void setSynchronizationStrategy(SlidingWindowSynchronizationStrategy synchronizationStrategy) {
+            this.synchronizationStrategy = synchronizationStrategy;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.circuitbreaker.resilience4j.cluster;
+
+import com.circuitbreaker.resilience4j.ratelimiter.KeyedRateLimiterRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The gossip node of this instance and the sync of its registries with the cluster, with resilience4j.cluster.enabled.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ClusterProperties.class)
+@ConditionalOnProperty(prefix = ClusterProperties.PREFIX, name = "enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public GossipNode gossipNode(ClusterProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException(ClusterProperties.PREFIX + ".secret is required to authenticate the gossip");
+        }
+        GossipNode gossipNode = new GossipNode(properties.getNodeId(),
+                new InetSocketAddress(properties.getBindAddress(), properties.getPort()),
+                properties.getGossipInterval(), properties.getMemberTimeout(), properties.getOpeningTimeout(),
+                properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        for (String seed : properties.getSeeds()) {
+            int colon = seed.lastIndexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Cluster seed " + seed + " is not host:port");
+            }
+            gossipNode.addSeed(new InetSocketAddress(seed.substring(0, colon).trim(), Integer.parseInt(seed.substring(colon + 1).trim())));
+        }
+        gossipNode.start();
+        return gossipNode;
+    }
+
+    @Bean
+    public ClusterResilienceSync clusterResilienceSync(GossipNode gossipNode,
+                                                       CircuitBreakerRegistry circuitBreakerRegistry,
+                                                       RateLimiterRegistry rateLimiterRegistry,
+                                                       ObjectProvider<KeyedRateLimiterRegistry> keyedRateLimiterRegistry,
+                                                       MeterRegistry meterRegistry) {
+        return new ClusterResilienceSync(gossipNode, circuitBreakerRegistry, rateLimiterRegistry,
+                keyedRateLimiterRegistry.getIfAvailable(), meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.circuitbreaker.resilience4j.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sharing of rate limits and circuit-open signals between the instances of the application:
+ *
+ * <pre>
+ * resilience4j.cluster:
+ *   enabled: true
+ *   bind-address: 127.0.0.1
+ *   port: 7601
+ *   seeds: 127.0.0.1:7602, 127.0.0.1:7603
+ *   gossip-interval: 200ms
+ *   member-timeout: 2s
+ *   opening-timeout: 1m
+ *   secret: ${CLUSTER_SECRET}
+ * </pre>
+ *
+ * Several instances on one machine need a port each, and list the ports of the others as seeds. The secret is shared
+ * by all instances and authenticates their datagrams, it is required. The opening-timeout should be longer than the
+ * longest wait duration in the open state, an instance joining later than that after an opening does not apply it.
+ */
+@ConfigurationProperties(prefix = ClusterProperties.PREFIX)
+public class ClusterProperties {
+
+    public static final String PREFIX = "resilience4j.cluster";
+
+    private boolean enabled = false;
+    private String nodeId = UUID.randomUUID().toString();
+    private String bindAddress = "127.0.0.1";
+    private int port = 7601;
+    private List<String> seeds = new ArrayList<>();
+    private Duration gossipInterval = Duration.ofMillis(200);
+    private Duration memberTimeout = Duration.ofSeconds(2);
+    private Duration openingTimeout = Duration.ofMinutes(1);
+    private String secret;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    public void setBindAddress(String bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public List<String> getSeeds() {
+        return seeds;
+    }
+
+    public void setSeeds(List<String> seeds) {
+        this.seeds = seeds;
+    }
+
+    public Duration getGossipInterval() {
+        return gossipInterval;
+    }
+
+    public void setGossipInterval(Duration gossipInterval) {
+        this.gossipInterval = gossipInterval;
+    }
+
+    public Duration getMemberTimeout() {
+        return memberTimeout;
+    }
+
+    public void setMemberTimeout(Duration memberTimeout) {
+        this.memberTimeout = memberTimeout;
+    }
+
+    public Duration getOpeningTimeout() {
+        return openingTimeout;
+    }
+
+    public void setOpeningTimeout(Duration openingTimeout) {
+        this.openingTimeout = openingTimeout;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+}
@@ -0,0 +1,153 @@
+package com.circuitbreaker.resilience4j.cluster;
+
+import com.circuitbreaker.resilience4j.ratelimiter.KeyedRateLimiter;
+import com.circuitbreaker.resilience4j.ratelimiter.KeyedRateLimiterRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.IllegalStateTransitionException;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies the cluster state of the {@link GossipNode} to the registries of this instance:
+ *
+ * <ul>
+ *     <li>every rate limiter gets its configured limit divided by the live members, so the cluster as a whole stays
+ *     within the configured limit; the limits follow members joining and leaving within a gossip interval</li>
+ *     <li>a circuit breaker opening on this instance is gossiped, and a circuit breaker opened on another instance is
+ *     opened here as well, unless its wait duration in the open state has already passed. Openings applied from the
+ *     cluster are not gossiped again.</li>
+ * </ul>
+ *
+ * Nothing of it is on the request path. The opening times are wall clock times, so the clocks of the instances
+ * should be within a small fraction of the wait duration of each other.
+ */
+public class ClusterResilienceSync {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterResilienceSync.class);
+    private static final ThreadLocal<Boolean> APPLYING_CLUSTER_STATE = ThreadLocal.withInitial(() -> false);
+
+    private final GossipNode gossipNode;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final KeyedRateLimiterRegistry keyedRateLimiterRegistry;
+    private final Map<String, Integer> configuredLimits = new ConcurrentHashMap<>();
+    private final LongAdder localOpenings = new LongAdder();
+    private final LongAdder clusterOpenings = new LongAdder();
+
+    public ClusterResilienceSync(GossipNode gossipNode, CircuitBreakerRegistry circuitBreakerRegistry,
+                                 RateLimiterRegistry rateLimiterRegistry, KeyedRateLimiterRegistry keyedRateLimiterRegistry,
+                                 MeterRegistry meterRegistry) {
+        this.gossipNode = gossipNode;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.keyedRateLimiterRegistry = keyedRateLimiterRegistry;
+
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::watch);
+        circuitBreakerRegistry.getEventPublisher().onEntryAdded(event -> watch(event.getAddedEntry()));
+        gossipNode.onCircuitOpened(this::applyOpening);
+        gossipNode.onGossip(this::rebalanceRateLimits);
+
+        Gauge.builder("resilience.cluster.members", gossipNode, GossipNode::getNumberOfMembers)
+                .description("Live instances of the cluster, this one included")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.cluster.messages", gossipNode, GossipNode::getNumberOfSentMessages)
+                .description("Gossip datagrams")
+                .tag("direction", "sent")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.cluster.messages", gossipNode, GossipNode::getNumberOfReceivedMessages)
+                .description("Gossip datagrams")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.cluster.messages", gossipNode, GossipNode::getNumberOfRejectedMessages)
+                .description("Gossip datagrams")
+                .tag("direction", "rejected")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.cluster.circuit.openings", localOpenings, LongAdder::sum)
+                .description("Circuit breaker openings shared with the cluster, by where they happened")
+                .tag("origin", "local")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.cluster.circuit.openings", clusterOpenings, LongAdder::sum)
+                .description("Circuit breaker openings shared with the cluster, by where they happened")
+                .tag("origin", "cluster")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Also applies an opening the cluster knows from before the circuit breaker was created here.
+     */
+    private void watch(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN && !APPLYING_CLUSTER_STATE.get()) {
+                localOpenings.increment();
+                gossipNode.publishCircuitOpened(circuitBreaker.getName(), System.currentTimeMillis());
+            }
+        });
+        Long openedAt = gossipNode.getCircuitOpenedAt(circuitBreaker.getName());
+        if (openedAt != null) {
+            applyOpening(circuitBreaker.getName(), openedAt);
+        }
+    }
+
+    private void applyOpening(String name, long openedAtMillis) {
+        circuitBreakerRegistry.find(name).ifPresent(circuitBreaker -> {
+            CircuitBreaker.State state = circuitBreaker.getState();
+            if (state != CircuitBreaker.State.CLOSED && state != CircuitBreaker.State.HALF_OPEN) {
+                return;
+            }
+            long waitMillis = circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+            if (System.currentTimeMillis() - openedAtMillis >= waitMillis) {
+                return;
+            }
+            APPLYING_CLUSTER_STATE.set(true);
+            try {
+                circuitBreaker.transitionToOpenState();
+                clusterOpenings.increment();
+                log.info("cluster-circuit-opened: {} opened at {} on another instance", name, openedAtMillis);
+            } catch (IllegalStateTransitionException e) {
+                // changed state meanwhile
+            } finally {
+                APPLYING_CLUSTER_STATE.remove();
+            }
+        });
+    }
+
+    /**
+     * Runs after every gossip round; a limit is only changed when the number of members changed.
+     */
+    void rebalanceRateLimits() {
+        int members = gossipNode.getNumberOfMembers();
+        for (RateLimiter rateLimiter : rateLimiterRegistry.getAllRateLimiters()) {
+            int configured = configuredLimits.computeIfAbsent(rateLimiter.getName(),
+                    name -> rateLimiter.getRateLimiterConfig().getLimitForPeriod());
+            int share = share(configured, members);
+            if (rateLimiter.getRateLimiterConfig().getLimitForPeriod() != share) {
+                rateLimiter.changeLimitForPeriod(share);
+            }
+        }
+        if (keyedRateLimiterRegistry != null) {
+            for (KeyedRateLimiter rateLimiter : keyedRateLimiterRegistry.getAllRateLimiters()) {
+                int share = share(rateLimiter.getConfig().getLimitForPeriod(), members);
+                if (rateLimiter.getLimitForPeriod() != share) {
+                    rateLimiter.changeLimitForPeriod(share);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rounded up, so that no instance ends up without permits.
+     */
+    private static int share(int limit, int members) {
+        return Math.max(1, (limit + members - 1) / members);
+    }
+}
@@ -0,0 +1,320 @@
+package com.circuitbreaker.resilience4j.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * One instance of the cluster, exchanging its whole state with the others over UDP every gossip interval: one
+ * datagram per member and interval, however many requests the instance serves. The state is the time each circuit
+ * breaker was last opened anywhere in the cluster; merging keeps the latest time per circuit breaker, so lost or
+ * reordered datagrams only delay the exchange. A member is live while its datagrams arrive within the member timeout.
+ * An opening is forgotten once it is older than the opening timeout, and not learned again from the others.
+ *
+ * Every datagram also lists the live members of its sender, so an instance only needs one of the others as seed to
+ * find all of them.
+ *
+ * Every datagram ends with an HMAC-SHA256 of its content under the secret shared by the cluster. Datagrams without a
+ * valid one are dropped before anything in them is applied, so only holders of the secret can open circuit breakers or
+ * join the cluster. A replayed datagram carries only state at least as old as the current one, which merging ignores.
+ */
+public class GossipNode implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(GossipNode.class);
+    private static final int MAGIC = 0x52344a47;
+    private static final int MAX_DATAGRAM_SIZE = 65_000;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    private final String nodeId;
+    private final InetSocketAddress bindAddress;
+    private final Duration gossipInterval;
+    private final long memberTimeoutNanos;
+    private final long openingTimeoutMillis;
+    private final SecretKeySpec secret;
+    private final Set<InetSocketAddress> seeds = ConcurrentHashMap.newKeySet();
+    private final Map<String, Member> members = new ConcurrentHashMap<>();
+    // addresses of members announced by other members, with when they were last announced
+    private final Map<InetSocketAddress, Long> announced = new ConcurrentHashMap<>();
+    private final Map<String, Long> circuitOpenedAt = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Long>> circuitOpenedListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> gossipListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private DatagramChannel channel;
+    private ScheduledExecutorService scheduler;
+    private Thread receiver;
+
+    public GossipNode(String nodeId, InetSocketAddress bindAddress, Duration gossipInterval, Duration memberTimeout,
+                      Duration openingTimeout, byte[] secret) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("The cluster gossip needs a shared secret");
+        }
+        this.nodeId = nodeId;
+        this.bindAddress = bindAddress;
+        this.gossipInterval = gossipInterval;
+        this.memberTimeoutNanos = memberTimeout.toNanos();
+        this.openingTimeoutMillis = openingTimeout.toMillis();
+        this.secret = new SecretKeySpec(secret, MAC_ALGORITHM);
+    }
+
+    public synchronized void start() {
+        try {
+            channel = DatagramChannel.open().bind(bindAddress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not bind the cluster gossip to " + bindAddress, e);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cluster-gossip").daemon().factory());
+        scheduler.scheduleAtFixedRate(this::gossip, 0, gossipInterval.toNanos(), TimeUnit.NANOSECONDS);
+        receiver = Thread.ofPlatform().name("cluster-gossip-receiver").daemon().start(this::receiveLoop);
+        log.info("cluster-gossip: node {} on {}, seeds {}", nodeId, getLocalAddress(), seeds);
+    }
+
+    public void addSeed(InetSocketAddress seed) {
+        seeds.add(seed);
+    }
+
+    /**
+     * Merges a circuit breaker opening of this instance into the state and gossips it right away.
+     */
+    public void publishCircuitOpened(String name, long openedAtMillis) {
+        if (merge(name, openedAtMillis) && scheduler != null) {
+            scheduler.execute(this::gossip);
+        }
+    }
+
+    /**
+     * Called with the circuit breaker name and opening time for every opening learned from another instance.
+     */
+    public void onCircuitOpened(BiConsumer<String, Long> listener) {
+        circuitOpenedListeners.add(listener);
+    }
+
+    /**
+     * Called after every gossip round, on the gossip thread.
+     */
+    public void onGossip(Runnable listener) {
+        gossipListeners.add(listener);
+    }
+
+    public Long getCircuitOpenedAt(String name) {
+        return circuitOpenedAt.get(name);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public synchronized InetSocketAddress getLocalAddress() {
+        try {
+            return channel == null ? bindAddress : (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The live members including this instance.
+     */
+    public int getNumberOfMembers() {
+        long now = System.nanoTime();
+        int live = 1;
+        for (Member member : members.values()) {
+            if (now - member.lastSeenNanos() < memberTimeoutNanos) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    public long getNumberOfSentMessages() {
+        return sent.sum();
+    }
+
+    public long getNumberOfReceivedMessages() {
+        return received.sum();
+    }
+
+    /**
+     * Received datagrams dropped for a missing or invalid HMAC.
+     */
+    public long getNumberOfRejectedMessages() {
+        return rejected.sum();
+    }
+
+    private boolean merge(String name, long openedAtMillis) {
+        if (System.currentTimeMillis() - openedAtMillis >= openingTimeoutMillis) {
+            return false;
+        }
+        boolean[] raised = new boolean[1];
+        circuitOpenedAt.compute(name, (key, known) -> {
+            raised[0] = known == null || openedAtMillis > known;
+            return raised[0] ? openedAtMillis : known;
+        });
+        return raised[0];
+    }
+
+    private void gossip() {
+        try {
+            ByteBuffer message = ByteBuffer.wrap(encode());
+            Set<SocketAddress> targets = new HashSet<>(seeds);
+            targets.addAll(liveMemberAddresses());
+            long now = System.nanoTime();
+            announced.entrySet().removeIf(entry -> now - entry.getValue() >= memberTimeoutNanos);
+            long nowMillis = System.currentTimeMillis();
+            circuitOpenedAt.entrySet().removeIf(entry -> nowMillis - entry.getValue() >= openingTimeoutMillis);
+            targets.addAll(announced.keySet());
+            targets.remove(getLocalAddress());
+            for (SocketAddress target : targets) {
+                channel.send(message.rewind(), target);
+                sent.increment();
+            }
+            gossipListeners.forEach(Runnable::run);
+        } catch (ClosedChannelException e) {
+            // closing
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.warn("cluster-gossip-failed: {}", e.toString());
+        }
+    }
+
+    private byte[] encode() throws IOException, GeneralSecurityException {
+        ByteArrayOutputStream entries = new ByteArrayOutputStream(256);
+        DataOutputStream entriesOut = new DataOutputStream(entries);
+        int count = 0;
+        for (Map.Entry<String, Long> entry : circuitOpenedAt.entrySet()) {
+            if (entries.size() > MAX_DATAGRAM_SIZE - 1024) {
+                break;
+            }
+            entriesOut.writeUTF(entry.getKey());
+            entriesOut.writeLong(entry.getValue());
+            count++;
+        }
+        List<InetSocketAddress> liveMembers = liveMemberAddresses();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() + 64 + 32 * liveMembers.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeUTF(nodeId);
+        out.writeInt(count);
+        entries.writeTo(out);
+        int memberCount = Math.min(liveMembers.size(), (MAX_DATAGRAM_SIZE - bytes.size()) / 64);
+        out.writeInt(memberCount);
+        for (InetSocketAddress member : liveMembers.subList(0, memberCount)) {
+            out.writeUTF(member.getHostString());
+            out.writeInt(member.getPort());
+        }
+        out.write(mac(bytes.toByteArray(), bytes.size()));
+        return bytes.toByteArray();
+    }
+
+    // a Mac per call, the gossip thread and the receiver thread both need one
+    private byte[] mac(byte[] content, int length) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(secret);
+        mac.update(content, 0, length);
+        return mac.doFinal();
+    }
+
+    private List<InetSocketAddress> liveMemberAddresses() {
+        long now = System.nanoTime();
+        return members.values().stream()
+                .filter(member -> now - member.lastSeenNanos() < memberTimeoutNanos)
+                .map(Member::address)
+                .toList();
+    }
+
+    private void receiveLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                SocketAddress source = channel.receive(buffer);
+                buffer.flip();
+                received.increment();
+                receive(source, buffer);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                log.warn("cluster-gossip-invalid-message: {}", e.toString());
+            }
+        }
+    }
+
+    private void receive(SocketAddress source, ByteBuffer buffer) throws IOException, GeneralSecurityException {
+        int length = buffer.limit() - MAC_LENGTH;
+        if (length < Integer.BYTES || !MessageDigest.isEqual(mac(buffer.array(), length),
+                Arrays.copyOfRange(buffer.array(), length, buffer.limit()))) {
+            rejected.increment();
+            log.debug("cluster-gossip-rejected: datagram from {} without a valid HMAC", source);
+            return;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array(), 0, length));
+        if (in.readInt() != MAGIC) {
+            return;
+        }
+        String memberId = in.readUTF();
+        if (memberId.equals(nodeId)) {
+            return;
+        }
+        members.put(memberId, new Member((InetSocketAddress) source, System.nanoTime()));
+        int entries = in.readInt();
+        for (int i = 0; i < entries; i++) {
+            String name = in.readUTF();
+            long openedAt = in.readLong();
+            if (merge(name, openedAt)) {
+                circuitOpenedListeners.forEach(listener -> listener.accept(name, openedAt));
+            }
+        }
+        int memberCount = in.readInt();
+        long now = System.nanoTime();
+        for (int i = 0; i < memberCount; i++) {
+            announced.put(new InetSocketAddress(in.readUTF(), in.readInt()), now);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Member(InetSocketAddress address, long lastSeenNanos) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.circuitbreaker.resilience4j.events;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer single-consumer ring buffer. {@link #offer} takes no lock and never waits: a producer claims
+ * a slot with a CAS on the producer index and stores the element, and when the ring is full the element is dropped and
+ * counted. Only one thread may {@link #drain} it.
+ *
+ * A slot is empty again once the consumer nulled it and then advanced the consumer index, so a producer which sees
+ * the advanced index also sees the empty slot.
+ */
+public class EventRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public EventRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Adds the element unless the ring is full.
+     *
+     * @return false if the element was dropped
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        while (true) {
+            long index = producerIndex.get();
+            if (index - consumerIndex.get() >= capacity) {
+                dropped.increment();
+                return false;
+            }
+            if (producerIndex.compareAndSet(index, index + 1)) {
+                slots.lazySet((int) index & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Passes up to {@code limit} elements to the consumer, in the order they were claimed. Stops early at a slot whose
+     * producer claimed it but has not stored its element yet. Must only be called by one thread at a time.
+     *
+     * @return the number of elements drained
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        long index = consumerIndex.get();
+        int drained = 0;
+        while (drained < limit) {
+            int slot = (int) index & mask;
+            E element = slots.get(slot);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(slot, null);
+            consumerIndex.lazySet(++index);
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The number of elements claimed and not drained yet.
+     */
+    public int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    /**
+     * The number of elements accepted since the start.
+     */
+    public long getNumberOfOfferedElements() {
+        return producerIndex.get();
+    }
+
+    public long getNumberOfDroppedElements() {
+        return dropped.sum();
+    }
+}
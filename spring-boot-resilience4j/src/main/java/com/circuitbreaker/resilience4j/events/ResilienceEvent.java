@@ -0,0 +1,39 @@
+package com.circuitbreaker.resilience4j.events;
+
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.retry.event.RetryEvent;
+import io.github.resilience4j.timelimiter.event.TimeLimiterEvent;
+
+/**
+ * An event of any Resilience4j decorator, in the form streamed by {@link ResilienceEventsEndpoint}.
+ *
+ * @param decorator   {@code circuitbreaker}, {@code retry}, {@code bulkhead}, {@code ratelimiter} or {@code timelimiter}
+ * @param name        the instance name
+ * @param type        the event type of the decorator, e.g. {@code STATE_TRANSITION}
+ * @param createdAt   the creation time of the event, ISO-8601
+ * @param description the event as Resilience4j prints it
+ */
+public record ResilienceEvent(String decorator, String name, String type, String createdAt, String description) {
+
+    public static ResilienceEvent of(Object event) {
+        if (event instanceof CircuitBreakerEvent e) {
+            return new ResilienceEvent("circuitbreaker", e.getCircuitBreakerName(), e.getEventType().name(),
+                    e.getCreationTime().toString(), e.toString());
+        } else if (event instanceof RetryEvent e) {
+            return new ResilienceEvent("retry", e.getName(), e.getEventType().name(),
+                    e.getCreationTime().toString(), e.toString());
+        } else if (event instanceof BulkheadEvent e) {
+            return new ResilienceEvent("bulkhead", e.getBulkheadName(), e.getEventType().name(),
+                    e.getCreationTime().toString(), e.toString());
+        } else if (event instanceof RateLimiterEvent e) {
+            return new ResilienceEvent("ratelimiter", e.getRateLimiterName(), e.getEventType().name(),
+                    e.getCreationTime().toString(), e.toString());
+        } else if (event instanceof TimeLimiterEvent e) {
+            return new ResilienceEvent("timelimiter", e.getTimeLimiterName(), e.getEventType().name(),
+                    e.getCreationTime().toString(), e.toString());
+        }
+        throw new IllegalArgumentException("Not a Resilience4j event: " + event);
+    }
+}
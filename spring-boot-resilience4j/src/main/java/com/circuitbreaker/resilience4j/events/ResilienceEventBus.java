@@ -0,0 +1,177 @@
+package com.circuitbreaker.resilience4j.events;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.EventPublisher;
+import io.github.resilience4j.core.Registry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Moves the events of the Resilience4j decorators off the calling threads. A decorator publishing an event only
+ * offers it to an {@link EventRingBuffer}, which drops it when the ring is full; one background thread drains the
+ * ring, turns the events into {@link ResilienceEvent}s and emits them to the subscribers of {@link #events()}.
+ * A subscriber which does not keep up misses events instead of holding the others back.
+ *
+ * The drain thread parks for {@code idleWait} when the ring is empty, so producers never have to wake it up. An event
+ * which can not be converted, or whose subscriber throws, is logged and skipped; the drain thread carries on.
+ */
+public class ResilienceEventBus implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResilienceEventBus.class);
+
+    private final EventRingBuffer<Object> ring;
+    private final int drainBatchSize;
+    private final long idleWaitNanos;
+    private final Sinks.Many<ResilienceEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final Consumer<Object> dispatcher = this::dispatch;
+    private final Set<EventPublisher<?>> subscribed = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final LongAdder streamDropped = new LongAdder();
+    private volatile long delivered;
+    private volatile boolean running;
+    private Thread drainer;
+
+    public ResilienceEventBus(int bufferSize, int drainBatchSize, Duration idleWait) {
+        this.ring = new EventRingBuffer<>(bufferSize);
+        this.drainBatchSize = drainBatchSize;
+        this.idleWaitNanos = idleWait.toNanos();
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = Thread.ofPlatform().name("resilience-events").daemon().start(this::drainLoop);
+        LOG.info("Resilience events are published through a ring of {}", ring.getCapacity());
+    }
+
+    @Override
+    public synchronized void close() throws InterruptedException {
+        running = false;
+        if (drainer != null) {
+            LockSupport.unpark(drainer);
+            drainer.join(TimeUnit.SECONDS.toMillis(1));
+            drainer = null;
+        }
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * Publishes the events of every decorator in the registries, present and future, through this bus.
+     */
+    public void subscribe(CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry,
+                          BulkheadRegistry bulkheadRegistry, RateLimiterRegistry rateLimiterRegistry,
+                          TimeLimiterRegistry timeLimiterRegistry) {
+        subscribe(circuitBreakerRegistry, circuitBreakerRegistry.getAllCircuitBreakers(), circuitBreaker -> circuitBreaker.getEventPublisher());
+        subscribe(retryRegistry, retryRegistry.getAllRetries(), retry -> retry.getEventPublisher());
+        subscribe(bulkheadRegistry, bulkheadRegistry.getAllBulkheads(), bulkhead -> bulkhead.getEventPublisher());
+        subscribe(rateLimiterRegistry, rateLimiterRegistry.getAllRateLimiters(), rateLimiter -> rateLimiter.getEventPublisher());
+        subscribe(timeLimiterRegistry, timeLimiterRegistry.getAllTimeLimiters(), timeLimiter -> timeLimiter.getEventPublisher());
+    }
+
+    private <E> void subscribe(Registry<E, ?> registry, Collection<E> entries,
+                               Function<E, EventPublisher<?>> eventPublisher) {
+        Consumer<E> subscription = entry -> subscribe(eventPublisher.apply(entry));
+        registry.getEventPublisher().onEntryAdded(event -> subscription.accept(event.getAddedEntry()));
+        registry.getEventPublisher().onEntryReplaced(event -> subscription.accept(event.getNewEntry()));
+        entries.forEach(subscription);
+    }
+
+    // a wrapper replacing a decorator, like TimedBulkhead, shares the event publisher of the decorator it wraps
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void subscribe(EventPublisher<?> eventPublisher) {
+        if (subscribed.add(eventPublisher)) {
+            ((EventPublisher) eventPublisher).onEvent(this::publish);
+        }
+    }
+
+    /**
+     * Offers a Resilience4j event to the ring, on the calling thread.
+     *
+     * @return false if the ring was full and the event was dropped
+     */
+    public boolean publish(Object event) {
+        return ring.offer(event);
+    }
+
+    /**
+     * The events from now on. Events are emitted on the drain thread.
+     */
+    public Flux<ResilienceEvent> events() {
+        return sink.asFlux();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (ring.drain(dispatcher, drainBatchSize) == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+            }
+        }
+    }
+
+    private void dispatch(Object event) {
+        if (sink.currentSubscriberCount() == 0) {
+            return;
+        }
+        try {
+            Sinks.EmitResult result = sink.tryEmitNext(ResilienceEvent.of(event));
+            if (result.isSuccess()) {
+                delivered++;
+            } else if (result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                streamDropped.increment();
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("resilience-event-dispatch-failed: {}", event, e);
+        }
+    }
+
+    public int getBufferSize() {
+        return ring.getCapacity();
+    }
+
+    public int getNumberOfPendingEvents() {
+        return ring.size();
+    }
+
+    public long getNumberOfPublishedEvents() {
+        return ring.getNumberOfOfferedElements();
+    }
+
+    /**
+     * Events dropped because the ring was full.
+     */
+    public long getNumberOfDroppedEvents() {
+        return ring.getNumberOfDroppedElements();
+    }
+
+    /**
+     * Events emitted to the subscribers of {@link #events()}.
+     */
+    public long getNumberOfDeliveredEvents() {
+        return delivered;
+    }
+
+    /**
+     * Events which no subscriber could take.
+     */
+    public long getNumberOfStreamDroppedEvents() {
+        return streamDropped.sum();
+    }
+}
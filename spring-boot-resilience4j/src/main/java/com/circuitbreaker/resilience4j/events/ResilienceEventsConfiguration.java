@@ -0,0 +1,62 @@
+package com.circuitbreaker.resilience4j.events;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The event bus of all decorators, its metrics and its endpoint.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ResilienceEventsProperties.class)
+public class ResilienceEventsConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ResilienceEventBus resilienceEventBus(ResilienceEventsProperties properties,
+                                                 CircuitBreakerRegistry circuitBreakerRegistry,
+                                                 RetryRegistry retryRegistry,
+                                                 BulkheadRegistry bulkheadRegistry,
+                                                 RateLimiterRegistry rateLimiterRegistry,
+                                                 TimeLimiterRegistry timeLimiterRegistry,
+                                                 MeterRegistry meterRegistry) {
+        ResilienceEventBus eventBus = new ResilienceEventBus(properties.getBufferSize(),
+                properties.getDrainBatchSize(), properties.getIdleWait());
+        eventBus.subscribe(circuitBreakerRegistry, retryRegistry, bulkheadRegistry, rateLimiterRegistry,
+                timeLimiterRegistry);
+        register(eventBus, meterRegistry);
+        eventBus.start();
+        return eventBus;
+    }
+
+    @Bean
+    public ResilienceEventsEndpoint resilienceEventsEndpoint(ResilienceEventBus eventBus) {
+        return new ResilienceEventsEndpoint(eventBus);
+    }
+
+    private static void register(ResilienceEventBus eventBus, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("resilience.events.published", eventBus, ResilienceEventBus::getNumberOfPublishedEvents)
+                .description("Number of decorator events accepted by the event ring")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.events.dropped", eventBus, ResilienceEventBus::getNumberOfDroppedEvents)
+                .description("Number of decorator events dropped because the event ring was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.events.delivered", eventBus, ResilienceEventBus::getNumberOfDeliveredEvents)
+                .description("Number of decorator events emitted to the event streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.events.stream.dropped", eventBus,
+                        ResilienceEventBus::getNumberOfStreamDroppedEvents)
+                .description("Number of decorator events no event stream could take")
+                .register(meterRegistry);
+        Gauge.builder("resilience.events.pending", eventBus, ResilienceEventBus::getNumberOfPendingEvents)
+                .description("Number of decorator events waiting in the event ring")
+                .register(meterRegistry);
+    }
+}
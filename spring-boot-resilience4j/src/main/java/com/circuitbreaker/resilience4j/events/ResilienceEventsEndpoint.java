@@ -0,0 +1,30 @@
+package com.circuitbreaker.resilience4j.events;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * The state of the {@link ResilienceEventBus} at {@code /actuator/resilienceevents}. Actuator endpoints collect a
+ * {@code Flux} before writing it, so the events themselves are streamed by {@code ResilienceEventsController} at
+ * {@code /actuator/resilienceevents/stream}.
+ */
+@Endpoint(id = "resilienceevents")
+public class ResilienceEventsEndpoint {
+
+    private final ResilienceEventBus eventBus;
+
+    public ResilienceEventsEndpoint(ResilienceEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @ReadOperation
+    public EventBusDescriptor eventBus() {
+        return new EventBusDescriptor(eventBus.getBufferSize(), eventBus.getNumberOfPendingEvents(),
+                eventBus.getNumberOfPublishedEvents(), eventBus.getNumberOfDroppedEvents(),
+                eventBus.getNumberOfDeliveredEvents(), eventBus.getNumberOfStreamDroppedEvents());
+    }
+
+    public record EventBusDescriptor(int bufferSize, int pending, long published, long dropped, long delivered,
+                                     long streamDropped) {
+    }
+}
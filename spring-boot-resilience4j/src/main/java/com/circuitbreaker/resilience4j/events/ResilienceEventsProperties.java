@@ -0,0 +1,61 @@
+package com.circuitbreaker.resilience4j.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The ring the events of all decorators go through before they are streamed:
+ *
+ * <pre>
+ * resilience4j.event-bus:
+ *   buffer-size: 8192
+ *   drain-batch-size: 256
+ *   idle-wait: 1ms
+ *   heartbeat-interval: 1s
+ * </pre>
+ *
+ * The buffer size is rounded up to a power of two. Events published while the ring is full are dropped and counted.
+ */
+@ConfigurationProperties(prefix = ResilienceEventsProperties.PREFIX)
+public class ResilienceEventsProperties {
+
+    public static final String PREFIX = "resilience4j.event-bus";
+
+    private int bufferSize = 8192;
+    private int drainBatchSize = 256;
+    private Duration idleWait = Duration.ofMillis(1);
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getDrainBatchSize() {
+        return drainBatchSize;
+    }
+
+    public void setDrainBatchSize(int drainBatchSize) {
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    public Duration getIdleWait() {
+        return idleWait;
+    }
+
+    public void setIdleWait(Duration idleWait) {
+        this.idleWait = idleWait;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
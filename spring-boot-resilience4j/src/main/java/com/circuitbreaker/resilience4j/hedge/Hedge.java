@@ -0,0 +1,208 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedged requests for idempotent reads. When a call has not answered after the hedging delay, a second attempt is
+ * subscribed and the first answer wins; the other attempt is cancelled. The delay follows a percentile of the recent
+ * call latencies (see {@link HedgeConfig}), so only the slow tail of the calls is hedged.
+ *
+ * An error of the first attempt before the hedge has been sent is propagated right away. Once both attempts run, an
+ * error is only propagated when both have failed. The decorated {@link Mono} has to be cold, every subscription is one
+ * attempt.
+ */
+public class Hedge {
+
+    private final String name;
+    private final HedgeConfig config;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLongArray latencies;
+    private final AtomicLong recordedCalls = new AtomicLong();
+    private final int recomputeInterval;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedgedCalls = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private volatile long delayNanos;
+
+    public Hedge(String name, HedgeConfig config, ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.config = config;
+        this.scheduler = scheduler;
+        this.latencies = new AtomicLongArray(config.getWindowSize());
+        this.recomputeInterval = Math.max(1, config.getWindowSize() / 8);
+        this.delayNanos = config.getMaxDelay().toNanos();
+    }
+
+    public <T> Mono<T> decorate(Mono<T> source) {
+        return Mono.create(sink -> new HedgedCall<>(source, sink).start());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HedgeConfig getHedgeConfig() {
+        return config;
+    }
+
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public long getNumberOfCalls() {
+        return calls.sum();
+    }
+
+    public long getNumberOfHedgedCalls() {
+        return hedgedCalls.sum();
+    }
+
+    public long getNumberOfHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        long recorded = recordedCalls.getAndIncrement();
+        latencies.set((int) (recorded % latencies.length()), latencyNanos);
+        if (recorded + 1 >= config.getMinimumNumberOfCalls() && (recorded + 1) % recomputeInterval == 0) {
+            updateDelay(Math.min(recorded + 1, latencies.length()));
+        }
+    }
+
+    private void updateDelay(long samples) {
+        long[] window = new long[(int) samples];
+        for (int i = 0; i < window.length; i++) {
+            window[i] = latencies.get(i);
+        }
+        Arrays.sort(window);
+        long percentile = window[(int) Math.min(window.length - 1, Math.ceil(config.getPercentile() * window.length) - 1)];
+        delayNanos = Math.max(config.getMinDelay().toNanos(), Math.min(config.getMaxDelay().toNanos(), percentile));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hedge '%s'", this.name);
+    }
+
+    /**
+     * The state of one hedged call, guarded by its own monitor. Subscriptions and cancellations happen outside of it.
+     */
+    private final class HedgedCall<T> {
+
+        private final Mono<T> source;
+        private final MonoSink<T> sink;
+        private final long startNanos = System.nanoTime();
+        private Disposable primary;
+        private Disposable hedge;
+        private ScheduledFuture<?> timer;
+        private boolean hedgeStarted;
+        private int failures;
+        private boolean done;
+
+        private HedgedCall(Mono<T> source, MonoSink<T> sink) {
+            this.source = source.contextWrite(sink.contextView());
+            this.sink = sink;
+        }
+
+        private void start() {
+            calls.increment();
+            sink.onDispose(this::cancel);
+            Disposable attempt = subscribe(false);
+            synchronized (this) {
+                primary = attempt;
+                if (!done) {
+                    timer = scheduler.schedule(this::startHedge, delayNanos, TimeUnit.NANOSECONDS);
+                    return;
+                }
+            }
+            cancel();
+        }
+
+        private void startHedge() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                hedgeStarted = true;
+            }
+            hedgedCalls.increment();
+            Disposable attempt = subscribe(true);
+            synchronized (this) {
+                hedge = attempt;
+                if (!done) {
+                    return;
+                }
+            }
+            cancel();
+        }
+
+        private Disposable subscribe(boolean isHedge) {
+            return source.subscribe(
+                    value -> complete(value, isHedge),
+                    this::fail,
+                    () -> complete(null, isHedge));
+        }
+
+        private void complete(T value, boolean isHedge) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+            }
+            recordLatency(System.nanoTime() - startNanos);
+            if (isHedge) {
+                hedgeWins.increment();
+            }
+            cancel();
+            if (value == null) {
+                sink.success();
+            } else {
+                sink.success(value);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            synchronized (this) {
+                if (done || (hedgeStarted && ++failures < 2)) {
+                    return;
+                }
+                done = true;
+            }
+            cancel();
+            sink.error(throwable);
+        }
+
+        private void cancel() {
+            Disposable primary;
+            Disposable hedge;
+            ScheduledFuture<?> timer;
+            synchronized (this) {
+                done = true;
+                primary = this.primary;
+                hedge = this.hedge;
+                timer = this.timer;
+            }
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (primary != null) {
+                primary.dispose();
+            }
+            if (hedge != null) {
+                hedge.dispose();
+            }
+        }
+    }
+}
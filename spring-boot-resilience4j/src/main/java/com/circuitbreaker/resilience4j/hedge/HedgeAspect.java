@@ -0,0 +1,37 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import com.circuitbreaker.resilience4j.hedge.annotation.Hedge;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies {@link Hedge @Hedge} to methods returning a {@link Mono}.
+ */
+@Aspect
+public class HedgeAspect implements Ordered {
+
+    private final HedgeRegistry hedgeRegistry;
+    private final int order;
+
+    public HedgeAspect(HedgeRegistry hedgeRegistry, int order) {
+        this.hedgeRegistry = hedgeRegistry;
+        this.order = order;
+    }
+
+    @Around(value = "@annotation(hedge)", argNames = "joinPoint,hedge")
+    public Object hedge(ProceedingJoinPoint joinPoint, Hedge hedge) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono<?> mono) {
+            return hedgeRegistry.hedge(hedge.name()).decorate(mono);
+        }
+        throw new IllegalStateException("@Hedge only supports methods returning Mono: " + joinPoint.getSignature());
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
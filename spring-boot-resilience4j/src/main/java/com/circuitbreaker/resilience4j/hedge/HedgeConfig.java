@@ -0,0 +1,100 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import java.time.Duration;
+
+/**
+ * Configuration of a {@link Hedge}. The hedging delay is the {@code percentile} of the last {@code windowSize} call
+ * latencies, kept between {@code minDelay} and {@code maxDelay}. Until {@code minimumNumberOfCalls} calls have been
+ * recorded, {@code maxDelay} is used.
+ */
+public class HedgeConfig {
+
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final int windowSize;
+    private final int minimumNumberOfCalls;
+
+    private HedgeConfig(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelay = builder.minDelay;
+        this.maxDelay = builder.maxDelay;
+        this.windowSize = builder.windowSize;
+        this.minimumNumberOfCalls = builder.minimumNumberOfCalls;
+    }
+
+    public static HedgeConfig ofDefaults() {
+        return custom().build();
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public static class Builder {
+
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(1);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private int windowSize = 100;
+        private int minimumNumberOfCalls = 20;
+
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder minDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        public HedgeConfig build() {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("percentile must be between 0 and 1");
+            }
+            if (minDelay.isNegative() || maxDelay.compareTo(minDelay) < 0) {
+                throw new IllegalArgumentException("minDelay must not be negative and not greater than maxDelay");
+            }
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be greater than 0");
+            }
+            return new HedgeConfig(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Hedge instances and the {@code @Hedge} aspect. The hedging delays run on the shared resilience scheduler.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HedgeProperties.class)
+public class HedgeConfiguration {
+
+    @Bean
+    public HedgeRegistry hedgeRegistry(HedgeProperties properties,
+                                       @Qualifier("resilienceScheduler") ScheduledExecutorService scheduler,
+                                       MeterRegistry meterRegistry) {
+        return new HedgeRegistry(properties, scheduler, meterRegistry);
+    }
+
+    @Bean
+    public HedgeAspect hedgeAspect(HedgeRegistry hedgeRegistry, HedgeProperties properties) {
+        return new HedgeAspect(hedgeRegistry, properties.getHedgeAspectOrder());
+    }
+}
@@ -0,0 +1,118 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hedge instances, per instance name:
+ *
+ * <pre>
+ * resilience4j.hedge:
+ *   instances:
+ *     north-europe:
+ *       percentile: 0.95
+ *       min-delay: 10ms
+ *       max-delay: 1s
+ *       window-size: 100
+ *       minimum-number-of-calls: 20
+ * </pre>
+ *
+ * A name without an instance gets the defaults of {@link HedgeConfig}.
+ *
+ * The hedge aspect runs inside the CircuitBreaker and outside the RateLimiter, TimeLimiter and Bulkhead aspects, so a
+ * hedged attempt is rate limited, timed and counted by the bulkhead like the first one. The Resilience4j aspects
+ * leave no free order between the CircuitBreaker and the RateLimiter, so the application.yml moves the CircuitBreaker
+ * and Retry aspects one step outwards.
+ */
+@ConfigurationProperties(prefix = HedgeProperties.PREFIX)
+public class HedgeProperties {
+
+    public static final String PREFIX = "resilience4j.hedge";
+
+    // between the CircuitBreaker (LOWEST_PRECEDENCE - 5 in the application.yml) and the RateLimiter (LOWEST_PRECEDENCE - 3)
+    private int hedgeAspectOrder = Ordered.LOWEST_PRECEDENCE - 4;
+    private Map<String, InstanceProperties> instances = new HashMap<>();
+
+    public int getHedgeAspectOrder() {
+        return hedgeAspectOrder;
+    }
+
+    public void setHedgeAspectOrder(int hedgeAspectOrder) {
+        this.hedgeAspectOrder = hedgeAspectOrder;
+    }
+
+    public Map<String, InstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, InstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public HedgeConfig createHedgeConfig(String name) {
+        InstanceProperties instance = instances.get(name);
+        if (instance == null) {
+            return HedgeConfig.ofDefaults();
+        }
+        return HedgeConfig.custom()
+                .percentile(instance.getPercentile())
+                .minDelay(instance.getMinDelay())
+                .maxDelay(instance.getMaxDelay())
+                .windowSize(instance.getWindowSize())
+                .minimumNumberOfCalls(instance.getMinimumNumberOfCalls())
+                .build();
+    }
+
+    public static class InstanceProperties {
+
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(1);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private int windowSize = 100;
+        private int minimumNumberOfCalls = 20;
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Creates one {@link Hedge} per name from {@link HedgeProperties}, caches it and publishes its metrics.
+ */
+public class HedgeRegistry {
+
+    private final HedgeProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Hedge> hedges = new ConcurrentHashMap<>();
+
+    public HedgeRegistry(HedgeProperties properties, ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Hedge hedge(String name) {
+        return hedges.computeIfAbsent(name, this::createHedge);
+    }
+
+    private Hedge createHedge(String name) {
+        Hedge hedge = new Hedge(name, properties.createHedgeConfig(name), scheduler);
+        FunctionCounter.builder("resilience.hedge.calls", hedge, Hedge::getNumberOfCalls)
+                .description("Number of calls through the hedge")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.hedge.hedged", hedge, Hedge::getNumberOfHedgedCalls)
+                .description("Number of calls which sent a second attempt")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.hedge.wins", hedge, Hedge::getNumberOfHedgeWins)
+                .description("Number of calls answered by the second attempt")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.hedge.delay", hedge, h -> h.getDelay().toNanos() / 1e9)
+                .description("Current hedging delay")
+                .baseUnit("seconds")
+                .tag("name", name)
+                .register(meterRegistry);
+        return hedge;
+    }
+}
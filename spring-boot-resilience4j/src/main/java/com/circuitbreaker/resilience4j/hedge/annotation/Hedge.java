@@ -0,0 +1,25 @@
+package com.circuitbreaker.resilience4j.hedge.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Hedges the {@link reactor.core.publisher.Mono} returned by the annotated method with the
+ * {@link com.circuitbreaker.resilience4j.hedge.Hedge} of the given name. Only for idempotent reads.
+ *
+ * The aspect runs inside {@code @CircuitBreaker} and outside {@code @TimeLimiter} and {@code @Bulkhead}, so the
+ * circuit breaker records one outcome per hedged call while every attempt has its own time limit and permit.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Hedge {
+
+    /**
+     * @return the name of the hedge instance, configured under {@code resilience4j.hedge.instances}
+     */
+    String name();
+}
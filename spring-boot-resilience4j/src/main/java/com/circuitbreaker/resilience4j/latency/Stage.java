@@ -0,0 +1,40 @@
+package com.circuitbreaker.resilience4j.latency;
+
+/**
+ * The stages of a decorated call whose latencies are recorded by {@link StageTimers}.
+ */
+public enum Stage {
+
+    /**
+     * Waiting for a permission of the semaphore bulkhead.
+     */
+    BULKHEAD_WAIT("bulkhead-wait"),
+
+    /**
+     * The backend call itself, inside all decorators.
+     */
+    EXECUTION("execution"),
+
+    /**
+     * The wait of the retry before the next attempt.
+     */
+    RETRY_DELAY("retry-delay"),
+
+    /**
+     * The fallback, from the failure until it completes.
+     */
+    FALLBACK("fallback");
+
+    private final String tag;
+
+    Stage(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * The value of the {@code stage} tag of the metrics.
+     */
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,173 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import io.github.resilience4j.reactor.IllegalPublisherException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Latency histogram of one stage of one instance. Recording goes into an HdrHistogram {@link Recorder}, which neither
+ * locks nor allocates: the histogram has a fixed range up to {@code maxLatency} and longer latencies are recorded as
+ * {@code maxLatency}. The recorded values only become visible to readers, in a ring of intervals covering
+ * {@code window}, when a reader comes after the current {@code updateInterval} ended; so the cost of a rotation is on
+ * the metrics scrape and never on a call.
+ */
+public class StageTimer {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final LongSupplier nanoTime;
+    private final long maxLatencyNanos;
+    private final long updateIntervalNanos;
+    private final Recorder recorder;
+    private final Histogram[] intervals;
+    private final Histogram window;
+    private long currentInterval;
+    private long count;
+
+    public StageTimer(Duration window, Duration updateInterval, Duration maxLatency) {
+        this(window, updateInterval, maxLatency, System::nanoTime);
+    }
+
+    StageTimer(Duration window, Duration updateInterval, Duration maxLatency, LongSupplier nanoTime) {
+        if (updateInterval.isNegative() || updateInterval.isZero() || window.compareTo(updateInterval) < 0) {
+            throw new IllegalArgumentException("updateInterval must be positive and not greater than window");
+        }
+        this.nanoTime = nanoTime;
+        this.maxLatencyNanos = Math.max(2, maxLatency.toNanos());
+        this.updateIntervalNanos = updateInterval.toNanos();
+        this.recorder = new Recorder(1, maxLatencyNanos, SIGNIFICANT_DIGITS);
+        this.intervals = new Histogram[(int) Math.max(1, window.toNanos() / updateIntervalNanos)];
+        this.window = new Histogram(1, maxLatencyNanos, SIGNIFICANT_DIGITS);
+        this.currentInterval = nanoTime.getAsLong() / updateIntervalNanos;
+    }
+
+    /**
+     * The start time of a call, to be passed to {@link #stop(long)}.
+     */
+    public long start() {
+        return nanoTime.getAsLong();
+    }
+
+    /**
+     * Records the latency of a call started at {@code start}.
+     */
+    public void stop(long start) {
+        record(nanoTime.getAsLong() - start);
+    }
+
+    public void record(long latencyNanos) {
+        recorder.recordValue(Math.min(Math.max(0, latencyNanos), maxLatencyNanos));
+    }
+
+    /**
+     * The latency at the percentile, between 0 and 100, of the window in nanoseconds.
+     */
+    public synchronized long getLatencyAtPercentile(double percentile) {
+        roll();
+        return window.getValueAtPercentile(percentile);
+    }
+
+    public synchronized long getMaxLatency() {
+        roll();
+        return window.getMaxValue();
+    }
+
+    /**
+     * The number of latencies recorded up to the end of the last update interval.
+     */
+    public synchronized long getCount() {
+        roll();
+        return count;
+    }
+
+    private void roll() {
+        long interval = nanoTime.getAsLong() / updateIntervalNanos;
+        long elapsedIntervals = interval - currentInterval;
+        if (elapsedIntervals <= 0) {
+            return;
+        }
+        currentInterval = interval;
+        // the intervals without a reader are empty, their latencies go into the newest one
+        for (int i = 1; i < Math.min(elapsedIntervals, intervals.length); i++) {
+            rotate(null);
+        }
+        Histogram newest = recorder.getIntervalHistogram(intervals[intervals.length - 1]);
+        count += newest.getTotalCount();
+        rotate(newest);
+        window.reset();
+        for (Histogram histogram : intervals) {
+            if (histogram != null) {
+                window.add(histogram);
+            }
+        }
+    }
+
+    private void rotate(Histogram newest) {
+        System.arraycopy(intervals, 0, intervals, 1, intervals.length - 1);
+        intervals[0] = newest;
+    }
+
+    public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+        return () -> {
+            long start = start();
+            try {
+                return supplier.get();
+            } finally {
+                stop(start);
+            }
+        };
+    }
+
+    public <T, R> Function<T, R> decorateFunction(Function<T, R> function) {
+        return value -> {
+            long start = start();
+            try {
+                return function.apply(value);
+            } finally {
+                stop(start);
+            }
+        };
+    }
+
+    /**
+     * Times a stage from the call of the supplier until it completes.
+     */
+    public <T> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<CompletionStage<T>> supplier) {
+        return () -> {
+            long start = start();
+            try {
+                return supplier.get().whenComplete((result, throwable) -> stop(start));
+            } catch (RuntimeException e) {
+                stop(start);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Times every subscription of a Mono or Flux, from the subscription until it terminates or is cancelled.
+     */
+    public <T> Publisher<T> decoratePublisher(Publisher<T> publisher) {
+        if (publisher instanceof Mono<T> mono) {
+            return Mono.defer(() -> {
+                long start = start();
+                return mono.doFinally(signal -> stop(start));
+            });
+        } else if (publisher instanceof Flux<T> flux) {
+            return Flux.defer(() -> {
+                long start = start();
+                return flux.doFinally(signal -> stop(start));
+            });
+        }
+        throw new IllegalPublisherException(publisher);
+    }
+}
@@ -0,0 +1,24 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stage latency histograms and the aspect timing the execution of the annotated methods. The bulkheads and retries
+ * are hooked in by {@link StageTimerRegistrar}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StageTimerProperties.class)
+public class StageTimerConfiguration {
+
+    @Bean
+    public StageTimerRegistry stageTimerRegistry(StageTimerProperties properties) {
+        return new StageTimerRegistry(properties);
+    }
+
+    @Bean
+    public StageTimingAspect stageTimingAspect(StageTimerRegistry stageTimerRegistry, StageTimerProperties properties) {
+        return new StageTimingAspect(stageTimerRegistry, properties.getStageTimingAspectOrder());
+    }
+}
@@ -0,0 +1,81 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency histograms of the stages of every decorated instance:
+ *
+ * <pre>
+ * resilience4j.stage-timer:
+ *   window: 1m
+ *   update-interval: 10s
+ *   max-latency: 1m
+ *   percentiles: [0.5, 0.9, 0.99, 0.999]
+ * </pre>
+ *
+ * The execution is timed by an aspect inside all Resilience4j aspects: the innermost of them, the Bulkhead aspect, has
+ * the fixed order {@code LOWEST_PRECEDENCE - 1}. An aspect without an order, such as Micrometer's {@code TimedAspect}
+ * for {@code @Timed}, counts as {@code LOWEST_PRECEDENCE} too, and Spring does not define which of two aspects with
+ * the same order runs first.
+ */
+@ConfigurationProperties(prefix = StageTimerProperties.PREFIX)
+public class StageTimerProperties {
+
+    public static final String PREFIX = "resilience4j.stage-timer";
+
+    // inside the Bulkhead aspect, the innermost Resilience4j aspect at LOWEST_PRECEDENCE - 1
+    private int stageTimingAspectOrder = Ordered.LOWEST_PRECEDENCE;
+    private Duration window = Duration.ofMinutes(1);
+    private Duration updateInterval = Duration.ofSeconds(10);
+    private Duration maxLatency = Duration.ofMinutes(1);
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.9, 0.99, 0.999));
+
+    public int getStageTimingAspectOrder() {
+        return stageTimingAspectOrder;
+    }
+
+    public void setStageTimingAspectOrder(int stageTimingAspectOrder) {
+        this.stageTimingAspectOrder = stageTimingAspectOrder;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public void setUpdateInterval(Duration updateInterval) {
+        this.updateInterval = updateInterval;
+    }
+
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+
+    public void setMaxLatency(Duration maxLatency) {
+        this.maxLatency = maxLatency;
+    }
+
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public StageTimers createStageTimers(String name) {
+        return new StageTimers(name, window, updateInterval, maxLatency);
+    }
+}
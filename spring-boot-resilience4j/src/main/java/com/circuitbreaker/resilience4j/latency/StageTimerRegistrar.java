@@ -0,0 +1,66 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hooks the {@link StageTimerRegistry} into the Resilience4j registries as soon as they are created:
+ * <ul>
+ *     <li>the semaphore bulkheads are wrapped in a {@link TimedBulkhead}, also when another registrar replaces them
+ *     later. Bulkheads created on first use are only added to the registry, so they are not timed;</li>
+ *     <li>the wait before every retry is recorded from the retry events.</li>
+ * </ul>
+ */
+@Component
+public class StageTimerRegistrar implements BeanPostProcessor {
+
+    private final ObjectProvider<StageTimerRegistry> stageTimerRegistry;
+
+    public StageTimerRegistrar(ObjectProvider<StageTimerRegistry> stageTimerRegistry) {
+        this.stageTimerRegistry = stageTimerRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof BulkheadRegistry registry) {
+            register(registry, stageTimerRegistry.getObject());
+        } else if (bean instanceof RetryRegistry registry) {
+            register(registry, stageTimerRegistry.getObject());
+        }
+        return bean;
+    }
+
+    static void register(BulkheadRegistry registry, StageTimerRegistry timers) {
+        registry.getEventPublisher().onEntryReplaced(event -> {
+            if (!(event.getNewEntry() instanceof TimedBulkhead)) {
+                wrap(registry, event.getNewEntry(), timers);
+            }
+        });
+        registry.getAllBulkheads().forEach(bulkhead -> wrap(registry, bulkhead, timers));
+    }
+
+    private static void wrap(BulkheadRegistry registry, Bulkhead bulkhead, StageTimerRegistry timers) {
+        registry.replace(bulkhead.getName(), new TimedBulkhead(bulkhead, timers.stageTimers(bulkhead.getName())));
+    }
+
+    static void register(RetryRegistry registry, StageTimerRegistry timers) {
+        registry.getEventPublisher().onEntryAdded(event -> recordDelays(event.getAddedEntry(), timers));
+        registry.getEventPublisher().onEntryReplaced(event -> recordDelays(event.getNewEntry(), timers));
+        registry.getAllRetries().forEach(retry -> recordDelays(retry, timers));
+    }
+
+    private static void recordDelays(Retry retry, StageTimerRegistry timers) {
+        StageTimer delayTimer = timers.stageTimers(retry.getName()).timer(Stage.RETRY_DELAY);
+        retry.getEventPublisher().onRetry(event -> {
+            // a negative wait is a retry refused by the retry budget
+            if (!event.getWaitInterval().isNegative()) {
+                delayTimer.record(event.getWaitInterval().toNanos());
+            }
+        });
+    }
+}
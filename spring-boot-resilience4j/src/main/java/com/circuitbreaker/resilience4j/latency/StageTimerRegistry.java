@@ -0,0 +1,75 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the {@link StageTimers} of every instance name from {@link StageTimerProperties}, caches them and publishes
+ * their percentiles. It is a {@link MeterBinder} so that the registries of the decorators can record into it before
+ * the {@link MeterRegistry} exists.
+ */
+public class StageTimerRegistry implements MeterBinder {
+
+    private final StageTimerProperties properties;
+    private final Map<String, StageTimers> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public StageTimerRegistry(StageTimerProperties properties) {
+        this.properties = properties;
+    }
+
+    public StageTimers stageTimers(String name) {
+        return timers.computeIfAbsent(name, this::createStageTimers);
+    }
+
+    private StageTimers createStageTimers(String name) {
+        StageTimers stageTimers = properties.createStageTimers(name);
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            register(stageTimers, registry);
+        }
+        return stageTimers;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        timers.values().forEach(stageTimers -> register(stageTimers, registry));
+    }
+
+    private void register(StageTimers stageTimers, MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            StageTimer timer = stageTimers.timer(stage);
+            for (double percentile : properties.getPercentiles()) {
+                Gauge.builder("resilience.stage.latency", timer, t -> seconds(t.getLatencyAtPercentile(percentile * 100)))
+                        .description("Latency of the stage at the quantile, over the window")
+                        .baseUnit("seconds")
+                        .tag("name", stageTimers.getName())
+                        .tag("stage", stage.getTag())
+                        .tag("quantile", Double.toString(percentile))
+                        .register(registry);
+            }
+            Gauge.builder("resilience.stage.latency.max", timer, t -> seconds(t.getMaxLatency()))
+                    .description("Maximum latency of the stage over the window")
+                    .baseUnit("seconds")
+                    .tag("name", stageTimers.getName())
+                    .tag("stage", stage.getTag())
+                    .register(registry);
+            FunctionCounter.builder("resilience.stage.calls", timer, StageTimer::getCount)
+                    .description("Number of latencies recorded for the stage")
+                    .tag("name", stageTimers.getName())
+                    .tag("stage", stage.getTag())
+                    .register(registry);
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import java.time.Duration;
+
+/**
+ * The {@link StageTimer} of every {@link Stage} of one instance name.
+ */
+public class StageTimers {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final String name;
+    private final StageTimer[] timers = new StageTimer[STAGES.length];
+
+    public StageTimers(String name, Duration window, Duration updateInterval, Duration maxLatency) {
+        this.name = name;
+        for (Stage stage : STAGES) {
+            timers[stage.ordinal()] = new StageTimer(window, updateInterval, maxLatency);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public StageTimer timer(Stage stage) {
+        return timers[stage.ordinal()];
+    }
+}
@@ -0,0 +1,85 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the {@link Stage#EXECUTION} of the methods annotated with a Resilience4j decorator, under the name of the
+ * decorator. It has to be the innermost aspect, so every attempt of a retry is recorded and the time waiting in the
+ * bulkhead is not. A {@link Publisher} is timed per subscription and a {@link CompletionStage} until it completes.
+ */
+@Aspect
+public class StageTimingAspect implements Ordered {
+
+    private final StageTimerRegistry stageTimerRegistry;
+    private final int order;
+    private final Map<Method, StageTimer> executionTimers = new ConcurrentHashMap<>();
+
+    public StageTimingAspect(StageTimerRegistry stageTimerRegistry, int order) {
+        this.stageTimerRegistry = stageTimerRegistry;
+        this.order = order;
+    }
+
+    @Around("@annotation(io.github.resilience4j.bulkhead.annotation.Bulkhead)"
+            + " || @annotation(io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker)"
+            + " || @annotation(io.github.resilience4j.retry.annotation.Retry)"
+            + " || @annotation(io.github.resilience4j.timelimiter.annotation.TimeLimiter)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        StageTimer timer = executionTimers.computeIfAbsent(method, this::executionTimer);
+        if (Publisher.class.isAssignableFrom(method.getReturnType())) {
+            return timer.decoratePublisher((Publisher<?>) joinPoint.proceed());
+        }
+        long start = timer.start();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            timer.stop(start);
+            throw throwable;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.whenComplete((value, throwable) -> timer.stop(start));
+        }
+        timer.stop(start);
+        return result;
+    }
+
+    private StageTimer executionTimer(Method method) {
+        return stageTimerRegistry.stageTimers(decoratorName(method)).timer(Stage.EXECUTION);
+    }
+
+    private static String decoratorName(Method method) {
+        CircuitBreaker circuitBreaker = method.getAnnotation(CircuitBreaker.class);
+        if (circuitBreaker != null) {
+            return circuitBreaker.name();
+        }
+        Bulkhead bulkhead = method.getAnnotation(Bulkhead.class);
+        if (bulkhead != null) {
+            return bulkhead.name();
+        }
+        Retry retry = method.getAnnotation(Retry.class);
+        if (retry != null) {
+            return retry.name();
+        }
+        return method.getAnnotation(TimeLimiter.class).name();
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
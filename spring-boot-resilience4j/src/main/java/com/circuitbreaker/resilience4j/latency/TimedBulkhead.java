@@ -0,0 +1,90 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+
+import java.util.Map;
+
+/**
+ * A {@link Bulkhead} which records the time spent acquiring a permission of the wrapped bulkhead, including the
+ * calls which are rejected after waiting {@code maxWaitDuration}. Everything else is delegated.
+ */
+public class TimedBulkhead implements Bulkhead {
+
+    private final Bulkhead delegate;
+    private final StageTimer waitTimer;
+
+    public TimedBulkhead(Bulkhead delegate, StageTimers stageTimers) {
+        this.delegate = delegate;
+        this.waitTimer = stageTimers.timer(Stage.BULKHEAD_WAIT);
+    }
+
+    public Bulkhead getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        long start = waitTimer.start();
+        try {
+            return delegate.tryAcquirePermission();
+        } finally {
+            waitTimer.stop(start);
+        }
+    }
+
+    @Override
+    public void acquirePermission() {
+        long start = waitTimer.start();
+        try {
+            delegate.acquirePermission();
+        } finally {
+            waitTimer.stop(start);
+        }
+    }
+
+    @Override
+    public void releasePermission() {
+        delegate.releasePermission();
+    }
+
+    @Override
+    public void onComplete() {
+        delegate.onComplete();
+    }
+
+    @Override
+    public void changeConfig(BulkheadConfig newConfig) {
+        delegate.changeConfig(newConfig);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public BulkheadConfig getBulkheadConfig() {
+        return delegate.getBulkheadConfig();
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return delegate.getTags();
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return delegate.getEventPublisher();
+    }
+
+    @Override
+    public String toString() {
+        return "Timed" + delegate;
+    }
+}
@@ -0,0 +1,275 @@
+package com.circuitbreaker.resilience4j.pipeline;
+
+import com.circuitbreaker.resilience4j.latency.Stage;
+import com.circuitbreaker.resilience4j.latency.StageTimer;
+import com.circuitbreaker.resilience4j.latency.StageTimers;
+import com.circuitbreaker.resilience4j.latency.TimedBulkhead;
+import com.circuitbreaker.resilience4j.timelimiter.AdaptiveTimeLimiterOperator;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * The decorator chains of one backend, composed once and applied per request.
+ *
+ * The {@code decorate*} methods are meant to be called once per operation (e.g. in a constructor) and the returned
+ * supplier is invoked per request. The reactive operators are created once per pipeline, so {@link #apply(Mono, Function)}
+ * and {@link #apply(Flux, Function)} only add a single transform and a single error handler to the publisher.
+ * The reactor retry operator keeps its attempt count in the publisher it returns, so {@link #decorateMono(Mono)} applies
+ * it per call.
+ *
+ * The execution of the call and the fallbacks are recorded into the {@link StageTimers} of the pipeline, and so is the
+ * wait for the bulkhead, which is wrapped in a {@link TimedBulkhead} unless the registry already did.
+ *
+ * The methods with a fallback reject the calls while the circuit breaker is OPEN or FORCED_OPEN before running any
+ * decorator, and hand the fallback a {@link CallNotPermittedException} shared by all the rejections of that state when
+ * the circuit breaker config disables writable stack traces. During an outage a rejected call then costs the
+ * permission check and the fallback, not an exception and the decorator chain.
+ */
+public class ResiliencePipeline {
+
+    private static final List<Class<? extends Throwable>> FALLBACK_EXCEPTIONS =
+            List.of(TimeoutException.class, CallNotPermittedException.class, BulkheadFullException.class);
+
+    private static final Predicate<Throwable> IS_FALLBACK_EXCEPTION = ex -> ex instanceof TimeoutException
+            || ex instanceof CallNotPermittedException
+            || ex instanceof BulkheadFullException;
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ThreadPoolBulkhead threadPoolBulkhead;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final UnaryOperator<Publisher<Object>> reactiveChain;
+    private final UnaryOperator<Publisher<Object>> guardChain;
+    private final RetryOperator<Object> retryOperator;
+    private final StageTimer executionTimer;
+    private final StageTimer fallbackTimer;
+    private final AtomicReferenceArray<CallNotPermittedException> rejections =
+            new AtomicReferenceArray<>(CircuitBreaker.State.values().length);
+
+    public ResiliencePipeline(String name,
+                              CircuitBreaker circuitBreaker,
+                              Bulkhead bulkhead,
+                              ThreadPoolBulkhead threadPoolBulkhead,
+                              Retry retry,
+                              TimeLimiter timeLimiter,
+                              ScheduledExecutorService scheduledExecutorService,
+                              StageTimers stageTimers) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead instanceof TimedBulkhead ? bulkhead : new TimedBulkhead(bulkhead, stageTimers);
+        this.threadPoolBulkhead = threadPoolBulkhead;
+        this.retry = retry;
+        this.timeLimiter = timeLimiter;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.executionTimer = stageTimers.timer(Stage.EXECUTION);
+        this.fallbackTimer = stageTimers.timer(Stage.FALLBACK);
+
+        AdaptiveTimeLimiterOperator<Object> timeLimiterOperator = AdaptiveTimeLimiterOperator.of(timeLimiter);
+        BulkheadOperator<Object> bulkheadOperator = BulkheadOperator.of(this.bulkhead);
+        CircuitBreakerOperator<Object> circuitBreakerOperator = CircuitBreakerOperator.of(circuitBreaker);
+        this.reactiveChain = publisher -> circuitBreakerOperator.apply(bulkheadOperator.apply(
+                timeLimiterOperator.apply(executionTimer.decoratePublisher(publisher))));
+        this.guardChain = publisher -> bulkheadOperator.apply(circuitBreakerOperator.apply(
+                executionTimer.decoratePublisher(publisher)));
+        this.retryOperator = RetryOperator.of(retry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * CircuitBreaker, Bulkhead and Retry around a blocking call.
+     */
+    public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+        return Decorators.ofSupplier(executionTimer.decorateSupplier(supplier))
+                .withCircuitBreaker(circuitBreaker)
+                .withBulkhead(bulkhead)
+                .withRetry(retry)
+                .decorate();
+    }
+
+    /**
+     * CircuitBreaker and Bulkhead around a blocking call, for operations that must not be retried.
+     */
+    public <T> Supplier<T> decorateSupplierWithoutRetry(Supplier<T> supplier) {
+        return Decorators.ofSupplier(executionTimer.decorateSupplier(supplier))
+                .withCircuitBreaker(circuitBreaker)
+                .withBulkhead(bulkhead)
+                .decorate();
+    }
+
+    /**
+     * CircuitBreaker, Bulkhead and Retry around a publisher, the reactive counterpart of {@link #decorateSupplier}.
+     * Retries resubscribe to the publisher, so it has to be cold.
+     */
+    public <T> Mono<T> decorateMono(Mono<T> publisher) {
+        return publisher
+                .transform(this.<T>guardChain())
+                .transform(this.<T>retryOperator());
+    }
+
+    /**
+     * CircuitBreaker and Bulkhead around a publisher, for operations that must not be retried.
+     */
+    public <T> Mono<T> decorateMonoWithoutRetry(Mono<T> publisher) {
+        return publisher.transform(this.<T>guardChain());
+    }
+
+    /**
+     * Runs a blocking call in the ThreadPoolBulkhead, guarded by TimeLimiter, CircuitBreaker and Retry.
+     */
+    public <T> Supplier<CompletionStage<T>> decorateAsync(Supplier<T> supplier) {
+        return Decorators.ofSupplier(executionTimer.decorateSupplier(supplier))
+                .withThreadPoolBulkhead(threadPoolBulkhead)
+                .withTimeLimiter(timeLimiter, scheduledExecutorService)
+                .withCircuitBreaker(circuitBreaker)
+                .withRetry(retry, scheduledExecutorService)
+                .decorate();
+    }
+
+    /**
+     * Runs a blocking call in the ThreadPoolBulkhead, guarded by TimeLimiter and CircuitBreaker. Timeouts, rejected
+     * calls and a full bulkhead are recovered with the fallback.
+     */
+    public <T> Supplier<CompletionStage<T>> decorateAsync(Supplier<T> supplier, Function<Throwable, T> fallback) {
+        Function<Throwable, T> timedFallback = fallbackTimer.decorateFunction(fallback);
+        return rejectWhileOpen(Decorators.ofSupplier(executionTimer.decorateSupplier(supplier))
+                .withThreadPoolBulkhead(threadPoolBulkhead)
+                .withTimeLimiter(timeLimiter, scheduledExecutorService)
+                .withCircuitBreaker(circuitBreaker)
+                .withFallback(FALLBACK_EXCEPTIONS, timedFallback)
+                .decorate(), timedFallback);
+    }
+
+    /**
+     * Guards an asynchronous call with Bulkhead, TimeLimiter and CircuitBreaker. No thread is held while the stage is
+     * pending. Timeouts, rejected calls and a full bulkhead are recovered with the fallback.
+     */
+    public <T> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<CompletionStage<T>> supplier,
+                                                                    Function<Throwable, T> fallback) {
+        Function<Throwable, T> timedFallback = fallbackTimer.decorateFunction(fallback);
+        return rejectWhileOpen(Decorators.ofCompletionStage(executionTimer.decorateCompletionStage(supplier))
+                .withBulkhead(bulkhead)
+                .withTimeLimiter(timeLimiter, scheduledExecutorService)
+                .withCircuitBreaker(circuitBreaker)
+                .withFallback(FALLBACK_EXCEPTIONS, timedFallback)
+                .decorate(), timedFallback);
+    }
+
+    /**
+     * Applies TimeLimiter, Bulkhead and CircuitBreaker to the publisher. Timeouts, rejected calls and a full bulkhead
+     * are recovered with the fallback.
+     */
+    public <T> Mono<T> apply(Mono<T> publisher, Function<Throwable, Mono<T>> fallback) {
+        return Mono.defer(() -> {
+            CallNotPermittedException rejection = rejection();
+            if (rejection != null) {
+                return Mono.from(fallbackTimer.decoratePublisher(fallback.apply(rejection)));
+            }
+            return publisher
+                    .transform(this.<T>reactiveChain())
+                    .onErrorResume(IS_FALLBACK_EXCEPTION,
+                            throwable -> Mono.from(fallbackTimer.decoratePublisher(fallback.apply(throwable))));
+        });
+    }
+
+    /**
+     * Applies TimeLimiter, Bulkhead and CircuitBreaker to the publisher. Timeouts, rejected calls and a full bulkhead
+     * are recovered with the fallback.
+     */
+    public <T> Flux<T> apply(Flux<T> publisher, Function<Throwable, Flux<T>> fallback) {
+        return Flux.defer(() -> {
+            CallNotPermittedException rejection = rejection();
+            if (rejection != null) {
+                return Flux.from(fallbackTimer.decoratePublisher(fallback.apply(rejection)));
+            }
+            return publisher
+                    .transform(this.<T>reactiveChain())
+                    .onErrorResume(IS_FALLBACK_EXCEPTION,
+                            throwable -> Flux.from(fallbackTimer.decoratePublisher(fallback.apply(throwable))));
+        });
+    }
+
+    private <T> Supplier<CompletionStage<T>> rejectWhileOpen(Supplier<CompletionStage<T>> decorated,
+                                                             Function<Throwable, T> fallback) {
+        return () -> {
+            CallNotPermittedException rejection = rejection();
+            if (rejection == null) {
+                return decorated.get();
+            }
+            try {
+                return CompletableFuture.completedFuture(fallback.apply(rejection));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+    }
+
+    /**
+     * Answers the exception rejecting the call while the circuit breaker is OPEN or FORCED_OPEN, or null when the call
+     * may go on. The rejection is counted and published by the circuit breaker like any other; a permission granted
+     * to find out is released, the decorator chain acquires its own.
+     */
+    private CallNotPermittedException rejection() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        if (state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN) {
+            return null;
+        }
+        if (circuitBreaker.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            return null;
+        }
+        if (circuitBreaker.getCircuitBreakerConfig().isWritableStackTraceEnabled()) {
+            return CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+        }
+        CallNotPermittedException rejection = rejections.get(state.ordinal());
+        if (rejection == null) {
+            // racing callers may each create one, any of them will do
+            rejection = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            rejections.lazySet(state.ordinal(), rejection);
+        }
+        return rejection;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> UnaryOperator<Publisher<T>> reactiveChain() {
+        return (UnaryOperator) reactiveChain;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> UnaryOperator<Publisher<T>> guardChain() {
+        return (UnaryOperator) guardChain;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> UnaryOperator<Publisher<T>> retryOperator() {
+        return (UnaryOperator) retryOperator;
+    }
+}
@@ -0,0 +1,61 @@
+package com.circuitbreaker.resilience4j.pipeline;
+
+import com.circuitbreaker.resilience4j.latency.StageTimerRegistry;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Creates one {@link ResiliencePipeline} per backend name from the Resilience4j registries and caches it.
+ */
+@Component
+public class ResiliencePipelineRegistry {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final StageTimerRegistry stageTimerRegistry;
+    private final Map<String, ResiliencePipeline> pipelines = new ConcurrentHashMap<>();
+
+    public ResiliencePipelineRegistry(CircuitBreakerRegistry circuitBreakerRegistry,
+                                      BulkheadRegistry bulkheadRegistry,
+                                      ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+                                      RetryRegistry retryRegistry,
+                                      TimeLimiterRegistry timeLimiterRegistry,
+                                      @Qualifier("resilienceScheduler") ScheduledExecutorService scheduledExecutorService,
+                                      StageTimerRegistry stageTimerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.threadPoolBulkheadRegistry = threadPoolBulkheadRegistry;
+        this.retryRegistry = retryRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.stageTimerRegistry = stageTimerRegistry;
+    }
+
+    public ResiliencePipeline pipeline(String name) {
+        return pipelines.computeIfAbsent(name, this::createPipeline);
+    }
+
+    private ResiliencePipeline createPipeline(String name) {
+        return new ResiliencePipeline(name,
+                circuitBreakerRegistry.circuitBreaker(name),
+                bulkheadRegistry.bulkhead(name),
+                threadPoolBulkheadRegistry.bulkhead(name),
+                retryRegistry.retry(name),
+                timeLimiterRegistry.timeLimiter(name),
+                scheduledExecutorService,
+                stageTimerRegistry.stageTimers(name));
+    }
+}
@@ -0,0 +1,194 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A rate limiter per client key, so one client exhausting its permits does not throttle the others. The limiters are
+ * kept in LRU segments holding at most {@code maxClients} of them together; an evicted client starts over with a full
+ * limiter, which is why maxClients should comfortably exceed the number of clients active within one refresh period.
+ */
+public class KeyedRateLimiter {
+
+    private static final int SEGMENTS = 16;
+
+    private final String name;
+    private final KeyedRateLimiterConfig config;
+    private final RateLimiterConfig fixedWindowConfig;
+    private final LongSupplier nanoTime;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder permitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int limitForPeriod;
+
+    public KeyedRateLimiter(String name, KeyedRateLimiterConfig config) {
+        this(name, config, System::nanoTime);
+    }
+
+    KeyedRateLimiter(String name, KeyedRateLimiterConfig config, LongSupplier nanoTime) {
+        this.name = name;
+        this.config = config;
+        this.nanoTime = nanoTime;
+        this.limitForPeriod = config.getLimitForPeriod();
+        this.fixedWindowConfig = RateLimiterConfig.custom()
+                .limitForPeriod(config.getLimitForPeriod())
+                .limitRefreshPeriod(config.getLimitRefreshPeriod())
+                .timeoutDuration(config.getTimeoutDuration())
+                .build();
+        int segmentSize = Math.max(1, config.getMaxClients() / SEGMENTS);
+        Arrays.setAll(segments, i -> new Segment(segmentSize));
+    }
+
+    /**
+     * Reserves a permit of the client if one is available within the timeout.
+     *
+     * @return the nanoseconds to wait for the reserved permit, 0 when it is available now, or -1 when the client has
+     * no permit within the timeout
+     */
+    public long reservePermission(String key) {
+        long wait = limiterFor(key).reservePermission();
+        if (wait < 0) {
+            rejected.increment();
+        } else {
+            permitted.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * When a rejected client may try again: the time to its next permit.
+     */
+    public Duration getRetryAfter(String key) {
+        ClientLimiter limiter = limiterFor(key);
+        return limiter instanceof TokenBucketLimiter bucket ? bucket.tokenBucket().getWaitTime() : config.getLimitRefreshPeriod();
+    }
+
+    private ClientLimiter limiterFor(String key) {
+        Segment segment = segments[Math.floorMod(key.hashCode(), SEGMENTS)];
+        synchronized (segment) {
+            ClientLimiter limiter = segment.get(key);
+            if (limiter == null) {
+                limiter = createLimiter(key);
+                segment.put(key, limiter);
+            }
+            return limiter;
+        }
+    }
+
+    /**
+     * Changes the permits per period of every client, e.g. to a share of the configured limit.
+     */
+    public void changeLimitForPeriod(int limitForPeriod) {
+        this.limitForPeriod = Math.max(1, limitForPeriod);
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.values().forEach(limiter -> limiter.changeLimitForPeriod(this.limitForPeriod));
+            }
+        }
+    }
+
+    /**
+     * The current permits per period of every client; the configured ones are in {@link #getConfig()}.
+     */
+    public int getLimitForPeriod() {
+        return limitForPeriod;
+    }
+
+    private ClientLimiter createLimiter(String key) {
+        ClientLimiter limiter = config.getMode() == KeyedRateLimiterConfig.Mode.FIXED_WINDOW
+                ? new FixedWindowLimiter(RateLimiter.of(name + ":" + key, fixedWindowConfig))
+                : new TokenBucketLimiter(new TokenBucket(config.getLimitForPeriod(), config.getLimitRefreshPeriod(),
+                        config.getBurstCapacity(), config.getTimeoutDuration(), nanoTime));
+        if (limitForPeriod != config.getLimitForPeriod()) {
+            limiter.changeLimitForPeriod(limitForPeriod);
+        }
+        return limiter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public KeyedRateLimiterConfig getConfig() {
+        return config;
+    }
+
+    public long getNumberOfPermittedCalls() {
+        return permitted.sum();
+    }
+
+    public long getNumberOfRejectedCalls() {
+        return rejected.sum();
+    }
+
+    public long getNumberOfEvictions() {
+        return evictions.sum();
+    }
+
+    public int getNumberOfClients() {
+        int clients = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                clients += segment.size();
+            }
+        }
+        return clients;
+    }
+
+    private interface ClientLimiter {
+        long reservePermission();
+
+        void changeLimitForPeriod(int limitForPeriod);
+    }
+
+    private record FixedWindowLimiter(RateLimiter rateLimiter) implements ClientLimiter {
+        @Override
+        public long reservePermission() {
+            return rateLimiter.reservePermission();
+        }
+
+        @Override
+        public void changeLimitForPeriod(int limitForPeriod) {
+            rateLimiter.changeLimitForPeriod(limitForPeriod);
+        }
+    }
+
+    private record TokenBucketLimiter(TokenBucket tokenBucket) implements ClientLimiter {
+        @Override
+        public long reservePermission() {
+            return tokenBucket.reservePermission();
+        }
+
+        @Override
+        public void changeLimitForPeriod(int limitForPeriod) {
+            tokenBucket.changeLimitForPeriod(limitForPeriod);
+        }
+    }
+
+    private class Segment extends LinkedHashMap<String, ClientLimiter> {
+
+        private final int maximumSize;
+
+        Segment(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ClientLimiter> eldest) {
+            if (size() > maximumSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
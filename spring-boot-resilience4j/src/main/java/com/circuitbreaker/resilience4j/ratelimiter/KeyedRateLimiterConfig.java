@@ -0,0 +1,125 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of a {@link KeyedRateLimiter}: every client gets {@code limitForPeriod} permits per
+ * {@code limitRefreshPeriod} and waits up to {@code timeoutDuration} for one. {@code burstCapacity} is the number of
+ * permits a {@link Mode#TOKEN_BUCKET} client may take at once, by default {@code limitForPeriod}. At most
+ * {@code maxClients} clients are tracked.
+ */
+public class KeyedRateLimiterConfig {
+
+    public enum Mode {
+        /**
+         * A Resilience4j {@link io.github.resilience4j.ratelimiter.RateLimiter} per client, which hands out
+         * limitForPeriod permits at the start of every refresh period.
+         */
+        FIXED_WINDOW,
+        /**
+         * A {@link TokenBucket} per client, which adds the permits evenly over the period.
+         */
+        TOKEN_BUCKET
+    }
+
+    private final Mode mode;
+    private final int limitForPeriod;
+    private final Duration limitRefreshPeriod;
+    private final Duration timeoutDuration;
+    private final int burstCapacity;
+    private final int maxClients;
+
+    private KeyedRateLimiterConfig(Builder builder) {
+        this.mode = builder.mode;
+        this.limitForPeriod = builder.limitForPeriod;
+        this.limitRefreshPeriod = builder.limitRefreshPeriod;
+        this.timeoutDuration = builder.timeoutDuration;
+        this.burstCapacity = builder.burstCapacity > 0 ? builder.burstCapacity : builder.limitForPeriod;
+        this.maxClients = builder.maxClients;
+    }
+
+    public static KeyedRateLimiterConfig ofDefaults() {
+        return custom().build();
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getLimitForPeriod() {
+        return limitForPeriod;
+    }
+
+    public Duration getLimitRefreshPeriod() {
+        return limitRefreshPeriod;
+    }
+
+    public Duration getTimeoutDuration() {
+        return timeoutDuration;
+    }
+
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public static class Builder {
+
+        private Mode mode = Mode.TOKEN_BUCKET;
+        private int limitForPeriod = 50;
+        private Duration limitRefreshPeriod = Duration.ofNanos(500);
+        private Duration timeoutDuration = Duration.ofSeconds(5);
+        private int burstCapacity;
+        private int maxClients = 10_000;
+
+        public Builder mode(Mode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        public Builder limitForPeriod(int limitForPeriod) {
+            this.limitForPeriod = limitForPeriod;
+            return this;
+        }
+
+        public Builder limitRefreshPeriod(Duration limitRefreshPeriod) {
+            this.limitRefreshPeriod = limitRefreshPeriod;
+            return this;
+        }
+
+        public Builder timeoutDuration(Duration timeoutDuration) {
+            this.timeoutDuration = timeoutDuration;
+            return this;
+        }
+
+        /**
+         * 0 for limitForPeriod.
+         */
+        public Builder burstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public Builder maxClients(int maxClients) {
+            this.maxClients = maxClients;
+            return this;
+        }
+
+        public KeyedRateLimiterConfig build() {
+            if (limitForPeriod < 1 || burstCapacity < 0) {
+                throw new IllegalArgumentException("limitForPeriod must be greater than 0 and burstCapacity not negative");
+            }
+            if (maxClients < 1) {
+                throw new IllegalArgumentException("maxClients must be greater than 0");
+            }
+            return new KeyedRateLimiterConfig(this);
+        }
+    }
+}
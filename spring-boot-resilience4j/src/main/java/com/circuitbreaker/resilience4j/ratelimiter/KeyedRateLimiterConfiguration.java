@@ -0,0 +1,28 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keyed rate limiter instances and the web filter applying them per client.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(KeyedRateLimiterProperties.class)
+public class KeyedRateLimiterConfiguration {
+
+    @Bean
+    public KeyedRateLimiterRegistry keyedRateLimiterRegistry(KeyedRateLimiterProperties properties,
+                                                             RateLimiterRegistry rateLimiterRegistry,
+                                                             MeterRegistry meterRegistry) {
+        return new KeyedRateLimiterRegistry(properties, rateLimiterRegistry, meterRegistry);
+    }
+
+    @Bean
+    public KeyedRateLimiterWebFilter keyedRateLimiterWebFilter(KeyedRateLimiterRegistry keyedRateLimiterRegistry,
+                                                               KeyedRateLimiterProperties properties) {
+        return new KeyedRateLimiterWebFilter(keyedRateLimiterRegistry, properties);
+    }
+}
@@ -0,0 +1,126 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyed rate limiter instances, per instance name:
+ *
+ * <pre>
+ * resilience4j.keyed-ratelimiter:
+ *   instances:
+ *     backend-b:
+ *       path-pattern: /backend-b/**
+ *       mode: token-bucket
+ *       rate-limiter: backendB
+ *       burst-capacity: 12
+ *       max-clients: 10000
+ * </pre>
+ *
+ * The limit-for-period, limit-refresh-period and timeout-duration of every client come from the
+ * {@code resilience4j.ratelimiter} instance named by rate-limiter, by default the instance name. Requests matching
+ * path-pattern are limited per remote address. With a key-header they are limited per value of that header instead,
+ * which the client chooses: a client rotating it escapes its limit and evicts the buckets of other clients. Set it
+ * only behind a gateway which authenticates the header or overwrites it.
+ */
+@ConfigurationProperties(prefix = KeyedRateLimiterProperties.PREFIX)
+public class KeyedRateLimiterProperties {
+
+    public static final String PREFIX = "resilience4j.keyed-ratelimiter";
+
+    // ahead of the other web filters, a rejected request should cost as little as possible
+    private int webFilterOrder = Ordered.HIGHEST_PRECEDENCE + 10;
+    private Map<String, InstanceProperties> instances = new HashMap<>();
+
+    public int getWebFilterOrder() {
+        return webFilterOrder;
+    }
+
+    public void setWebFilterOrder(int webFilterOrder) {
+        this.webFilterOrder = webFilterOrder;
+    }
+
+    public Map<String, InstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, InstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public KeyedRateLimiterConfig createKeyedRateLimiterConfig(String name, Function<String, RateLimiterConfig> rateLimiterConfigs) {
+        InstanceProperties instance = instances.getOrDefault(name, new InstanceProperties());
+        RateLimiterConfig rate = rateLimiterConfigs.apply(instance.getRateLimiter() != null ? instance.getRateLimiter() : name);
+        return KeyedRateLimiterConfig.custom()
+                .mode(instance.getMode())
+                .limitForPeriod(rate.getLimitForPeriod())
+                .limitRefreshPeriod(rate.getLimitRefreshPeriod())
+                .timeoutDuration(rate.getTimeoutDuration())
+                .burstCapacity(instance.getBurstCapacity())
+                .maxClients(instance.getMaxClients())
+                .build();
+    }
+
+    public static class InstanceProperties {
+
+        private String pathPattern;
+        private KeyedRateLimiterConfig.Mode mode = KeyedRateLimiterConfig.Mode.TOKEN_BUCKET;
+        private String rateLimiter;
+        private int burstCapacity;
+        private String keyHeader;
+        private int maxClients = 10_000;
+
+        public String getPathPattern() {
+            return pathPattern;
+        }
+
+        public void setPathPattern(String pathPattern) {
+            this.pathPattern = pathPattern;
+        }
+
+        public KeyedRateLimiterConfig.Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(KeyedRateLimiterConfig.Mode mode) {
+            this.mode = mode;
+        }
+
+        public String getRateLimiter() {
+            return rateLimiter;
+        }
+
+        public void setRateLimiter(String rateLimiter) {
+            this.rateLimiter = rateLimiter;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public String getKeyHeader() {
+            return keyHeader;
+        }
+
+        public void setKeyHeader(String keyHeader) {
+            this.keyHeader = keyHeader;
+        }
+
+        public int getMaxClients() {
+            return maxClients;
+        }
+
+        public void setMaxClients(int maxClients) {
+            this.maxClients = maxClients;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates one {@link KeyedRateLimiter} per name from {@link KeyedRateLimiterProperties}, caches it and publishes its
+ * metrics.
+ */
+public class KeyedRateLimiterRegistry {
+
+    private final KeyedRateLimiterProperties properties;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, KeyedRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    public KeyedRateLimiterRegistry(KeyedRateLimiterProperties properties, RateLimiterRegistry rateLimiterRegistry,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public KeyedRateLimiter rateLimiter(String name) {
+        return rateLimiters.computeIfAbsent(name, this::createRateLimiter);
+    }
+
+    public Collection<KeyedRateLimiter> getAllRateLimiters() {
+        return rateLimiters.values();
+    }
+
+    private KeyedRateLimiter createRateLimiter(String name) {
+        KeyedRateLimiter rateLimiter = new KeyedRateLimiter(name, properties.createKeyedRateLimiterConfig(name,
+                rateLimiterName -> rateLimiterRegistry.rateLimiter(rateLimiterName).getRateLimiterConfig()));
+        FunctionCounter.builder("resilience.ratelimiter.keyed.permitted", rateLimiter, KeyedRateLimiter::getNumberOfPermittedCalls)
+                .description("Number of calls which got a permit, possibly after waiting for it")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.ratelimiter.keyed.rejected", rateLimiter, KeyedRateLimiter::getNumberOfRejectedCalls)
+                .description("Number of calls rejected because their client had no permit within the timeout")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.ratelimiter.keyed.evictions", rateLimiter, KeyedRateLimiter::getNumberOfEvictions)
+                .description("Number of client limiters evicted to stay within max-clients")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.ratelimiter.keyed.clients", rateLimiter, KeyedRateLimiter::getNumberOfClients)
+                .description("Number of clients with a limiter")
+                .tag("name", name)
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+}
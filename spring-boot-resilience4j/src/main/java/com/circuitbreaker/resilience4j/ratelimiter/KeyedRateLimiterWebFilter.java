@@ -0,0 +1,88 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the keyed rate limiters to the requests matching their path pattern. A request waits for the permit of its
+ * client up to the timeout, without holding a thread, and is answered with 429 and Retry-After without one. The client
+ * is the remote address, or the value of the key header where one is configured.
+ */
+public class KeyedRateLimiterWebFilter implements WebFilter, Ordered {
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final List<Route> routes = new ArrayList<>();
+    private final int order;
+
+    public KeyedRateLimiterWebFilter(KeyedRateLimiterRegistry registry, KeyedRateLimiterProperties properties) {
+        this.order = properties.getWebFilterOrder();
+        for (Map.Entry<String, KeyedRateLimiterProperties.InstanceProperties> instance : properties.getInstances().entrySet()) {
+            if (instance.getValue().getPathPattern() != null) {
+                routes.add(new Route(PathPatternParser.defaultInstance.parse(instance.getValue().getPathPattern()),
+                        instance.getValue().getKeyHeader(), registry.rateLimiter(instance.getKey())));
+            }
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (Route route : routes) {
+            if (route.pattern().matches(path)) {
+                return limit(route, exchange, chain);
+            }
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> limit(Route route, ServerWebExchange exchange, WebFilterChain chain) {
+        String key = clientKey(exchange.getRequest(), route.keyHeader());
+        long wait = route.rateLimiter().reservePermission(key);
+        if (wait == 0) {
+            return chain.filter(exchange);
+        }
+        if (wait > 0) {
+            return Mono.delay(Duration.ofNanos(wait)).then(chain.filter(exchange));
+        }
+        long retryAfterSeconds = Math.max(1, (route.rateLimiter().getRetryAfter(key).toMillis() + 999) / 1000);
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String clientKey(ServerHttpRequest request, String keyHeader) {
+        String key = keyHeader != null ? request.getHeaders().getFirst(keyHeader) : null;
+        if (key != null && !key.isBlank()) {
+            return key.trim();
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return UNKNOWN_CLIENT;
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    private record Route(PathPattern pattern, String keyHeader, KeyedRateLimiter rateLimiter) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket as the generic cell rate algorithm: a permit is added every {@code interval}, up to
+ * {@code burstCapacity} permits are kept, and the whole state is the time at which the bucket is full again, so a
+ * reservation is a single compare-and-set. Permits are added continuously instead of all at once at the start of a
+ * refresh period, so waiting callers do not all wake up at the same instant.
+ */
+public class TokenBucket {
+
+    private final Duration period;
+    private final int permits;
+    private final int burstCapacity;
+    private final long timeout;
+    private final LongSupplier nanoTime;
+    // theoretical arrival time: the bucket holds burstCapacity permits again at this time
+    private final AtomicLong fullAt;
+    private volatile Rate rate;
+
+    public TokenBucket(int permits, Duration period, int burstCapacity, Duration timeout) {
+        this(permits, period, burstCapacity, timeout, System::nanoTime);
+    }
+
+    TokenBucket(int permits, Duration period, int burstCapacity, Duration timeout, LongSupplier nanoTime) {
+        if (permits < 1 || burstCapacity < 1) {
+            throw new IllegalArgumentException("permits and burstCapacity must be at least 1");
+        }
+        this.period = period;
+        this.permits = permits;
+        this.burstCapacity = burstCapacity;
+        this.rate = Rate.of(permits, period, burstCapacity);
+        this.timeout = timeout.toNanos();
+        this.nanoTime = nanoTime;
+        this.fullAt = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Reserves a permit if one is available within the timeout.
+     *
+     * @return the nanoseconds to wait for the reserved permit, 0 when it is available now, or -1 when no permit is
+     * available within the timeout
+     */
+    public long reservePermission() {
+        Rate rate = this.rate;
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long wait = Math.max(0, start - rate.burstTolerance() - now);
+            if (wait > timeout) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, start + rate.interval())) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Time until the next permit is available.
+     */
+    public Duration getWaitTime() {
+        long now = nanoTime.getAsLong();
+        return Duration.ofNanos(Math.max(0, fullAt.get() - rate.burstTolerance() - now));
+    }
+
+    /**
+     * Changes the permits per period, the burst capacity keeps its ratio to them.
+     */
+    public void changeLimitForPeriod(int limitForPeriod) {
+        int limit = Math.max(1, limitForPeriod);
+        rate = Rate.of(limit, period, Math.max(1, (int) ((long) burstCapacity * limit / permits)));
+    }
+
+    private record Rate(long interval, long burstTolerance) {
+
+        static Rate of(int permits, Duration period, int burstCapacity) {
+            long interval = Math.max(1, period.toNanos() / permits);
+            return new Rate(interval, (burstCapacity - 1) * interval);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.core.functions.Either;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decorrelated jitter: every wait is drawn at random between the initial interval and three times the previous wait,
+ * capped at the max interval, so the retries of many callers which failed together spread out instead of arriving in
+ * lockstep.
+ *
+ * Resilience4j passes the attempt number but not the previous wait, so the previous wait is taken at the top of its
+ * range: the n-th wait is drawn between the initial interval and the initial interval times 3^n.
+ */
+public class DecorrelatedJitterBackoff implements IntervalBiFunction<Object> {
+
+    private static final double GROWTH = 3;
+
+    private final long initialMillis;
+    private final long maxMillis;
+
+    public DecorrelatedJitterBackoff(Duration initialInterval, Duration maxInterval) {
+        if (initialInterval.isNegative() || maxInterval.compareTo(initialInterval) < 0) {
+            throw new IllegalArgumentException("The max interval must not be shorter than the initial interval");
+        }
+        this.initialMillis = initialInterval.toMillis();
+        this.maxMillis = maxInterval.toMillis();
+    }
+
+    @Override
+    public Long apply(Integer attempt, Either<Throwable, Object> result) {
+        long upper = (long) Math.min(maxMillis, initialMillis * Math.pow(GROWTH, attempt));
+        return upper <= initialMillis ? initialMillis : ThreadLocalRandom.current().nextLong(initialMillis, upper + 1);
+    }
+}
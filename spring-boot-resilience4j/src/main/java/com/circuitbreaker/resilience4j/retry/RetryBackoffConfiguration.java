@@ -0,0 +1,20 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics of the retry budgets registered by {@link RetryBackoffRegistrar}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RetryBackoffConfiguration {
+
+    @Bean
+    public RetryBudgetRegistry retryBudgetRegistry(ObjectProvider<RetryBudget> budgets, RetryRegistry retryRegistry,
+                                                   MeterRegistry meterRegistry) {
+        return new RetryBudgetRegistry(budgets.orderedStream().toList(), retryRegistry, meterRegistry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Jittered backoff and retry budget of a retry instance, per instance name of {@code resilience4j.retry.instances}:
+ *
+ * <pre>
+ * resilience4j.retry-backoff:
+ *   instances:
+ *     north-europe:
+ *       initial-interval: 100ms
+ *       max-interval: 5s
+ *       budget-ratio: 0.1
+ *       budget-window: 10s
+ *       min-retries-per-second: 1
+ * </pre>
+ *
+ * The backoff replaces the wait duration of the retry. Every instance gets a budget of its own, so the entries are
+ * instance names and not config names.
+ */
+@ConfigurationProperties(prefix = RetryBackoffProperties.PREFIX)
+public class RetryBackoffProperties {
+
+    public static final String PREFIX = "resilience4j.retry-backoff";
+
+    private Map<String, InstanceProperties> instances = new HashMap<>();
+
+    public Map<String, InstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, InstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public static class InstanceProperties {
+
+        private Duration initialInterval = Duration.ofMillis(100);
+        private Duration maxInterval = Duration.ofSeconds(5);
+        private double budgetRatio = 0.1;
+        private Duration budgetWindow = Duration.ofSeconds(10);
+        private double minRetriesPerSecond = 1;
+
+        public DecorrelatedJitterBackoff createBackoff() {
+            return new DecorrelatedJitterBackoff(initialInterval, maxInterval);
+        }
+
+        public RetryBudget createBudget(String name) {
+            return new RetryBudget(name, budgetRatio, budgetWindow, minRetriesPerSecond);
+        }
+
+        public Duration getInitialInterval() {
+            return initialInterval;
+        }
+
+        public void setInitialInterval(Duration initialInterval) {
+            this.initialInterval = initialInterval;
+        }
+
+        public Duration getMaxInterval() {
+            return maxInterval;
+        }
+
+        public void setMaxInterval(Duration maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public Duration getBudgetWindow() {
+            return budgetWindow;
+        }
+
+        public void setBudgetWindow(Duration budgetWindow) {
+            this.budgetWindow = budgetWindow;
+        }
+
+        public double getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(double minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+    }
+}
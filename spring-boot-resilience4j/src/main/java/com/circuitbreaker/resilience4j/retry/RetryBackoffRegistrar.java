@@ -0,0 +1,50 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import io.github.resilience4j.core.IntervalBiFunction;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers a {@link RetryBudget} and a {@link RetryConfigCustomizer} per entry of {@link RetryBackoffProperties}.
+ * The customizer replaces the wait duration of the retry instance with a {@link DecorrelatedJitterBackoff} that first
+ * takes a retry from the budget, so {@code @Retry} picks both up without any change to the annotated service.
+ *
+ * An exhausted budget answers a negative wait, which makes Resilience4j give up and rethrow the last failure.
+ */
+@Component
+public class RetryBackoffRegistrar implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+    private RetryBackoffProperties properties = new RetryBackoffProperties();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.properties = Binder.get(environment)
+                .bind(RetryBackoffProperties.PREFIX, RetryBackoffProperties.class)
+                .orElseGet(RetryBackoffProperties::new);
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        properties.getInstances().forEach((name, instance) -> {
+            RetryBudget budget = instance.createBudget(name);
+            IntervalBiFunction<Object> interval = budgeted(instance.createBackoff(), budget);
+            registry.registerBeanDefinition("retryBudget-" + name, BeanDefinitionBuilder
+                    .genericBeanDefinition(RetryBudget.class, () -> budget)
+                    .getBeanDefinition());
+            registry.registerBeanDefinition("retryBackoffCustomizer-" + name, BeanDefinitionBuilder
+                    .genericBeanDefinition(RetryConfigCustomizer.class, () -> RetryConfigCustomizer
+                            .of(name, builder -> builder.intervalBiFunction(interval)))
+                    .getBeanDefinition());
+        });
+    }
+
+    static IntervalBiFunction<Object> budgeted(IntervalBiFunction<Object> backoff, RetryBudget budget) {
+        return (attempt, result) -> budget.tryAcquireRetry() ? backoff.apply(attempt, result) : -1L;
+    }
+}
@@ -0,0 +1,141 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the retries of one backend at a share of its calls over a sliding window, so that retries add at most that
+ * share to the load of a failing backend instead of multiplying it by the number of attempts. A minimum number of
+ * retries per second is always granted, so a backend with little traffic can still retry.
+ *
+ * The window is split into ten buckets. The calls are not recorded one by one: the budget reads the attempts of its
+ * {@link io.github.resilience4j.retry.Retry} whenever it decides on a retry, takes off the retries it granted itself
+ * and spreads the new calls evenly over the buckets since it last looked.
+ */
+public class RetryBudget {
+
+    private static final int BUCKETS = 10;
+
+    private final String name;
+    private final double ratio;
+    private final long minRetries;
+    private final long bucketNanos;
+    private final LongSupplier nanoTime;
+    private final long[] calls = new long[BUCKETS];
+    private final long[] retries = new long[BUCKETS];
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private volatile LongSupplier attempts = () -> 0;
+    private long currentBucket;
+    private long lastSyncBucket;
+    private long lastCalls;
+
+    public RetryBudget(String name, double ratio, Duration window, double minRetriesPerSecond) {
+        this(name, ratio, window, minRetriesPerSecond, System::nanoTime);
+    }
+
+    RetryBudget(String name, double ratio, Duration window, double minRetriesPerSecond, LongSupplier nanoTime) {
+        if (ratio < 0 || window.isNegative() || window.isZero() || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("Invalid retry budget for " + name);
+        }
+        this.name = name;
+        this.ratio = ratio;
+        this.minRetries = (long) (minRetriesPerSecond * window.toNanos() / 1e9);
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+        this.nanoTime = nanoTime;
+        this.currentBucket = nanoTime.getAsLong() / bucketNanos;
+        this.lastSyncBucket = currentBucket;
+    }
+
+    /**
+     * Counts the calls from the attempts of the retry, which include the retries.
+     */
+    public synchronized void trackAttempts(LongSupplier attempts) {
+        this.attempts = attempts;
+        this.lastCalls = attempts.getAsLong() - granted.sum();
+    }
+
+    /**
+     * Takes one retry from the budget, or returns false when the retries in the window already reached their share.
+     */
+    public synchronized boolean tryAcquireRetry() {
+        update();
+        if (sum(retries) < getAllowedRetries()) {
+            retries[index(currentBucket)]++;
+            granted.increment();
+            return true;
+        }
+        exhausted.increment();
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized long getCalls() {
+        update();
+        return sum(calls);
+    }
+
+    public synchronized long getRetries() {
+        update();
+        return sum(retries);
+    }
+
+    public synchronized long getAvailableRetries() {
+        update();
+        return Math.max(0, getAllowedRetries() - sum(retries));
+    }
+
+    public long getNumberOfGrantedRetries() {
+        return granted.sum();
+    }
+
+    public long getNumberOfExhaustedRetries() {
+        return exhausted.sum();
+    }
+
+    private long getAllowedRetries() {
+        return Math.max(minRetries, (long) (ratio * sum(calls)));
+    }
+
+    private void update() {
+        long bucket = nanoTime.getAsLong() / bucketNanos;
+        for (long expired = currentBucket + 1; expired <= bucket && expired <= currentBucket + BUCKETS; expired++) {
+            calls[index(expired)] = 0;
+            retries[index(expired)] = 0;
+        }
+        currentBucket = Math.max(currentBucket, bucket);
+
+        long totalCalls = attempts.getAsLong() - granted.sum();
+        long newCalls = totalCalls - lastCalls;
+        if (newCalls <= 0) {
+            // a granted retry is taken off before its attempt is counted
+            return;
+        }
+        lastCalls = totalCalls;
+        // the calls happened since the last look, the part of them older than the window is dropped
+        long span = currentBucket - lastSyncBucket + 1;
+        int spread = (int) Math.min(BUCKETS, span);
+        long inWindow = newCalls * spread / span;
+        for (int i = 0; i < spread; i++) {
+            calls[index(currentBucket - i)] += inWindow / spread;
+        }
+        calls[index(currentBucket)] += inWindow % spread;
+        lastSyncBucket = currentBucket;
+    }
+
+    private static int index(long bucket) {
+        return (int) Math.floorMod(bucket, (long) BUCKETS);
+    }
+
+    private static long sum(long[] buckets) {
+        long sum = 0;
+        for (long value : buckets) {
+            sum += value;
+        }
+        return sum;
+    }
+}
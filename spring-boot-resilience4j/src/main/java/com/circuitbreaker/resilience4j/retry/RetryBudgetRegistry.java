@@ -0,0 +1,50 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the {@link RetryBudget} of every retry instance which has one, lets each count the calls of its retry and
+ * publishes its metrics.
+ */
+public class RetryBudgetRegistry {
+
+    private final Map<String, RetryBudget> budgets;
+
+    public RetryBudgetRegistry(Collection<RetryBudget> budgets, RetryRegistry retryRegistry, MeterRegistry meterRegistry) {
+        this.budgets = budgets.stream().collect(Collectors.toUnmodifiableMap(RetryBudget::getName, Function.identity()));
+        this.budgets.values().forEach(budget -> {
+            Retry.Metrics metrics = retryRegistry.retry(budget.getName()).getMetrics();
+            budget.trackAttempts(metrics::getNumberOfTotalCalls);
+            register(budget, meterRegistry);
+        });
+    }
+
+    public Optional<RetryBudget> getBudget(String name) {
+        return Optional.ofNullable(budgets.get(name));
+    }
+
+    private static void register(RetryBudget budget, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("resilience.retry.budget.granted", budget, RetryBudget::getNumberOfGrantedRetries)
+                .description("Number of retries granted by the retry budget")
+                .tag("name", budget.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.retry.budget.exhausted", budget, RetryBudget::getNumberOfExhaustedRetries)
+                .description("Number of retries not made because the retry budget was exhausted")
+                .tag("name", budget.getName())
+                .register(meterRegistry);
+        Gauge.builder("resilience.retry.budget.available", budget, RetryBudget::getAvailableRetries)
+                .description("Number of retries left in the current window of the retry budget")
+                .tag("name", budget.getName())
+                .register(meterRegistry);
+    }
+}
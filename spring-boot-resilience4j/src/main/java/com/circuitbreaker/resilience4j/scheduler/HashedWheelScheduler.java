@@ -0,0 +1,255 @@
+package com.circuitbreaker.resilience4j.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link ScheduledExecutorService} for timeouts and retry delays, backed by a Netty {@link HashedWheelTimer}.
+ * Scheduling and cancelling a task are O(1) and lock-free, so many pending TimeLimiter timeouts cost one wheel slot each
+ * instead of a heap entry in a locked delay queue. Deadlines are rounded up to the tick duration.
+ *
+ * Expired tasks are handed to a small worker pool, so a slow task never delays the wheel. The number of pending tasks
+ * and the lag between deadline and actual start of a task are published through Micrometer.
+ * A periodic task takes a new wheel slot for its next run when a run completes, like the periodic tasks of
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}: runs never overlap, and a run which throws ends the task.
+ *
+ * Shutting down follows the defaults of {@link java.util.concurrent.ScheduledThreadPoolExecutor} as well:
+ * {@link #shutdown()} cancels the periodic tasks but still runs the delayed one-shot tasks at their deadline, and the
+ * scheduler terminates after the last of them. {@link #shutdownNow()} cancels every task which has not started yet and
+ * returns them, so nobody waits on a future which never completes.
+ */
+public class HashedWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService, MeterBinder {
+
+    private final String name;
+    private final HashedWheelTimer timer;
+    private final ExecutorService workers;
+    private final Set<WheelTask<?>> scheduled = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private volatile Timer lag;
+    private volatile boolean shutdown;
+
+    public HashedWheelScheduler(String name, Duration tickDuration, int ticksPerWheel, int workerThreads) {
+        this.name = name;
+        this.workers = Executors.newFixedThreadPool(workerThreads, new DefaultThreadFactory(name + "-worker", true));
+        this.timer = new HashedWheelTimer(new DefaultThreadFactory(name + "-wheel", true),
+                tickDuration.toNanos(), TimeUnit.NANOSECONDS, ticksPerWheel, false, -1, workers);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("resilience.scheduler.pending", timer, HashedWheelTimer::pendingTimeouts)
+                .description("Number of scheduled tasks waiting for their deadline")
+                .tag("name", name)
+                .register(registry);
+        this.lag = Timer.builder("resilience.scheduler.lag")
+                .description("Delay between the deadline of a task and the start of its execution")
+                .tag("name", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new WheelTask<>(callable, System.nanoTime() + unit.toNanos(delay), 0), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return schedule(new WheelTask<>(Executors.callable(command, null),
+                System.nanoTime() + unit.toNanos(initialDelay), unit.toNanos(period)), initialDelay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return schedule(new WheelTask<>(Executors.callable(command, null),
+                System.nanoTime() + unit.toNanos(initialDelay), -unit.toNanos(delay)), initialDelay, unit);
+    }
+
+    private <V> ScheduledFuture<V> schedule(WheelTask<V> task, long delay, TimeUnit unit) {
+        if (shutdown) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        scheduled.add(task);
+        // a shutdown which started after the check above may not have seen the task
+        if (shutdown && scheduled.remove(task)) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        try {
+            task.timeout = timer.newTimeout(task, delay, unit);
+        } catch (IllegalStateException e) {
+            // the wheel has been stopped by shutdownNow meanwhile
+            task.cancel(false);
+            throw new RejectedExecutionException(name + " has been shut down", e);
+        }
+        return task;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        workers.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (WheelTask<?> task : scheduled) {
+            if (task.periodNanos != 0) {
+                task.cancel(false);
+            }
+        }
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        stopped.set(true);
+        List<Runnable> tasks = new ArrayList<>();
+        for (Timeout timeout : timer.stop()) {
+            tasks.add(cancel(timeout.task()));
+        }
+        // expired tasks still queued for a worker are the Netty timeouts themselves
+        for (Runnable runnable : workers.shutdownNow()) {
+            tasks.add(runnable instanceof Timeout timeout ? cancel(timeout.task()) : runnable);
+        }
+        for (WheelTask<?> task : scheduled) {
+            task.cancel(false);
+        }
+        return tasks;
+    }
+
+    private Runnable cancel(TimerTask task) {
+        WheelTask<?> wheelTask = (WheelTask<?>) task;
+        wheelTask.cancel(false);
+        return wheelTask;
+    }
+
+    // stops the wheel and the workers once shut down and every scheduled task is done
+    private void tryTerminate() {
+        if (shutdown && scheduled.isEmpty() && stopped.compareAndSet(false, true)) {
+            timer.stop();
+            workers.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    private final class WheelTask<V> extends FutureTask<V> implements ScheduledFuture<V>, TimerTask {
+
+        // positive for a fixed rate, negative for a fixed delay, 0 for a one-shot task
+        private final long periodNanos;
+        private volatile long deadlineNanos;
+        private volatile Timeout timeout;
+
+        private WheelTask(Callable<V> callable, long deadlineNanos, long periodNanos) {
+            super(callable);
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            Timer lag = HashedWheelScheduler.this.lag;
+            if (lag != null) {
+                lag.record(Math.max(0, System.nanoTime() - deadlineNanos), TimeUnit.NANOSECONDS);
+            }
+            if (periodNanos == 0) {
+                run();
+            } else if (runAndReset()) {
+                if (shutdown) {
+                    cancel(false);
+                    return;
+                }
+                long now = System.nanoTime();
+                deadlineNanos = periodNanos > 0 ? deadlineNanos + periodNanos : now - periodNanos;
+                try {
+                    this.timeout = timer.newTimeout(this, Math.max(0, deadlineNanos - now), TimeUnit.NANOSECONDS);
+                } catch (IllegalStateException e) {
+                    // the wheel has been stopped meanwhile
+                    cancel(false);
+                    return;
+                }
+                // a cancel between the run and the new slot did not see the new slot
+                if (isCancelled()) {
+                    this.timeout.cancel();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Timeout timeout = this.timeout;
+            if (cancelled && timeout != null) {
+                timeout.cancel();
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            scheduled.remove(this);
+            tryTerminate();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.circuitbreaker.resilience4j.scheduler;
+
+import io.github.resilience4j.core.ContextAwareScheduledThreadPoolExecutor;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The schedulers behind TimeLimiter timeouts and Retry delays.
+ *
+ * Programmatic decorators (see {@link com.circuitbreaker.resilience4j.pipeline.ResiliencePipelineRegistry}) share the
+ * {@link HashedWheelScheduler}. The {@code @TimeLimiter} and {@code @Retry} aspects only accept a
+ * {@link ContextAwareScheduledThreadPoolExecutor}; they share the one configured with
+ * {@code resilience4j.scheduled.executor.core-pool-size}, which is metered here as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SchedulerProperties.class)
+public class SchedulerConfiguration {
+
+    public static final String RESILIENCE_SCHEDULER = "resilience-scheduler";
+
+    @Bean
+    public HashedWheelScheduler resilienceScheduler(SchedulerProperties properties) {
+        return new HashedWheelScheduler(RESILIENCE_SCHEDULER, properties.getTickDuration(),
+                properties.getTicksPerWheel(), properties.getWorkerThreads());
+    }
+
+    @Bean
+    public MeterBinder aspectSchedulerMetrics(ObjectProvider<ContextAwareScheduledThreadPoolExecutor> aspectScheduler) {
+        return registry -> aspectScheduler.ifAvailable(executor ->
+                new ExecutorServiceMetrics(executor, "resilience4j-aspects", Tags.empty()).bindTo(registry));
+    }
+}
@@ -0,0 +1,51 @@
+package com.circuitbreaker.resilience4j.scheduler;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the shared {@link HashedWheelScheduler} used for TimeLimiter timeouts and Retry delays.
+ */
+@ConfigurationProperties(prefix = "resilience4j.scheduler")
+public class SchedulerProperties {
+
+    /**
+     * Resolution of the wheel; deadlines are rounded up to a multiple of it.
+     */
+    private Duration tickDuration = Duration.ofMillis(10);
+
+    /**
+     * Number of slots of the wheel, rounded up to a power of two.
+     */
+    private int ticksPerWheel = 512;
+
+    /**
+     * Threads running the expired tasks.
+     */
+    private int workerThreads = 2;
+
+    public Duration getTickDuration() {
+        return tickDuration;
+    }
+
+    public void setTickDuration(Duration tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    public int getTicksPerWheel() {
+        return ticksPerWheel;
+    }
+
+    public void setTicksPerWheel(int ticksPerWheel) {
+        this.ticksPerWheel = ticksPerWheel;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+}
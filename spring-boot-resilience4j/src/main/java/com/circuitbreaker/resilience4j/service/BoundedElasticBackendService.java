@@ -0,0 +1,107 @@
+package com.circuitbreaker.resilience4j.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Adapts a {@link BackendService} to {@link ReactiveBackendService}. The blocking {@code String} operations are
+ * subscribed on a scheduler meant for blocking work (usually {@code Schedulers.boundedElastic()}), so they never run
+ * on a Netty event loop. The reactive and future operations are passed through lazily.
+ *
+ * The publishers of the blocking operations are created once and are cold, so they are shared by all callers.
+ */
+public class BoundedElasticBackendService implements ReactiveBackendService {
+
+    private final BackendService delegate;
+    private final Mono<String> failure;
+    private final Mono<String> failureWithFallback;
+    private final Mono<String> success;
+    private final Mono<String> successException;
+    private final Mono<String> ignoreException;
+
+    public BoundedElasticBackendService(BackendService delegate, Scheduler blockingScheduler) {
+        this.delegate = delegate;
+        this.failure = blocking(delegate::failure, blockingScheduler);
+        this.failureWithFallback = blocking(delegate::failureWithFallback, blockingScheduler);
+        this.success = blocking(delegate::success, blockingScheduler);
+        this.successException = blocking(delegate::successException, blockingScheduler);
+        this.ignoreException = blocking(delegate::ignoreException, blockingScheduler);
+    }
+
+    private static Mono<String> blocking(Callable<String> call, Scheduler blockingScheduler) {
+        return Mono.fromCallable(call).subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<String> failure() {
+        return failure;
+    }
+
+    @Override
+    public Mono<String> failureWithFallback() {
+        return failureWithFallback;
+    }
+
+    @Override
+    public Mono<String> success() {
+        return success;
+    }
+
+    @Override
+    public Mono<String> successException() {
+        return successException;
+    }
+
+    @Override
+    public Mono<String> ignoreException() {
+        return ignoreException;
+    }
+
+    @Override
+    public Flux<String> fluxSuccess() {
+        return Flux.defer(delegate::fluxSuccess);
+    }
+
+    @Override
+    public Flux<String> fluxFailure() {
+        return Flux.defer(delegate::fluxFailure);
+    }
+
+    @Override
+    public Flux<String> fluxTimeout() {
+        return Flux.defer(delegate::fluxTimeout);
+    }
+
+    @Override
+    public Mono<String> monoSuccess() {
+        return Mono.defer(delegate::monoSuccess);
+    }
+
+    @Override
+    public Mono<String> monoFailure() {
+        return Mono.defer(delegate::monoFailure);
+    }
+
+    @Override
+    public Mono<String> monoTimeout() {
+        return Mono.defer(delegate::monoTimeout);
+    }
+
+    @Override
+    public Mono<String> futureSuccess() {
+        return Mono.fromFuture(delegate::futureSuccess);
+    }
+
+    @Override
+    public Mono<String> futureFailure() {
+        return Mono.fromFuture(delegate::futureFailure);
+    }
+
+    @Override
+    public Mono<String> futureTimeout() {
+        return Mono.fromFuture(delegate::futureTimeout);
+    }
+}
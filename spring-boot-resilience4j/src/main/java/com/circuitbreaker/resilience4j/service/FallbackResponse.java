@@ -0,0 +1,38 @@
+package com.circuitbreaker.resilience4j.service;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The response of a fallback. During an outage almost every call is rejected by an open circuit breaker or a full
+ * bulkhead, so for those two the response is built the first time the exception type is recovered and reused after,
+ * instead of concatenating a string per call; their messages only name the instance anyway. Every other exception
+ * gets a response of its own which keeps its message. The publishers are cold and emit the same body to every
+ * subscriber.
+ *
+ * @param body the body of the response, {@code Recovered: } and the exception, by class name only for rejections
+ * @param mono the body as a Mono
+ * @param flux the body as a Flux
+ */
+public record FallbackResponse(String body, Mono<String> mono, Flux<String> flux) {
+
+    private static final ClassValue<FallbackResponse> BY_REJECTION_TYPE = new ClassValue<>() {
+        @Override
+        protected FallbackResponse computeValue(Class<?> type) {
+            return of("Recovered: " + type.getName());
+        }
+    };
+
+    public static FallbackResponse of(Throwable ex) {
+        if (ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException) {
+            return BY_REJECTION_TYPE.get(ex.getClass());
+        }
+        return of("Recovered: " + ex.toString());
+    }
+
+    public static FallbackResponse of(String body) {
+        return new FallbackResponse(body, Mono.just(body), Flux.just(body));
+    }
+}
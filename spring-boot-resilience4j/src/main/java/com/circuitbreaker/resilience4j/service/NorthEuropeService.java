@@ -1,13 +1,14 @@
 package com.circuitbreaker.resilience4j.service;
 
 import com.circuitbreaker.resilience4j.exception.BusinessException;
+import com.circuitbreaker.resilience4j.hedge.annotation.Hedge;
+import com.circuitbreaker.resilience4j.singleflight.annotation.SingleFlight;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
-import io.vavr.control.Try;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -22,12 +23,24 @@ import java.util.concurrent.TimeoutException;
 
 /**
  * This Service shows how to use the CircuitBreaker annotation.
+ *
+ * The fallbacks answer constant responses: while the circuit breaker is open every call is recovered by them, so they
+ * do not build a string per call from the exception.
  */
 
 @Service
 public class NorthEuropeService implements BackendService {
 
     private static final String NORTH_EUROPE = "north-europe";
+    private static final String RECOVERED_TIMEOUT = "Recovered specific TimeoutException";
+    private static final String RECOVERED_BULKHEAD_FULL = "Recovered specific BulkheadFullException";
+    private static final String RECOVERED_CALL_NOT_PERMITTED = "Recovered specific CallNotPermittedException";
+
+    private final SlowBackend slowBackend;
+
+    public NorthEuropeService(SlowBackend slowBackend) {
+        this.slowBackend = slowBackend;
+    }
 
     @Override
     @CircuitBreaker(name = NORTH_EUROPE)
@@ -64,6 +77,8 @@ public class NorthEuropeService implements BackendService {
     @CircuitBreaker(name = NORTH_EUROPE)
     @Bulkhead(name = NORTH_EUROPE)
     @Retry(name = NORTH_EUROPE)
+    @Hedge(name = NORTH_EUROPE)
+    @SingleFlight(name = NORTH_EUROPE)
     public Mono<String> monoSuccess() {
         return Mono.just("Hello World Mono from backend A");
     }
@@ -120,6 +135,7 @@ public class NorthEuropeService implements BackendService {
     @TimeLimiter(name = NORTH_EUROPE)
     @CircuitBreaker(name = NORTH_EUROPE)
     @Retry(name = NORTH_EUROPE)
+    @SingleFlight(name = NORTH_EUROPE)
     public CompletableFuture<String> futureSuccess() {
         return CompletableFuture.completedFuture("Hello World from backend A");
     }
@@ -136,12 +152,11 @@ public class NorthEuropeService implements BackendService {
     }
 
     @Override
-    @Bulkhead(name = NORTH_EUROPE, type = Bulkhead.Type.THREADPOOL)
+    @Bulkhead(name = NORTH_EUROPE)
     @TimeLimiter(name = NORTH_EUROPE)
     @CircuitBreaker(name = NORTH_EUROPE, fallbackMethod = "futureFallback")
     public CompletableFuture<String> futureTimeout() {
-        Try.run(() -> Thread.sleep(5000));
-        return CompletableFuture.completedFuture("Hello World from backend A");
+        return slowBackend.respondAfter(Duration.ofSeconds(5), "Hello World from backend A");
     }
 
     private String fallback(HttpServerErrorException ex) {
@@ -149,26 +164,26 @@ public class NorthEuropeService implements BackendService {
     }
 
     private String fallback(Exception ex) {
-        return "Recovered: " + ex.toString();
+        return FallbackResponse.of(ex).body();
     }
 
     private CompletableFuture<String> futureFallback(TimeoutException ex) {
-        return CompletableFuture.completedFuture("Recovered specific TimeoutException: " + ex.toString());
+        return CompletableFuture.completedFuture(RECOVERED_TIMEOUT);
     }
 
     private CompletableFuture<String> futureFallback(BulkheadFullException ex) {
-        return CompletableFuture.completedFuture("Recovered specific BulkheadFullException: " + ex.toString());
+        return CompletableFuture.completedFuture(RECOVERED_BULKHEAD_FULL);
     }
 
     private CompletableFuture<String> futureFallback(CallNotPermittedException ex) {
-        return CompletableFuture.completedFuture("Recovered specific CallNotPermittedException: " + ex.toString());
+        return CompletableFuture.completedFuture(RECOVERED_CALL_NOT_PERMITTED);
     }
 
     private Mono<String> monoFallback(Exception ex) {
-        return Mono.just("Recovered: " + ex.toString());
+        return FallbackResponse.of(ex).mono();
     }
 
     private Flux<String> fluxFallback(Exception ex) {
-        return Flux.just("Recovered: " + ex.toString());
+        return FallbackResponse.of(ex).flux();
     }
 }
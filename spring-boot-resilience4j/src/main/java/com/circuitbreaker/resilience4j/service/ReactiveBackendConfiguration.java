@@ -0,0 +1,23 @@
+package com.circuitbreaker.resilience4j.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The reactive variants of the backend services, with their blocking operations on {@code boundedElastic}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReactiveBackendConfiguration {
+
+    @Bean
+    public ReactiveBackendService reactiveNorthEuropeService(@Qualifier("northEuropeService") BackendService northEuropeService) {
+        return new BoundedElasticBackendService(northEuropeService, Schedulers.boundedElastic());
+    }
+
+    @Bean
+    public ReactiveBackendService reactiveWestEuropeService(@Qualifier("westEuropeService") BackendService westEuropeService) {
+        return new BoundedElasticBackendService(westEuropeService, Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,29 @@
+package com.circuitbreaker.resilience4j.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The operations of {@link BackendService} for WebFlux callers. Every operation is a cold publisher, so nothing is
+ * called before subscription and a resubscription (e.g. by a retry) calls the backend again.
+ */
+public interface ReactiveBackendService {
+
+    Mono<String> failure();
+    Mono<String> failureWithFallback();
+    Mono<String> success();
+    Mono<String> successException();
+    Mono<String> ignoreException();
+
+    Flux<String> fluxSuccess();
+    Flux<String> fluxFailure();
+    Flux<String> fluxTimeout();
+
+    Mono<String> monoSuccess();
+    Mono<String> monoFailure();
+    Mono<String> monoTimeout();
+
+    Mono<String> futureSuccess();
+    Mono<String> futureFailure();
+    Mono<String> futureTimeout();
+}
@@ -0,0 +1,33 @@
+package com.circuitbreaker.resilience4j.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a slow remote backend without blocking the caller: the returned future is completed from the
+ * shared scheduler once the delay has passed.
+ */
+@Component
+public class SlowBackend {
+
+    private final ScheduledExecutorService scheduler;
+
+    public SlowBackend(@Qualifier("resilienceScheduler") ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public <T> CompletableFuture<T> respondAfter(Duration delay, T response) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ScheduledFuture<?> scheduled = scheduler.schedule(() -> future.complete(response),
+                delay.toNanos(), TimeUnit.NANOSECONDS);
+        // a future cancelled by a TimeLimiter frees its scheduler slot right away
+        future.whenComplete((result, throwable) -> scheduled.cancel(false));
+        return future;
+    }
+}
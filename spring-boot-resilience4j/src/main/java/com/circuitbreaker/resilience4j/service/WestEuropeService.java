@@ -16,6 +16,12 @@ import java.util.concurrent.CompletableFuture;
 @Service
 public class WestEuropeService implements BackendService {
 
+    private final SlowBackend slowBackend;
+
+    public WestEuropeService(SlowBackend slowBackend) {
+        this.slowBackend = slowBackend;
+    }
+
     @Override
     public String failure() {
         throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "This is a remote exception");
@@ -82,8 +88,7 @@ public class WestEuropeService implements BackendService {
 
     @Override
     public CompletableFuture<String> futureTimeout() {
-        Try.run(() -> Thread.sleep(5000));
-        return CompletableFuture.completedFuture("Hello World from backend B");
+        return slowBackend.respondAfter(Duration.ofSeconds(5), "Hello World from backend B");
     }
 
     @Override
@@ -92,6 +97,6 @@ public class WestEuropeService implements BackendService {
     }
 
     private String fallback(Throwable ex) {
-        return "Recovered: " + ex.toString();
+        return FallbackResponse.of(ex).body();
     }
 }
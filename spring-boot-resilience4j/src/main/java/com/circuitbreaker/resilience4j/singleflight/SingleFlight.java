@@ -0,0 +1,105 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing: a call with the key of a call still in flight does not call again but gets the result of the
+ * call in flight. Once that call has completed the next call with the key calls again, nothing is cached.
+ *
+ * One caller cancelling does not cancel the call in flight for the others; a {@link Mono} call is cancelled once all
+ * its callers cancelled. Every caller of a {@link CompletableFuture} gets its own copy, which it may complete or
+ * cancel, the call itself runs to its end.
+ */
+public class SingleFlight {
+
+    private final String name;
+    private final Map<Object, Mono<?>> monos = new ConcurrentHashMap<>();
+    private final Map<Object, CompletableFuture<?>> futures = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The key is looked up on subscription, so a Mono which is never subscribed does not occupy it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeMono(Object key, Supplier<? extends Mono<T>> call) {
+        return Mono.defer(() -> {
+            calls.increment();
+            Mono<?>[] flight = new Mono<?>[1];
+            Mono<T> own = Mono.defer(call)
+                    .doFinally(signal -> monos.remove(key, flight[0]))
+                    .share();
+            flight[0] = own;
+            Mono<?> existing = monos.putIfAbsent(key, own);
+            if (existing != null) {
+                return (Mono<T>) existing;
+            }
+            executions.increment();
+            return own;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeCompletionStage(Object key, Supplier<? extends CompletionStage<T>> call) {
+        calls.increment();
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<?> existing = futures.putIfAbsent(key, flight);
+        if (existing != null) {
+            return ((CompletableFuture<T>) existing).copy();
+        }
+        executions.increment();
+        try {
+            call.get().whenComplete((result, throwable) -> {
+                // removed first, so that a caller seeing the result and calling again starts a new call
+                futures.remove(key, flight);
+                if (throwable != null) {
+                    flight.completeExceptionally(throwable);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            futures.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight.copy();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNumberOfCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Calls which did call, the other calls joined one of them.
+     */
+    public long getNumberOfExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Share of the calls which joined a call in flight instead of calling.
+     */
+    public double getDedupRatio() {
+        long total = calls.sum();
+        return total == 0 ? 0 : 1 - (double) executions.sum() / total;
+    }
+
+    public int getNumberOfCallsInFlight() {
+        return monos.size() + futures.size();
+    }
+}
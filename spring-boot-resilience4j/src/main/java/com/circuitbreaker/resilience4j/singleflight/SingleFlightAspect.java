@@ -0,0 +1,73 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import com.circuitbreaker.resilience4j.singleflight.annotation.SingleFlight;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Applies {@link SingleFlight @SingleFlight} to methods returning a {@link Mono} or a {@link CompletionStage}. Calls
+ * are coalesced per method and equal arguments. A joined {@link CompletionStage} call does not proceed at all.
+ */
+@Aspect
+public class SingleFlightAspect implements Ordered {
+
+    private final SingleFlightRegistry singleFlightRegistry;
+    private final int order;
+
+    public SingleFlightAspect(SingleFlightRegistry singleFlightRegistry, int order) {
+        this.singleFlightRegistry = singleFlightRegistry;
+        this.order = order;
+    }
+
+    @Around(value = "@annotation(singleFlight)", argNames = "joinPoint,singleFlight")
+    public Object singleFlight(ProceedingJoinPoint joinPoint, SingleFlight singleFlight) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()));
+        Class<?> returnType = method.getReturnType();
+        if (Mono.class.isAssignableFrom(returnType)) {
+            // proceeds right away, the inner aspects only bind inside this invocation; assembling the cold Mono takes
+            // no permit and calls nothing, only the subscription of the Mono which is not joined does
+            Mono<Object> mono = proceedMono(joinPoint);
+            return singleFlightRegistry.singleFlight(singleFlight.name()).executeMono(key, () -> mono);
+        }
+        if (CompletionStage.class.isAssignableFrom(returnType)) {
+            return singleFlightRegistry.singleFlight(singleFlight.name()).executeCompletionStage(key, () -> proceedCompletionStage(joinPoint));
+        }
+        throw new IllegalStateException("@SingleFlight only supports methods returning Mono or CompletionStage: " + joinPoint.getSignature());
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    private static Mono<Object> proceedMono(ProceedingJoinPoint joinPoint) {
+        try {
+            return Mono.from((Mono<?>) joinPoint.proceed());
+        } catch (Throwable throwable) {
+            return Mono.error(throwable);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> proceedCompletionStage(ProceedingJoinPoint joinPoint) {
+        try {
+            return (CompletionStage<Object>) joinPoint.proceed();
+        } catch (Throwable throwable) {
+            return CompletableFuture.failedFuture(throwable);
+        }
+    }
+
+    private record CallKey(Method method, List<Object> arguments) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Single flight instances and the {@code @SingleFlight} aspect.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SingleFlightProperties.class)
+public class SingleFlightConfiguration {
+
+    @Bean
+    public SingleFlightRegistry singleFlightRegistry(MeterRegistry meterRegistry) {
+        return new SingleFlightRegistry(meterRegistry);
+    }
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(SingleFlightRegistry singleFlightRegistry, SingleFlightProperties properties) {
+        return new SingleFlightAspect(singleFlightRegistry, properties.getSingleFlightAspectOrder());
+    }
+}
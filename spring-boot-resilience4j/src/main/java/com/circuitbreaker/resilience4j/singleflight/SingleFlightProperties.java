@@ -0,0 +1,27 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
+
+/**
+ * <pre>
+ * resilience4j.singleflight:
+ *   single-flight-aspect-order: 2147483640
+ * </pre>
+ */
+@ConfigurationProperties(prefix = SingleFlightProperties.PREFIX)
+public class SingleFlightProperties {
+
+    public static final String PREFIX = "resilience4j.singleflight";
+
+    // outside the Retry aspect (LOWEST_PRECEDENCE - 6 in the application.yml), the outermost Resilience4j aspect
+    private int singleFlightAspectOrder = Ordered.LOWEST_PRECEDENCE - 7;
+
+    public int getSingleFlightAspectOrder() {
+        return singleFlightAspectOrder;
+    }
+
+    public void setSingleFlightAspectOrder(int singleFlightAspectOrder) {
+        this.singleFlightAspectOrder = singleFlightAspectOrder;
+    }
+}
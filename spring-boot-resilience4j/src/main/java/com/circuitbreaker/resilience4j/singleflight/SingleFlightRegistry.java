@@ -0,0 +1,46 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates one {@link SingleFlight} per name, caches it and publishes its metrics.
+ */
+public class SingleFlightRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SingleFlight> singleFlights = new ConcurrentHashMap<>();
+
+    public SingleFlightRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public SingleFlight singleFlight(String name) {
+        return singleFlights.computeIfAbsent(name, this::createSingleFlight);
+    }
+
+    private SingleFlight createSingleFlight(String name) {
+        SingleFlight singleFlight = new SingleFlight(name);
+        FunctionCounter.builder("resilience.singleflight.calls", singleFlight, SingleFlight::getNumberOfCalls)
+                .description("Number of calls through the single flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.singleflight.executions", singleFlight, SingleFlight::getNumberOfExecutions)
+                .description("Number of calls which called the backend, the others joined a call in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.singleflight.dedup.ratio", singleFlight, SingleFlight::getDedupRatio)
+                .description("Share of the calls which joined a call in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.singleflight.in.flight", singleFlight, SingleFlight::getNumberOfCallsInFlight)
+                .description("Number of distinct calls in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        return singleFlight;
+    }
+}
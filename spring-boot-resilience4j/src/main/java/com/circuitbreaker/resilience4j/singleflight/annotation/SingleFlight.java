@@ -0,0 +1,26 @@
+package com.circuitbreaker.resilience4j.singleflight.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent calls of the annotated method with equal arguments into one call, through the
+ * {@link com.circuitbreaker.resilience4j.singleflight.SingleFlight} of the given name. For methods returning a
+ * {@link reactor.core.publisher.Mono} or a {@link java.util.concurrent.CompletionStage}, and only for reads.
+ *
+ * The aspect runs outside all Resilience4j aspects, so a coalesced call is retried, recorded by the circuit breaker
+ * and takes a bulkhead permit once for all its callers.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * @return the name of the single flight instance, which its metrics are tagged with
+     */
+    String name();
+}
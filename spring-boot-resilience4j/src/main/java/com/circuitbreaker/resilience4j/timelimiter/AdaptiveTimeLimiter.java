@@ -0,0 +1,271 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A {@link TimeLimiter} whose timeout follows the latencies of the calls: a percentile of the recent successful
+ * latencies times a multiplier, bounded by {@link AdaptiveTimeLimiterConfig}. Calls fail fast when the backend is
+ * clearly slower than usual instead of waiting out a fixed ceiling.
+ *
+ * The latencies go into an HdrHistogram {@link Recorder}, which records without locking. Every update interval the
+ * recorded interval moves into a ring covering the window and the timeout is recomputed from the sum of the ring, by
+ * the first call that records after the interval ended. Only successful calls are latency samples: a call which
+ * times out says its latency is above the timeout, not what it is, and recording it at the timeout would ratchet the
+ * timeout up to the max. The timeouts are counted per interval instead. When more of the calls of the last interval
+ * time out than the percentile leaves out, the backend has become slower than the timeout, and no successful call
+ * could show by how much: the timeout is multiplied by the backoff multiplier, up to the max, until the calls succeed
+ * within it again. While the window still holds those timeouts, the percentile of the successful calls underestimates
+ * the real one, so the timeout does not go down.
+ *
+ * {@link #getTimeLimiterConfig()} answers the base config with the current timeout, which is what
+ * {@code TimeLimiterOperator} reads; the latencies of reactive calls are recorded by
+ * {@link AdaptiveTimeLimiterOperator}. Events are published like those of the replaced time limiter.
+ */
+public class AdaptiveTimeLimiter implements TimeLimiter {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String name;
+    private final AdaptiveTimeLimiterConfig config;
+    private final TimeLimiter events;
+    private final LongSupplier nanoTime;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram[] intervals;
+    private final Histogram window = new Histogram(SIGNIFICANT_DIGITS);
+    private final LongAdder intervalTimeouts = new LongAdder();
+    // timeouts of the intervals of the window, in the order of intervals
+    private final long[] timeoutIntervals;
+    private final LongAdder timeouts = new LongAdder();
+    private final long updateIntervalNanos;
+    private final AtomicLong currentInterval;
+    private volatile TimeLimiterConfig timeLimiterConfig;
+
+    public AdaptiveTimeLimiter(String name, TimeLimiterConfig baseConfig, AdaptiveTimeLimiterConfig config,
+                               Map<String, String> tags) {
+        this(name, baseConfig, config, tags, System::nanoTime);
+    }
+
+    AdaptiveTimeLimiter(String name, TimeLimiterConfig baseConfig, AdaptiveTimeLimiterConfig config,
+                        Map<String, String> tags, LongSupplier nanoTime) {
+        this.name = name;
+        this.config = config;
+        this.events = TimeLimiter.of(name, baseConfig, tags);
+        this.nanoTime = nanoTime;
+        this.updateIntervalNanos = config.getUpdateInterval().toNanos();
+        this.intervals = new Histogram[(int) Math.max(1, config.getWindow().toNanos() / updateIntervalNanos)];
+        this.timeoutIntervals = new long[intervals.length];
+        this.currentInterval = new AtomicLong(nanoTime.getAsLong() / updateIntervalNanos);
+        this.timeLimiterConfig = TimeLimiterConfig.from(baseConfig).timeoutDuration(config.getMaxTimeout()).build();
+    }
+
+    public AdaptiveTimeLimiterConfig getAdaptiveTimeLimiterConfig() {
+        return config;
+    }
+
+    public Duration getTimeout() {
+        return timeLimiterConfig.getTimeoutDuration();
+    }
+
+    /**
+     * The calls which timed out since the time limiter was created.
+     */
+    public long getNumberOfTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Records the latency of a successful call.
+     */
+    public void recordLatency(long latencyNanos) {
+        recorder.recordValue(Math.max(0, latencyNanos));
+        maybeUpdateTimeout();
+    }
+
+    /**
+     * Records a call which timed out, without a latency.
+     */
+    public void recordTimeout() {
+        timeouts.increment();
+        intervalTimeouts.increment();
+        maybeUpdateTimeout();
+    }
+
+    private void maybeUpdateTimeout() {
+        long interval = nanoTime.getAsLong() / updateIntervalNanos;
+        long previous = currentInterval.get();
+        if (interval > previous && currentInterval.compareAndSet(previous, interval)) {
+            updateTimeout(interval - previous);
+        }
+    }
+
+    private synchronized void updateTimeout(long elapsedIntervals) {
+        // the intervals without calls are empty
+        for (int i = 1; i < Math.min(elapsedIntervals, intervals.length); i++) {
+            rotate(null, 0);
+        }
+        Histogram recycled = intervals[intervals.length - 1];
+        rotate(recorder.getIntervalHistogram(recycled), intervalTimeouts.sumThenReset());
+        window.reset();
+        long timedOut = 0;
+        for (int i = 0; i < intervals.length; i++) {
+            if (intervals[i] != null) {
+                window.add(intervals[i]);
+            }
+            timedOut += timeoutIntervals[i];
+        }
+        long calls = window.getTotalCount() + timedOut;
+        if (calls < config.getMinimumNumberOfCalls()) {
+            return;
+        }
+        long maxTimeout = config.getMaxTimeout().toNanos();
+        long timeout;
+        if (tooManyTimeouts(timeoutIntervals[0], intervals[0] != null ? intervals[0].getTotalCount() : 0)) {
+            timeout = Math.min(maxTimeout, (long) (getTimeout().toNanos() * config.getBackoffMultiplier()));
+        } else if (window.getTotalCount() == 0) {
+            return;
+        } else {
+            long percentile = window.getValueAtPercentile(config.getPercentile() * 100);
+            timeout = Math.max(config.getMinTimeout().toNanos(),
+                    Math.min(maxTimeout, (long) (percentile * config.getMultiplier())));
+            if (tooManyTimeouts(timedOut, window.getTotalCount())) {
+                timeout = Math.max(timeout, getTimeout().toNanos());
+            }
+        }
+        // TimeLimiterImpl and Reactor work with milliseconds
+        Duration timeoutDuration = Duration.ofMillis(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeout)));
+        if (!timeoutDuration.equals(getTimeout())) {
+            timeLimiterConfig = TimeLimiterConfig.from(timeLimiterConfig).timeoutDuration(timeoutDuration).build();
+        }
+    }
+
+    private boolean tooManyTimeouts(long timedOut, long succeeded) {
+        return timedOut > 0 && (double) timedOut / (timedOut + succeeded) > 1 - config.getPercentile();
+    }
+
+    private void rotate(Histogram newest, long newestTimeouts) {
+        System.arraycopy(intervals, 0, intervals, 1, intervals.length - 1);
+        intervals[0] = newest;
+        System.arraycopy(timeoutIntervals, 0, timeoutIntervals, 1, timeoutIntervals.length - 1);
+        timeoutIntervals[0] = newestTimeouts;
+    }
+
+    @Override
+    public <T, F extends Future<T>> Callable<T> decorateFutureSupplier(Supplier<F> futureSupplier) {
+        return () -> {
+            long start = nanoTime.getAsLong();
+            Future<T> future = futureSupplier.get();
+            TimeLimiterConfig current = timeLimiterConfig;
+            try {
+                T result = future.get(current.getTimeoutDuration().toMillis(), TimeUnit.MILLISECONDS);
+                recordLatency(nanoTime.getAsLong() - start);
+                onSuccess();
+                return result;
+            } catch (TimeoutException e) {
+                recordTimeout();
+                TimeoutException timeoutException = TimeLimiter.createdTimeoutExceptionWithName(name, e);
+                onError(timeoutException);
+                if (current.shouldCancelRunningFuture()) {
+                    future.cancel(true);
+                }
+                throw timeoutException;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause == null) {
+                    onError(e);
+                    throw e;
+                }
+                onError(cause);
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw (Exception) cause;
+            }
+        };
+    }
+
+    @Override
+    public <T, F extends CompletionStage<T>> Supplier<CompletionStage<T>> decorateCompletionStage(
+            ScheduledExecutorService scheduler, Supplier<F> supplier) {
+        return () -> {
+            long start = nanoTime.getAsLong();
+            CompletableFuture<T> future = supplier.get().toCompletableFuture();
+            TimeLimiterConfig current = timeLimiterConfig;
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                if (future.completeExceptionally(TimeLimiter.createdTimeoutExceptionWithName(name, null))
+                        && current.shouldCancelRunningFuture()) {
+                    future.cancel(true);
+                }
+            }, current.getTimeoutDuration().toMillis(), TimeUnit.MILLISECONDS);
+            return future.whenComplete((result, throwable) -> {
+                if (throwable == null) {
+                    timeout.cancel(false);
+                    recordLatency(nanoTime.getAsLong() - start);
+                    onSuccess();
+                    return;
+                }
+                Throwable cause = throwable instanceof CompletionException || throwable instanceof ExecutionException
+                        ? (throwable.getCause() != null ? throwable.getCause() : throwable)
+                        : throwable;
+                if (cause instanceof TimeoutException) {
+                    recordTimeout();
+                }
+                onError(cause);
+            });
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return events.getTags();
+    }
+
+    @Override
+    public TimeLimiterConfig getTimeLimiterConfig() {
+        return timeLimiterConfig;
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return events.getEventPublisher();
+    }
+
+    @Override
+    public void onSuccess() {
+        events.onSuccess();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        events.onError(throwable);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveTimeLimiter '%s'", this.name);
+    }
+}
@@ -0,0 +1,29 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import io.github.resilience4j.spring6.timelimiter.configure.IllegalReturnTypeException;
+import io.github.resilience4j.spring6.timelimiter.configure.ReactorTimeLimiterAspectExt;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies {@code @TimeLimiter} to Mono and Flux methods with {@link AdaptiveTimeLimiterOperator}, so that an
+ * {@link AdaptiveTimeLimiter} learns from the latencies of reactive calls as well.
+ */
+public class AdaptiveTimeLimiterAspectExt extends ReactorTimeLimiterAspectExt {
+
+    @Override
+    public Object handle(ProceedingJoinPoint proceedingJoinPoint, TimeLimiter timeLimiter, String methodName) throws Throwable {
+        if (!(timeLimiter instanceof AdaptiveTimeLimiter)) {
+            return super.handle(proceedingJoinPoint, timeLimiter, methodName);
+        }
+        Object returnValue = proceedingJoinPoint.proceed();
+        if (returnValue instanceof Mono<?> mono) {
+            return mono.transformDeferred(AdaptiveTimeLimiterOperator.of(timeLimiter));
+        } else if (returnValue instanceof Flux<?> flux) {
+            return flux.transformDeferred(AdaptiveTimeLimiterOperator.of(timeLimiter));
+        }
+        throw new IllegalReturnTypeException(returnValue.getClass(), methodName, "Reactor expects Mono/Flux.");
+    }
+}
@@ -0,0 +1,144 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of an {@link AdaptiveTimeLimiter}. The timeout is the {@code percentile} of the successful call
+ * latencies of the last {@code window}, times {@code multiplier}, kept between {@code minTimeout} and
+ * {@code maxTimeout}. It is recomputed every {@code updateInterval}. Until the window holds
+ * {@code minimumNumberOfCalls} calls, {@code maxTimeout} is used. When more calls of an interval time out than the
+ * percentile leaves out, the timeout is multiplied by {@code backoffMultiplier} instead, up to {@code maxTimeout}.
+ */
+public class AdaptiveTimeLimiterConfig {
+
+    private final double percentile;
+    private final double multiplier;
+    private final double backoffMultiplier;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final Duration window;
+    private final Duration updateInterval;
+    private final int minimumNumberOfCalls;
+
+    private AdaptiveTimeLimiterConfig(Builder builder) {
+        this.percentile = builder.percentile;
+        this.multiplier = builder.multiplier;
+        this.backoffMultiplier = builder.backoffMultiplier;
+        this.minTimeout = builder.minTimeout;
+        this.maxTimeout = builder.maxTimeout;
+        this.window = builder.window;
+        this.updateInterval = builder.updateInterval;
+        this.minimumNumberOfCalls = builder.minimumNumberOfCalls;
+    }
+
+    public static AdaptiveTimeLimiterConfig ofDefaults() {
+        return custom().build();
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public Duration getMinTimeout() {
+        return minTimeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public Duration getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public static class Builder {
+
+        private double percentile = 0.99;
+        private double multiplier = 1.5;
+        private double backoffMultiplier = 2;
+        private Duration minTimeout = Duration.ofMillis(50);
+        private Duration maxTimeout = Duration.ofSeconds(2);
+        private Duration window = Duration.ofSeconds(30);
+        private Duration updateInterval = Duration.ofSeconds(1);
+        private int minimumNumberOfCalls = 100;
+
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder backoffMultiplier(double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        public Builder minTimeout(Duration minTimeout) {
+            this.minTimeout = minTimeout;
+            return this;
+        }
+
+        public Builder maxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+            return this;
+        }
+
+        public Builder window(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        public Builder updateInterval(Duration updateInterval) {
+            this.updateInterval = updateInterval;
+            return this;
+        }
+
+        public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        public AdaptiveTimeLimiterConfig build() {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("percentile must be between 0 and 1");
+            }
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("multiplier must not be less than 1");
+            }
+            if (backoffMultiplier <= 1) {
+                throw new IllegalArgumentException("backoffMultiplier must be greater than 1");
+            }
+            if (minTimeout.isNegative() || minTimeout.isZero() || maxTimeout.compareTo(minTimeout) < 0) {
+                throw new IllegalArgumentException("minTimeout must be positive and not greater than maxTimeout");
+            }
+            if (updateInterval.isNegative() || updateInterval.isZero() || window.compareTo(updateInterval) < 0) {
+                throw new IllegalArgumentException("updateInterval must be positive and not greater than window");
+            }
+            return new AdaptiveTimeLimiterConfig(this);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import io.github.resilience4j.spring6.timelimiter.configure.ReactorTimeLimiterAspectExt;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Takes the place of the Reactor extension of the {@code @TimeLimiter} aspect, which Resilience4j only creates when
+ * there is none.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AdaptiveTimeLimiterConfiguration {
+
+    @Bean
+    public ReactorTimeLimiterAspectExt reactorTimeLimiterAspectExt() {
+        return new AdaptiveTimeLimiterAspectExt();
+    }
+}
@@ -0,0 +1,59 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import io.github.resilience4j.reactor.IllegalPublisherException;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link TimeLimiterOperator} which also records the latencies of the calls into an {@link AdaptiveTimeLimiter}. The
+ * timeout is read when the publisher is subscribed, so every subscription uses the timeout current at that moment.
+ * Like {@link Flux#timeout}, a Flux is timed per element: the latency of an element is the time since the
+ * subscription or the previous element.
+ *
+ * Any other time limiter is applied with the plain {@link TimeLimiterOperator}.
+ */
+public class AdaptiveTimeLimiterOperator<T> implements UnaryOperator<Publisher<T>> {
+
+    private final TimeLimiter timeLimiter;
+
+    private AdaptiveTimeLimiterOperator(TimeLimiter timeLimiter) {
+        this.timeLimiter = timeLimiter;
+    }
+
+    public static <T> AdaptiveTimeLimiterOperator<T> of(TimeLimiter timeLimiter) {
+        return new AdaptiveTimeLimiterOperator<>(timeLimiter);
+    }
+
+    @Override
+    public Publisher<T> apply(Publisher<T> publisher) {
+        if (!(timeLimiter instanceof AdaptiveTimeLimiter adaptive)) {
+            return TimeLimiterOperator.<T>of(timeLimiter).apply(publisher);
+        }
+        if (publisher instanceof Mono<T> mono) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return mono.transform(TimeLimiterOperator.of(adaptive))
+                        .doOnSuccess(value -> adaptive.recordLatency(System.nanoTime() - start))
+                        .doOnError(TimeoutException.class, e -> adaptive.recordTimeout());
+            });
+        } else if (publisher instanceof Flux<T> flux) {
+            return Flux.defer(() -> {
+                AtomicLong previous = new AtomicLong(System.nanoTime());
+                return flux.transform(TimeLimiterOperator.of(adaptive))
+                        .doOnNext(value -> {
+                            long now = System.nanoTime();
+                            adaptive.recordLatency(now - previous.getAndSet(now));
+                        })
+                        .doOnError(TimeoutException.class, e -> adaptive.recordTimeout());
+            });
+        }
+        throw new IllegalPublisherException(publisher);
+    }
+}
@@ -0,0 +1,139 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Switches time limiter instances to {@link AdaptiveTimeLimiter}, per instance name. The configured
+ * {@code timeout-duration} of the time limiter becomes the max timeout unless {@code max-timeout} is set:
+ *
+ * <pre>
+ * resilience4j.adaptive-timelimiter:
+ *   instances:
+ *     north-europe:
+ *       enabled: true
+ *       percentile: 0.99
+ *       multiplier: 1.5
+ *       backoff-multiplier: 2
+ *       min-timeout: 50ms
+ *       window: 30s
+ *       update-interval: 1s
+ *       minimum-number-of-calls: 100
+ * </pre>
+ */
+@ConfigurationProperties(prefix = AdaptiveTimeLimiterProperties.PREFIX)
+public class AdaptiveTimeLimiterProperties {
+
+    public static final String PREFIX = "resilience4j.adaptive-timelimiter";
+
+    private Map<String, InstanceProperties> instances = new HashMap<>();
+
+    public Map<String, InstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, InstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public static class InstanceProperties {
+
+        private boolean enabled = true;
+        private double percentile = 0.99;
+        private double multiplier = 1.5;
+        private double backoffMultiplier = 2;
+        private Duration minTimeout = Duration.ofMillis(50);
+        private Duration maxTimeout;
+        private Duration window = Duration.ofSeconds(30);
+        private Duration updateInterval = Duration.ofSeconds(1);
+        private int minimumNumberOfCalls = 100;
+
+        public AdaptiveTimeLimiterConfig createAdaptiveTimeLimiterConfig(Duration configuredTimeout) {
+            return AdaptiveTimeLimiterConfig.custom()
+                    .percentile(percentile)
+                    .multiplier(multiplier)
+                    .backoffMultiplier(backoffMultiplier)
+                    .minTimeout(minTimeout)
+                    .maxTimeout(maxTimeout != null ? maxTimeout : configuredTimeout)
+                    .window(window)
+                    .updateInterval(updateInterval)
+                    .minimumNumberOfCalls(minimumNumberOfCalls)
+                    .build();
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public double getBackoffMultiplier() {
+            return backoffMultiplier;
+        }
+
+        public void setBackoffMultiplier(double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+        }
+
+        public Duration getMinTimeout() {
+            return minTimeout;
+        }
+
+        public void setMinTimeout(Duration minTimeout) {
+            this.minTimeout = minTimeout;
+        }
+
+        public Duration getMaxTimeout() {
+            return maxTimeout;
+        }
+
+        public void setMaxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public Duration getUpdateInterval() {
+            return updateInterval;
+        }
+
+        public void setUpdateInterval(Duration updateInterval) {
+            this.updateInterval = updateInterval;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the time limiters enabled in {@link AdaptiveTimeLimiterProperties} with an {@link AdaptiveTimeLimiter} as
+ * soon as the {@link TimeLimiterRegistry} is created, so that {@code @TimeLimiter} and code reading the registry pick
+ * it up without any change to the annotated service.
+ */
+@Component
+public class AdaptiveTimeLimiterRegistrar implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveTimeLimiterRegistrar.class);
+
+    private AdaptiveTimeLimiterProperties properties = new AdaptiveTimeLimiterProperties();
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.properties = Binder.get(environment)
+                .bind(AdaptiveTimeLimiterProperties.PREFIX, AdaptiveTimeLimiterProperties.class)
+                .orElseGet(AdaptiveTimeLimiterProperties::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof TimeLimiterRegistry registry) {
+            properties.getInstances().forEach((name, instance) -> {
+                if (instance.isEnabled()) {
+                    register(registry, name, instance);
+                }
+            });
+        }
+        return bean;
+    }
+
+    private void register(TimeLimiterRegistry registry, String name, AdaptiveTimeLimiterProperties.InstanceProperties instance) {
+        // the registry has no "add", so the configured time limiter is created first and then replaced
+        TimeLimiter timeLimiter = registry.timeLimiter(name);
+        AdaptiveTimeLimiter adaptiveTimeLimiter = new AdaptiveTimeLimiter(name, timeLimiter.getTimeLimiterConfig(),
+                instance.createAdaptiveTimeLimiterConfig(timeLimiter.getTimeLimiterConfig().getTimeoutDuration()),
+                timeLimiter.getTags());
+        registry.replace(name, adaptiveTimeLimiter);
+        LOG.info("Time limiter '{}' adapts its timeout to p{} x {} between {} and {}", name,
+                instance.getPercentile() * 100, instance.getMultiplier(),
+                adaptiveTimeLimiter.getAdaptiveTimeLimiterConfig().getMinTimeout(),
+                adaptiveTimeLimiter.getAdaptiveTimeLimiterConfig().getMaxTimeout());
+    }
+}
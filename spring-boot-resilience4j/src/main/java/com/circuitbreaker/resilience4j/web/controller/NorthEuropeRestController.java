@@ -1,6 +1,7 @@
 package com.circuitbreaker.resilience4j.web.controller;
 
 import com.circuitbreaker.resilience4j.service.BackendService;
+import com.circuitbreaker.resilience4j.service.ReactiveBackendService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,30 +17,33 @@ import java.util.concurrent.CompletableFuture;
 public class NorthEuropeRestController {
 
     private final BackendService northEuropeService;
+    private final ReactiveBackendService reactiveNorthEuropeService;
 
     @Autowired
-    public NorthEuropeRestController(@Qualifier("northEuropeService") BackendService northEuropeService) {
+    public NorthEuropeRestController(@Qualifier("northEuropeService") BackendService northEuropeService,
+                                     @Qualifier("reactiveNorthEuropeService") ReactiveBackendService reactiveNorthEuropeService) {
         this.northEuropeService = northEuropeService;
+        this.reactiveNorthEuropeService = reactiveNorthEuropeService;
     }
 
     @GetMapping("/failure")
-    public String failure() {
-        return northEuropeService.failure();
+    public Mono<String> failure() {
+        return reactiveNorthEuropeService.failure();
     }
 
     @GetMapping("/success")
-    public String success() {
-        return northEuropeService.success();
+    public Mono<String> success() {
+        return reactiveNorthEuropeService.success();
     }
 
     @GetMapping("/success-exception")
-    public String successException() {
-        return northEuropeService.successException();
+    public Mono<String> successException() {
+        return reactiveNorthEuropeService.successException();
     }
 
     @GetMapping("/ignore")
-    public String ignore() {
-        return northEuropeService.ignoreException();
+    public Mono<String> ignore() {
+        return reactiveNorthEuropeService.ignoreException();
     }
 
     @GetMapping("/mono-success")
@@ -88,7 +92,7 @@ public class NorthEuropeRestController {
     }
 
     @GetMapping("/fallback")
-    public String failureWithFallback() {
-        return northEuropeService.failureWithFallback();
+    public Mono<String> failureWithFallback() {
+        return reactiveNorthEuropeService.failureWithFallback();
     }
 }
@@ -0,0 +1,41 @@
+package com.circuitbreaker.resilience4j.web.controller;
+
+import com.circuitbreaker.resilience4j.events.ResilienceEvent;
+import com.circuitbreaker.resilience4j.events.ResilienceEventBus;
+import com.circuitbreaker.resilience4j.events.ResilienceEventsProperties;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams the events of all decorators as server-sent events, or those of one instance name with {@code ?name=}.
+ * A ping is sent every heartbeat interval so idle streams stay open. The events carry no id: a reconnecting client
+ * starts over from the events of then on, as nothing is kept to resume from a {@code Last-Event-ID}.
+ */
+@RestController
+public class ResilienceEventsController {
+
+    private final ResilienceEventBus eventBus;
+    private final ResilienceEventsProperties properties;
+
+    public ResilienceEventsController(ResilienceEventBus eventBus, ResilienceEventsProperties properties) {
+        this.eventBus = eventBus;
+        this.properties = properties;
+    }
+
+    @GetMapping(path = "${management.endpoints.web.base-path:/actuator}/resilienceevents/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ResilienceEvent>> events(@RequestParam(required = false) String name) {
+        Flux<ResilienceEvent> events = name == null
+                ? eventBus.events()
+                : eventBus.events().filter(event -> event.name().equals(name));
+        Flux<ServerSentEvent<ResilienceEvent>> heartbeat = Flux.interval(properties.getHeartbeatInterval())
+                .map(tick -> ServerSentEvent.<ResilienceEvent>builder().event("ping").build());
+        return Flux.merge(events.map(event -> ServerSentEvent.builder(event)
+                .event(event.decorator() + "." + event.type())
+                .build()), heartbeat);
+    }
+}
@@ -1,24 +1,13 @@
 package com.circuitbreaker.resilience4j.web.controller;
 
+import com.circuitbreaker.resilience4j.pipeline.ResiliencePipeline;
+import com.circuitbreaker.resilience4j.pipeline.ResiliencePipelineRegistry;
 import com.circuitbreaker.resilience4j.service.BackendService;
-import io.github.resilience4j.bulkhead.Bulkhead;
-import io.github.resilience4j.bulkhead.BulkheadFullException;
-import io.github.resilience4j.bulkhead.BulkheadRegistry;
-import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
-import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
-import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.decorators.Decorators;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
-import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
-import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
-import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.retry.RetryRegistry;
-import io.github.resilience4j.timelimiter.TimeLimiter;
-import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import com.circuitbreaker.resilience4j.service.FallbackResponse;
+import com.circuitbreaker.resilience4j.service.ReactiveBackendService;
+import com.circuitbreaker.resilience4j.service.SlowBackend;
+import com.circuitbreaker.resilience4j.singleflight.SingleFlight;
+import com.circuitbreaker.resilience4j.singleflight.SingleFlightRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,15 +16,15 @@ import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static java.util.Arrays.asList;
-
+/**
+ * The requests are rate limited per client by the keyed rate limiter backend-b, see {@code resilience4j.keyed-ratelimiter}.
+ */
 @RestController
 @RequestMapping("/backend-b")
 public class WestEuropeRestController {
@@ -43,171 +32,128 @@ public class WestEuropeRestController {
     private static final String WEST_EUROPE = "backend-b";
 
     private final BackendService westEuropeService;
-    private final CircuitBreaker circuitBreaker;
-    private final Bulkhead bulkhead;
-    private final ThreadPoolBulkhead threadPoolBulkhead;
-    private final Retry retry;
-    private final RateLimiter rateLimiter;
-    private final TimeLimiter timeLimiter;
-    private final ScheduledExecutorService scheduledExecutorService;
+    private final ReactiveBackendService reactiveWestEuropeService;
+    private final SlowBackend slowBackend;
+    private final ResiliencePipeline pipeline;
+
+    private final Supplier<Mono<String>> monoSuccess;
+    private final Supplier<Mono<String>> monoFailure;
+    private final Supplier<Flux<String>> fluxSuccess;
+    private final Supplier<Flux<String>> fluxFailure;
+    private final Supplier<CompletionStage<String>> futureSuccess;
+    private final Supplier<CompletionStage<String>> futureFailure;
+    private final Supplier<CompletionStage<String>> futureTimeout;
+    private final Function<Throwable, Mono<String>> monoFallback = this::monoFallback;
+    private final Function<Throwable, Flux<String>> fluxFallback = this::fluxFallback;
 
     @Autowired
     public WestEuropeRestController(@Qualifier("westEuropeService") BackendService westEuropeService,
-                                    CircuitBreakerRegistry circuitBreakerRegistry,
-                                    BulkheadRegistry bulkheadRegistry,
-                                    ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
-                                    RetryRegistry retryRegistry,
-                                    RateLimiterRegistry rateLimiterRegistry,
-                                    TimeLimiterRegistry timeLimiterRegistry) {
+                                    @Qualifier("reactiveWestEuropeService") ReactiveBackendService reactiveWestEuropeService,
+                                    SlowBackend slowBackend,
+                                    ResiliencePipelineRegistry pipelineRegistry,
+                                    SingleFlightRegistry singleFlightRegistry) {
         this.westEuropeService = westEuropeService;
-        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(WEST_EUROPE);
-        this.bulkhead = bulkheadRegistry.bulkhead(WEST_EUROPE);
-        this.threadPoolBulkhead = threadPoolBulkheadRegistry.bulkhead(WEST_EUROPE);
-        this.retry = retryRegistry.retry(WEST_EUROPE);
-        this.rateLimiter = rateLimiterRegistry.rateLimiter(WEST_EUROPE);
-        this.timeLimiter = timeLimiterRegistry.timeLimiter(WEST_EUROPE);
-        this.scheduledExecutorService = Executors.newScheduledThreadPool(3);
+        this.reactiveWestEuropeService = reactiveWestEuropeService;
+        this.slowBackend = slowBackend;
+        this.pipeline = pipelineRegistry.pipeline(WEST_EUROPE);
+
+        // identical concurrent calls share one pass through the pipeline
+        SingleFlight singleFlight = singleFlightRegistry.singleFlight(WEST_EUROPE);
+        Supplier<Mono<String>> monoSuccessCall = pipeline.decorateSupplier(westEuropeService::monoSuccess);
+        this.monoSuccess = () -> singleFlight.executeMono("mono-success", monoSuccessCall);
+        this.monoFailure = pipeline.decorateSupplier(westEuropeService::monoFailure);
+        this.fluxSuccess = pipeline.decorateSupplier(westEuropeService::fluxSuccess);
+        this.fluxFailure = pipeline.decorateSupplier(westEuropeService::fluxFailure);
+        Supplier<CompletionStage<String>> futureSuccessCall = pipeline.decorateAsync(westEuropeService::success);
+        this.futureSuccess = () -> singleFlight.executeCompletionStage("future-success", futureSuccessCall);
+        this.futureFailure = pipeline.decorateAsync(westEuropeService::failure);
+        this.futureTimeout = pipeline.decorateCompletionStage(this::timeout, this::fallback);
     }
 
     @GetMapping("/failure")
-    public String failure() {
-        return execute(westEuropeService::failure);
+    public Mono<String> failure() {
+        return pipeline.decorateMono(reactiveWestEuropeService.failure());
     }
 
     @GetMapping("/success")
-    public String success() {
-        return execute(westEuropeService::success);
+    public Mono<String> success() {
+        return pipeline.decorateMono(reactiveWestEuropeService.success());
     }
 
     @GetMapping("/success-exception")
-    public String successException() {
-        return execute(westEuropeService::successException);
+    public Mono<String> successException() {
+        return pipeline.decorateMono(reactiveWestEuropeService.successException());
     }
 
     @GetMapping("/ignore")
-    public String ignore() {
-        return Decorators.ofSupplier(westEuropeService::ignoreException)
-                .withCircuitBreaker(circuitBreaker)
-                .withBulkhead(bulkhead)
-                .get();
+    public Mono<String> ignore() {
+        return pipeline.decorateMonoWithoutRetry(reactiveWestEuropeService.ignoreException());
     }
 
     @GetMapping("/mono-success")
     public Mono<String> monoSuccess() {
-        return execute(westEuropeService::monoSuccess);
+        return monoSuccess.get();
     }
 
     @GetMapping("/mono-failure")
     public Mono<String> monoFailure() {
-        return execute(westEuropeService::monoFailure);
+        return monoFailure.get();
     }
 
     @GetMapping("/mono-timeout")
     public Mono<String> monoTimeout() {
-        return executeWithFallback(westEuropeService.monoTimeout(), this::monoFallback);
+        return pipeline.apply(westEuropeService.monoTimeout(), monoFallback);
     }
 
     @GetMapping("/flux-success")
     public Flux<String> fluxSuccess() {
-        return execute(westEuropeService::fluxSuccess);
+        return fluxSuccess.get();
     }
 
     @GetMapping("/flux-failure")
     public Flux<String> fluxFailure() {
-        return execute(westEuropeService::fluxFailure);
+        return fluxFailure.get();
     }
 
     @GetMapping("/flux-timeout")
     public Flux<String> fluxTimeout() {
-        return executeWithFallback(westEuropeService.fluxTimeout(), this::fluxFallback);
+        return pipeline.apply(westEuropeService.fluxTimeout(), fluxFallback);
     }
 
     @GetMapping("/future-success")
     public CompletableFuture<String> futureSuccess() {
-        return executeAsync(westEuropeService::success);
+        return futureSuccess.get().toCompletableFuture();
     }
 
     @GetMapping("/future-failure")
     public CompletableFuture<String> futureFailure() {
-        return executeAsync(westEuropeService::failure);
+        return futureFailure.get().toCompletableFuture();
     }
 
     @GetMapping("/future-timeout")
     public CompletableFuture<String> futureTimeout() {
-        return executeAsyncWithFallback(this::timeout, this::fallback);
+        return futureTimeout.get().toCompletableFuture();
     }
 
     @GetMapping("/fallback")
-    public String failureWithFallback() {
-        return westEuropeService.failureWithFallback();
-    }
-
-    private String timeout(){
-        try {
-            Thread.sleep(10000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        return "";
-    }
-
-    private <T> T execute(Supplier<T> supplier) {
-        return Decorators.ofSupplier(supplier)
-                .withCircuitBreaker(circuitBreaker)
-                .withBulkhead(bulkhead)
-                .withRetry(retry)
-                .get();
-    }
-
-    private <T> Mono<T> executeWithFallback(Mono<T> publisher, Function<Throwable, Mono<T>> fallback) {
-        return publisher
-                .transform(TimeLimiterOperator.of(timeLimiter))
-                .transform(BulkheadOperator.of(bulkhead))
-                .transform(CircuitBreakerOperator.of(circuitBreaker))
-                .onErrorResume(TimeoutException.class, fallback)
-                .onErrorResume(CallNotPermittedException.class, fallback)
-                .onErrorResume(BulkheadFullException.class, fallback);
-    }
-
-    private <T> Flux<T> executeWithFallback(Flux<T> publisher, Function<Throwable, Flux<T>> fallback){
-        return publisher
-                .transform(TimeLimiterOperator.of(timeLimiter))
-                .transform(BulkheadOperator.of(bulkhead))
-                .transform(CircuitBreakerOperator.of(circuitBreaker))
-                .onErrorResume(TimeoutException.class, fallback)
-                .onErrorResume(CallNotPermittedException.class, fallback)
-                .onErrorResume(BulkheadFullException.class, fallback);
-    }
-
-    private <T> CompletableFuture<T> executeAsync(Supplier<T> supplier){
-        return Decorators.ofSupplier(supplier)
-                .withThreadPoolBulkhead(threadPoolBulkhead)
-                .withTimeLimiter(timeLimiter, scheduledExecutorService)
-                .withCircuitBreaker(circuitBreaker)
-                .withRetry(retry,scheduledExecutorService)
-                .get().toCompletableFuture();
-    }
-
-    private <T> CompletableFuture<T> executeAsyncWithFallback(Supplier<T> supplier, Function<Throwable, T> fallback){
-        return Decorators.ofSupplier(supplier)
-                .withThreadPoolBulkhead(threadPoolBulkhead)
-                .withTimeLimiter(timeLimiter, scheduledExecutorService)
-                .withCircuitBreaker(circuitBreaker)
-                .withFallback(asList(TimeoutException.class, CallNotPermittedException.class, BulkheadFullException.class),
-                        fallback)
-                .get().toCompletableFuture();
+    public Mono<String> failureWithFallback() {
+        return reactiveWestEuropeService.failureWithFallback();
+    }
+
+    private CompletionStage<String> timeout() {
+        return slowBackend.respondAfter(Duration.ofSeconds(10), "");
     }
 
     private String fallback(Throwable ex) {
-        return "Recovered: " + ex.toString();
+        return FallbackResponse.of(ex).body();
     }
 
     private Mono<String> monoFallback(Throwable ex) {
-        return Mono.just("Recovered: " + ex.toString());
+        return FallbackResponse.of(ex).mono();
     }
 
     private Flux<String> fluxFallback(Throwable ex) {
-        return Flux.just("Recovered: " + ex.toString());
+        return FallbackResponse.of(ex).flux();
     }
 
 }
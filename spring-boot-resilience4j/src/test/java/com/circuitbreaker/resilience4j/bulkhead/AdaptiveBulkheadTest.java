@@ -0,0 +1,192 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+public class AdaptiveBulkheadTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    public void shouldRejectCallsAboveTheLimit() {
+        AdaptiveBulkhead bulkhead = aimdBulkhead(2);
+
+        bulkhead.acquirePermission();
+        bulkhead.acquirePermission();
+
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isZero();
+        assertThatThrownBy(bulkhead::acquirePermission).isInstanceOf(BulkheadFullException.class);
+
+        bulkhead.onComplete();
+        assertThat(bulkhead.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    public void shouldRejectWithOneStacklessExceptionWhenStackTracesAreDisabled() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .writableStackTraceEnabled(false)
+                .build(), new AimdLimit(Duration.ofMillis(500), 0.9), 1, 100, Duration.ofSeconds(1), Map.of(),
+                nanoTime::get);
+        bulkhead.acquirePermission();
+
+        BulkheadFullException first = catchThrowableOfType(BulkheadFullException.class, bulkhead::acquirePermission);
+        BulkheadFullException second = catchThrowableOfType(BulkheadFullException.class, bulkhead::acquirePermission);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(first).hasMessage("Bulkhead 'test' is full and does not permit further calls");
+
+        AdaptiveBulkhead withStackTraces = aimdBulkhead(1);
+        withStackTraces.acquirePermission();
+        assertThat(catchThrowable(withStackTraces::acquirePermission))
+                .isNotSameAs(catchThrowable(withStackTraces::acquirePermission));
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenLatencyRises() {
+        AdaptiveBulkhead bulkhead = aimdBulkhead(10);
+
+        callsTaking(5, Duration.ofMillis(1200), bulkhead);
+
+        assertThat(bulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(9);
+    }
+
+    @Test
+    public void shouldIncreaseLimitWhenSaturatedAndFast() {
+        AdaptiveBulkhead bulkhead = aimdBulkhead(2);
+
+        for (int i = 0; i < 10; i++) {
+            callsTaking(2, Duration.ofMillis(100), bulkhead);
+        }
+
+        assertThat(bulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldNotIncreaseLimitWhenCallersDoNotUseIt() {
+        AdaptiveBulkhead bulkhead = aimdBulkhead(10);
+
+        for (int i = 0; i < 10; i++) {
+            callsTaking(2, Duration.ofMillis(100), bulkhead);
+        }
+
+        assertThat(bulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldScaleGradientLimitWithLatency() {
+        GradientLimit gradientLimit = new GradientLimit(1.0);
+        long fast = Duration.ofMillis(10).toNanos();
+
+        int limit = gradientLimit.update(16, fast, 16);
+        assertThat(limit).isEqualTo(20);
+
+        limit = gradientLimit.update(limit, 4 * fast, limit);
+        assertThat(limit).isLessThan(20);
+    }
+
+    @Test
+    public void shouldLetTheLowestLatencyOfTheGradientLimitRiseFromOneNanosecond() {
+        GradientLimit gradientLimit = new GradientLimit(1.0);
+        int limit = gradientLimit.update(16, 1, 16);
+
+        for (int i = 0; i < 1_000; i++) {
+            limit = gradientLimit.update(limit, Duration.ofMillis(1).toNanos(), limit);
+        }
+
+        assertThat(limit).isGreaterThan(16);
+    }
+
+    @Test
+    public void shouldRecoverTheGradientLimitUnderConcurrentCalls() throws InterruptedException {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("test", BulkheadConfig.custom().maxConcurrentCalls(16).build(),
+                new GradientLimit(0.5), 1, 64, Duration.ofMillis(10), Map.of());
+        AtomicLong latencyMillis = new AtomicLong(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            callers.add(Thread.ofPlatform().start(() -> {
+                while (running.get()) {
+                    if (bulkhead.tryAcquirePermission()) {
+                        try {
+                            Thread.sleep(latencyMillis.get());
+                        } catch (InterruptedException e) {
+                            return;
+                        } finally {
+                            bulkhead.onComplete();
+                        }
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        try {
+            Thread.sleep(300);
+            latencyMillis.set(10);
+            Thread.sleep(500);
+            int slowLimit = bulkhead.getMetrics().getMaxAllowedConcurrentCalls();
+            latencyMillis.set(1);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (bulkhead.getMetrics().getMaxAllowedConcurrentCalls() < 16 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(slowLimit).isLessThan(16);
+            assertThat(bulkhead.getMetrics().getMaxAllowedConcurrentCalls()).isGreaterThanOrEqualTo(16);
+        } finally {
+            running.set(false);
+            for (Thread caller : callers) {
+                caller.join();
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplaceEnabledInstancesInTheRegistry() {
+        AdaptiveBulkheadRegistrar registrar = new AdaptiveBulkheadRegistrar();
+        registrar.setEnvironment(new MockEnvironment()
+                .withProperty("resilience4j.adaptive-bulkhead.instances.north-europe.algorithm", "aimd")
+                .withProperty("resilience4j.adaptive-bulkhead.instances.north-europe.min-limit", "2")
+                .withProperty("resilience4j.adaptive-bulkhead.instances.backend-b.enabled", "false"));
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(10).build());
+
+        registrar.postProcessAfterInitialization(registry, "bulkheadRegistry");
+
+        assertThat(registry.bulkhead("north-europe")).isInstanceOf(AdaptiveBulkhead.class);
+        assertThat(registry.bulkhead("north-europe").getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(10);
+        assertThat(registry.bulkhead("backend-b")).isNotInstanceOf(AdaptiveBulkhead.class);
+    }
+
+    private AdaptiveBulkhead aimdBulkhead(int initialLimit) {
+        return new AdaptiveBulkhead("test", BulkheadConfig.custom().maxConcurrentCalls(initialLimit).build(),
+                new AimdLimit(Duration.ofMillis(500), 0.9), 1, 100, Duration.ofSeconds(1), Map.of(), nanoTime::get);
+    }
+
+    private void callsTaking(int calls, Duration latency, AdaptiveBulkhead bulkhead) {
+        for (int i = 0; i < calls; i++) {
+            bulkhead.acquirePermission();
+        }
+        nanoTime.addAndGet(latency.toNanos());
+        for (int i = 0; i < calls; i++) {
+            bulkhead.onComplete();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.circuitbreaker.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VirtualThreadBulkheadTest {
+
+    private final VirtualThreadBulkhead bulkhead =
+            new VirtualThreadBulkhead("test", ThreadPoolBulkheadConfig.ofDefaults(), 2, Map.of());
+
+    @AfterEach
+    public void tearDown() {
+        bulkhead.close();
+    }
+
+    @Test
+    public void shouldRunCallsOnVirtualThreads() throws Exception {
+        CompletableFuture<Boolean> virtual = bulkhead.submit(() -> Thread.currentThread().isVirtual());
+
+        assertThat(virtual.get()).isTrue();
+    }
+
+    @Test
+    public void shouldRejectCallsWhenAllPermitsAreTaken() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = bulkhead.submit(() -> { release.await(); return null; });
+        CompletableFuture<Void> second = bulkhead.submit(() -> { release.await(); return null; });
+
+        assertThat(bulkhead.getMetrics().getAvailableThreadCount()).isZero();
+        assertThatThrownBy(() -> bulkhead.submit(() -> "rejected")).isInstanceOf(BulkheadFullException.class);
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).get();
+
+        assertThat(bulkhead.submit(() -> "permitted").get()).isEqualTo("permitted");
+    }
+
+    @Test
+    public void shouldCompleteWithTheCauseOfAFailedCall() {
+        CompletableFuture<String> failed = bulkhead.submit(() -> { throw new IOException("BAM!"); });
+
+        assertThatThrownBy(failed::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldReplaceEnabledInstancesInTheRegistry() {
+        VirtualThreadBulkheadRegistrar registrar = new VirtualThreadBulkheadRegistrar();
+        registrar.setEnvironment(new MockEnvironment()
+                .withProperty("resilience4j.virtual-thread-bulkhead.instances.north-europe.max-concurrent-calls", "50")
+                .withProperty("resilience4j.virtual-thread-bulkhead.instances.backend-b.enabled", "false"));
+        ThreadPoolBulkheadRegistry registry = ThreadPoolBulkheadRegistry.ofDefaults();
+
+        registrar.postProcessAfterInitialization(registry, "threadPoolBulkheadRegistry");
+
+        assertThat(registry.bulkhead("north-europe")).isInstanceOf(VirtualThreadBulkhead.class);
+        assertThat(registry.bulkhead("north-europe").getMetrics().getMaximumThreadPoolSize()).isEqualTo(50);
+        assertThat(registry.bulkhead("backend-b")).isNotInstanceOf(VirtualThreadBulkhead.class);
+    }
+}
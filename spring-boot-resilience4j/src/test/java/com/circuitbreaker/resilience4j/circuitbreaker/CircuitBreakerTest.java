@@ -1,6 +1,7 @@
 package com.circuitbreaker.resilience4j.circuitbreaker;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.vavr.collection.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -42,6 +43,13 @@ public class CircuitBreakerTest extends AbstractCircuitBreakerTest {
         checkHealthStatus(WEST_EUROPE, CircuitBreaker.State.CLOSED);
     }
 
+    @Test
+    public void shouldRecordBackendAIntoSynchronizedSlidingWindow() {
+        assertThat(circuitBreakerRegistry.circuitBreaker(NORTH_EUROPE).getCircuitBreakerConfig()
+                .getSlidingWindowSynchronizationStrategy())
+                .isEqualTo(CircuitBreakerConfig.SlidingWindowSynchronizationStrategy.SYNCHRONIZED);
+    }
+
     private void produceSuccess(String backend) {
         ResponseEntity<String> response = restTemplate.getForEntity("/" + backend + "/success", String.class);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -0,0 +1,40 @@
+package com.circuitbreaker.resilience4j.circuitbreaker;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowSynchronizationStrategy;
+import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlidingWindowCustomizerRegistrarTest {
+
+    @Test
+    public void shouldRegisterOneCustomizerPerConfig() {
+        SlidingWindowCustomizerRegistrar registrar = new SlidingWindowCustomizerRegistrar();
+        registrar.setEnvironment(new MockEnvironment()
+                .withProperty("resilience4j.sliding-window.configs.shared.synchronization-strategy", "lock-free")
+                .withProperty("resilience4j.sliding-window.configs.backend-b.synchronization-strategy", "synchronized"));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+        registrar.postProcessBeanDefinitionRegistry(beanFactory);
+
+        Map<String, CircuitBreakerConfigCustomizer> customizers =
+                beanFactory.getBeansOfType(CircuitBreakerConfigCustomizer.class);
+        assertThat(customizers).hasSize(2);
+        assertThat(strategyOf(customizers.get("slidingWindowCustomizer-shared")))
+                .isEqualTo(SlidingWindowSynchronizationStrategy.LOCK_FREE);
+        assertThat(strategyOf(customizers.get("slidingWindowCustomizer-backend-b")))
+                .isEqualTo(SlidingWindowSynchronizationStrategy.SYNCHRONIZED);
+    }
+
+    private SlidingWindowSynchronizationStrategy strategyOf(CircuitBreakerConfigCustomizer customizer) {
+        CircuitBreakerConfig.Builder builder = CircuitBreakerConfig.custom();
+        customizer.customize(builder);
+        return builder.build().getSlidingWindowSynchronizationStrategy();
+    }
+}
@@ -0,0 +1,137 @@
+package com.circuitbreaker.resilience4j.cluster;
+
+import com.circuitbreaker.resilience4j.ratelimiter.KeyedRateLimiterProperties;
+import com.circuitbreaker.resilience4j.ratelimiter.KeyedRateLimiterRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class ClusterResilienceSyncTest {
+
+    private final List<Instance> instances = new ArrayList<>();
+
+    private record Instance(GossipNode gossipNode, CircuitBreakerRegistry circuitBreakerRegistry,
+                            RateLimiterRegistry rateLimiterRegistry, KeyedRateLimiterRegistry keyedRateLimiterRegistry) {
+    }
+
+    private Instance start(String nodeId) {
+        return start(nodeId, "cluster-secret");
+    }
+
+    private Instance start(String nodeId, String secret) {
+        GossipNode gossipNode = new GossipNode(nodeId, new InetSocketAddress("127.0.0.1", 0), Duration.ofMillis(20),
+                Duration.ofMillis(500), Duration.ofMinutes(1), secret.getBytes(StandardCharsets.UTF_8));
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(10)
+                .build());
+        KeyedRateLimiterProperties keyedProperties = new KeyedRateLimiterProperties();
+        keyedProperties.getInstances().put("backend-b", new KeyedRateLimiterProperties.InstanceProperties());
+        KeyedRateLimiterRegistry keyedRateLimiterRegistry = new KeyedRateLimiterRegistry(keyedProperties, rateLimiterRegistry, new SimpleMeterRegistry());
+        keyedRateLimiterRegistry.rateLimiter("backend-b");
+        rateLimiterRegistry.rateLimiter("north-europe");
+        circuitBreakerRegistry.circuitBreaker("north-europe");
+
+        gossipNode.start();
+        if (!instances.isEmpty()) {
+            gossipNode.addSeed(instances.getFirst().gossipNode().getLocalAddress());
+        }
+        new ClusterResilienceSync(gossipNode, circuitBreakerRegistry, rateLimiterRegistry, keyedRateLimiterRegistry, new SimpleMeterRegistry());
+        Instance instance = new Instance(gossipNode, circuitBreakerRegistry, rateLimiterRegistry, keyedRateLimiterRegistry);
+        instances.add(instance);
+        return instance;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        instances.forEach(instance -> instance.gossipNode().close());
+    }
+
+    @Test
+    public void shouldSplitTheRateLimitsBetweenTheLiveMembers() {
+        Instance first = start("first");
+        Instance second = start("second");
+        Instance third = start("third");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            for (Instance instance : List.of(first, second, third)) {
+                assertThat(instance.gossipNode().getNumberOfMembers()).isEqualTo(3);
+                assertThat(instance.rateLimiterRegistry().rateLimiter("north-europe").getRateLimiterConfig().getLimitForPeriod())
+                        .isEqualTo(4);
+                assertThat(instance.keyedRateLimiterRegistry().rateLimiter("backend-b").getLimitForPeriod()).isEqualTo(4);
+            }
+        });
+
+        third.gossipNode().close();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(first.gossipNode().getNumberOfMembers()).isEqualTo(2);
+            assertThat(first.rateLimiterRegistry().rateLimiter("north-europe").getRateLimiterConfig().getLimitForPeriod())
+                    .isEqualTo(5);
+        });
+    }
+
+    @Test
+    public void shouldOpenTheCircuitBreakerOnEveryMember() {
+        Instance first = start("first");
+        Instance second = start("second");
+        Instance third = start("third");
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> instances.stream().allMatch(instance -> instance.gossipNode().getNumberOfMembers() == 3));
+
+        second.circuitBreakerRegistry().circuitBreaker("north-europe").transitionToOpenState();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(first.circuitBreakerRegistry().circuitBreaker("north-europe").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThat(third.circuitBreakerRegistry().circuitBreaker("north-europe").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        });
+        long openedAt = second.gossipNode().getCircuitOpenedAt("north-europe");
+        assertThat(first.gossipNode().getCircuitOpenedAt("north-europe")).isEqualTo(openedAt);
+
+        // an instance joining later learns the recent opening as well, without echoing it as its own
+        Instance fourth = start("fourth");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(fourth.circuitBreakerRegistry().circuitBreaker("north-europe").getState()).isEqualTo(CircuitBreaker.State.OPEN));
+        assertThat(fourth.gossipNode().getCircuitOpenedAt("north-europe")).isEqualTo(openedAt);
+    }
+
+    @Test
+    public void shouldIgnoreDatagramsWithoutTheSharedSecret() {
+        Instance first = start("first");
+        Instance intruder = start("intruder", "guessed-secret");
+
+        intruder.circuitBreakerRegistry().circuitBreaker("north-europe").transitionToOpenState();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.gossipNode().getNumberOfRejectedMessages() > 5);
+        assertThat(first.gossipNode().getNumberOfMembers()).isEqualTo(1);
+        assertThat(first.gossipNode().getCircuitOpenedAt("north-europe")).isNull();
+        assertThat(first.circuitBreakerRegistry().circuitBreaker("north-europe").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void shouldForgetOpeningsOlderThanTheOpeningTimeout() {
+        Instance first = start("first");
+
+        first.gossipNode().publishCircuitOpened("south-europe", System.currentTimeMillis() - Duration.ofMinutes(2).toMillis());
+        first.gossipNode().publishCircuitOpened("west-europe", System.currentTimeMillis() - Duration.ofSeconds(59).toMillis());
+        assertThat(first.gossipNode().getCircuitOpenedAt("south-europe")).isNull();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.gossipNode().getCircuitOpenedAt("west-europe") == null);
+    }
+}
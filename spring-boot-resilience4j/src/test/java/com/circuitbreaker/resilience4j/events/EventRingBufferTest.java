@@ -0,0 +1,68 @@
+package com.circuitbreaker.resilience4j.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventRingBufferTest {
+
+    @Test
+    public void shouldDrainInOrderAndDropWhenFull() {
+        EventRingBuffer<Integer> ring = new EventRingBuffer<>(3);
+        assertThat(ring.getCapacity()).isEqualTo(4);
+
+        for (int i = 0; i < 6; i++) {
+            ring.offer(i);
+        }
+
+        assertThat(ring.size()).isEqualTo(4);
+        assertThat(ring.getNumberOfDroppedElements()).isEqualTo(2);
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drain(drained::add, 3)).isEqualTo(3);
+        assertThat(ring.offer(6)).isTrue();
+        ring.drain(drained::add, 10);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 6);
+        assertThat(ring.getNumberOfOfferedElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void shouldNotLoseElementsOfConcurrentProducers() throws InterruptedException {
+        EventRingBuffer<Long> ring = new EventRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(producer << 32 | i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        long[] next = new long[producers];
+        long drained = 0;
+        while (drained < (long) producers * perProducer) {
+            drained += ring.drain(element -> {
+                int producer = (int) (element >>> 32);
+                // the elements of one producer come out in the order it offered them
+                assertThat(element & 0xFFFFFFFFL).isEqualTo(next[producer]++);
+            }, 100);
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(ring.size()).isZero();
+        assertThat(ring.getNumberOfOfferedElements()).isEqualTo(drained);
+    }
+}
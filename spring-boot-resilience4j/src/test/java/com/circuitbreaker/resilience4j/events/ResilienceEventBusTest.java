@@ -0,0 +1,70 @@
+package com.circuitbreaker.resilience4j.events;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResilienceEventBusTest {
+
+    @Test
+    public void shouldStreamTheEventsOfTheDecoratorsFromTheDrainThread() throws Exception {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        circuitBreakerRegistry.circuitBreaker("existing");
+        try (ResilienceEventBus eventBus = new ResilienceEventBus(16, 8, Duration.ofMillis(1))) {
+            eventBus.subscribe(circuitBreakerRegistry, RetryRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                    RateLimiterRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+            eventBus.start();
+
+            StepVerifier.create(eventBus.events().take(2))
+                    .then(() -> {
+                        circuitBreakerRegistry.circuitBreaker("existing").transitionToOpenState();
+                        CircuitBreaker added = circuitBreakerRegistry.circuitBreaker("added");
+                        added.executeSupplier(() -> "ok");
+                    })
+                    .assertNext(event -> {
+                        assertThat(event.decorator()).isEqualTo("circuitbreaker");
+                        assertThat(event.name()).isEqualTo("existing");
+                        assertThat(event.type()).isEqualTo("STATE_TRANSITION");
+                        assertThat(Thread.currentThread().getName()).isEqualTo("resilience-events");
+                    })
+                    .assertNext(event -> {
+                        assertThat(event.name()).isEqualTo("added");
+                        assertThat(event.type()).isEqualTo("SUCCESS");
+                    })
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+
+            assertThat(eventBus.getNumberOfPublishedEvents()).isEqualTo(2);
+            assertThat(eventBus.getNumberOfDeliveredEvents()).isEqualTo(2);
+            assertThat(eventBus.getNumberOfDroppedEvents()).isZero();
+        }
+    }
+
+    @Test
+    public void shouldKeepDrainingAfterAnEventFailsToDispatch() throws Exception {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        try (ResilienceEventBus eventBus = new ResilienceEventBus(16, 8, Duration.ofMillis(1))) {
+            eventBus.subscribe(circuitBreakerRegistry, RetryRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                    RateLimiterRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+            eventBus.start();
+
+            StepVerifier.create(eventBus.events().take(1))
+                    .then(() -> {
+                        eventBus.publish("not a Resilience4j event");
+                        circuitBreakerRegistry.circuitBreaker("after").executeSupplier(() -> "ok");
+                    })
+                    .assertNext(event -> assertThat(event.name()).isEqualTo("after"))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import com.circuitbreaker.resilience4j.main.integration.AbstractIntegrationTest;
+import com.circuitbreaker.resilience4j.singleflight.SingleFlightAspect;
+import io.github.resilience4j.spring6.bulkhead.configure.BulkheadAspect;
+import io.github.resilience4j.spring6.circuitbreaker.configure.CircuitBreakerAspect;
+import io.github.resilience4j.spring6.ratelimiter.configure.RateLimiterAspect;
+import io.github.resilience4j.spring6.retry.configure.RetryAspect;
+import io.github.resilience4j.spring6.timelimiter.configure.TimeLimiterAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgeAspectTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private HedgeRegistry hedgeRegistry;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void shouldOrderTheHedgeBetweenTheCircuitBreakerAndTheRateLimiter() {
+        // from outside in; no two aspects share an order, so Spring never breaks a tie
+        Stream<Class<? extends Ordered>> aspects = Stream.of(SingleFlightAspect.class, RetryAspect.class,
+                CircuitBreakerAspect.class, HedgeAspect.class, RateLimiterAspect.class, TimeLimiterAspect.class,
+                BulkheadAspect.class);
+
+        assertThat(aspects.map(aspect -> applicationContext.getBean(aspect).getOrder()))
+                .isSortedAccordingTo(Integer::compare)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void shouldHedgeBackendAMonoSuccess() {
+        long calls = hedgeRegistry.hedge(NORTH_EUROPE).getNumberOfCalls();
+
+        webClient.get().uri("/north-europe/mono-success")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Hello World Mono from backend A");
+
+        assertThat(hedgeRegistry.hedge(NORTH_EUROPE).getNumberOfCalls()).isEqualTo(calls + 1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.circuitbreaker.resilience4j.hedge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgeTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Hedge hedge = new Hedge("test", HedgeConfig.custom()
+            .minDelay(Duration.ofMillis(5))
+            .maxDelay(Duration.ofMillis(20))
+            .minimumNumberOfCalls(5)
+            .windowSize(8)
+            .build(), scheduler);
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldNotHedgeFastCalls() {
+        StepVerifier.create(hedge.decorate(Mono.just("primary")))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(hedge.getNumberOfCalls()).isEqualTo(1);
+        assertThat(hedge.getNumberOfHedgedCalls()).isZero();
+    }
+
+    @Test
+    public void shouldTakeTheHedgeWhenThePrimaryIsSlow() {
+        Mono<String> source = Mono.defer(() -> attempts.getAndIncrement() == 0
+                ? Mono.just("primary").delayElement(Duration.ofSeconds(5))
+                : Mono.just("hedge"));
+
+        StepVerifier.create(hedge.decorate(source))
+                .expectNext("hedge")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(hedge.getNumberOfHedgedCalls()).isEqualTo(1);
+        assertThat(hedge.getNumberOfHedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldPropagateAnErrorBeforeTheHedgeIsSent() {
+        Mono<String> source = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IOException("BAM!"));
+        });
+
+        StepVerifier.create(hedge.decorate(source))
+                .verifyError(IOException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(hedge.getNumberOfHedgedCalls()).isZero();
+    }
+
+    @Test
+    public void shouldWaitForTheHedgeWhenThePrimaryFailsLater() {
+        Mono<String> source = Mono.defer(() -> attempts.getAndIncrement() == 0
+                ? Mono.<String>error(new IOException("BAM!")).delaySubscription(Duration.ofMillis(100))
+                : Mono.just("hedge").delayElement(Duration.ofMillis(200)));
+
+        StepVerifier.create(hedge.decorate(source))
+                .expectNext("hedge")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void shouldDeriveTheDelayFromRecentLatencies() {
+        assertThat(hedge.getDelay()).isEqualTo(Duration.ofMillis(20));
+
+        for (int i = 0; i < 8; i++) {
+            hedge.decorate(Mono.just("fast")).block();
+        }
+
+        assertThat(hedge.getDelay()).isEqualTo(Duration.ofMillis(5));
+    }
+}
@@ -0,0 +1,133 @@
+package com.circuitbreaker.resilience4j.latency;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class StageTimerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void shouldPublishTheLatenciesWhenTheUpdateIntervalEnded() {
+        StageTimer timer = timer();
+        for (int millis = 1; millis <= 100; millis++) {
+            timer.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        assertThat(timer.getCount()).isZero();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(timer.getCount()).isEqualTo(100);
+        assertThat(timer.getLatencyAtPercentile(50)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(50),
+                within(TimeUnit.MILLISECONDS.toNanos(1)));
+        assertThat(timer.getLatencyAtPercentile(99)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(99),
+                within(TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void shouldForgetTheLatenciesOlderThanTheWindow() {
+        StageTimer timer = timer();
+        timer.record(TimeUnit.MILLISECONDS.toNanos(500));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(timer.getMaxLatency()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500),
+                within(TimeUnit.MILLISECONDS.toNanos(5)));
+
+        timer.record(TimeUnit.MILLISECONDS.toNanos(10));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(timer.getMaxLatency()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(10),
+                within(TimeUnit.MILLISECONDS.toNanos(1)));
+        assertThat(timer.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRecordLatenciesAboveTheRangeAsTheMaximum() {
+        StageTimer timer = timer();
+        timer.record(TimeUnit.MINUTES.toNanos(5));
+        timer.record(-1);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(timer.getMaxLatency()).isCloseTo(TimeUnit.SECONDS.toNanos(2), within(TimeUnit.MILLISECONDS.toNanos(20)));
+        assertThat(timer.getLatencyAtPercentile(0)).isZero();
+    }
+
+    @Test
+    public void shouldTimeTheBulkheadsAlsoWhenTheyAreReplaced() {
+        StageTimerRegistry timers = new StageTimerRegistry(new StageTimerProperties());
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        registry.bulkhead("backend");
+
+        StageTimerRegistrar.register(registry, timers);
+        assertThat(registry.bulkhead("backend")).isInstanceOf(TimedBulkhead.class);
+        registry.replace("backend", Bulkhead.of("backend", BulkheadConfig.custom().maxConcurrentCalls(1).build()));
+
+        Bulkhead bulkhead = registry.bulkhead("backend");
+        assertThat(bulkhead).isInstanceOf(TimedBulkhead.class);
+        assertThat(((TimedBulkhead) bulkhead).getDelegate().getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(1);
+        bulkhead.executeSupplier(() -> "ok");
+        assertThat(bulkhead.tryAcquirePermission()).isTrue();
+        assertThat(bulkhead.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    public void shouldRecordTheRetryDelaysAndPublishThemAsMetrics() {
+        StageTimerProperties properties = new StageTimerProperties();
+        properties.setUpdateInterval(Duration.ofMillis(1));
+        properties.setWindow(Duration.ofSeconds(1));
+        StageTimerRegistry timers = new StageTimerRegistry(properties);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        timers.bindTo(meterRegistry);
+        RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(5))
+                .build());
+        StageTimerRegistrar.register(registry, timers);
+
+        Retry retry = registry.retry("backend");
+        AtomicInteger attempts = new AtomicInteger();
+        retry.executeSupplier(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException(new IOException());
+            }
+            return "ok";
+        });
+
+        StageTimer delays = timers.stageTimers("backend").timer(Stage.RETRY_DELAY);
+        await(delays, 2);
+        assertThat(delays.getLatencyAtPercentile(100)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(5),
+                within(TimeUnit.MILLISECONDS.toNanos(1)));
+        assertThat(meterRegistry.get("resilience.stage.latency")
+                .tag("name", "backend").tag("stage", "retry-delay").tag("quantile", "0.99")
+                .gauge().value()).isCloseTo(0.005, within(0.001));
+        assertThat(meterRegistry.get("resilience.stage.calls")
+                .tag("name", "backend").tag("stage", "retry-delay")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    private StageTimer timer() {
+        return new StageTimer(Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(2), now::get);
+    }
+
+    private static void await(StageTimer timer, long count) {
+        // the recorded delays become visible after the update interval of 1ms
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (timer.getCount() < count && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
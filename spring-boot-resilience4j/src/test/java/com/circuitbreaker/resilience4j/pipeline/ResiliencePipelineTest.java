@@ -0,0 +1,98 @@
+package com.circuitbreaker.resilience4j.pipeline;
+
+import com.circuitbreaker.resilience4j.latency.StageTimers;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResiliencePipelineTest {
+
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private final ThreadPoolBulkhead threadPoolBulkhead = ThreadPoolBulkhead.ofDefaults("test");
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Throwable> recovered = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        threadPoolBulkhead.close();
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldRecoverCallsWithOneStacklessExceptionWhileOpen() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .writableStackTraceEnabled(false)
+                .build());
+        ResiliencePipeline pipeline = pipeline(circuitBreaker);
+        Supplier<CompletionStage<String>> future = pipeline.decorateCompletionStage(
+                () -> CompletableFuture.completedFuture(call()), this::fallback);
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertThat(pipeline.apply(Mono.fromSupplier(this::call), ex -> Mono.just(fallback(ex))).block())
+                .isEqualTo("Recovered");
+        assertThat(pipeline.apply(Flux.just("Hello").map(value -> call()), ex -> Flux.just(fallback(ex))).blockLast())
+                .isEqualTo("Recovered");
+        assertThat(future.get().toCompletableFuture().join()).isEqualTo("Recovered");
+
+        assertThat(calls).hasValue(0);
+        assertThat(recovered).hasSize(3).allSatisfy(ex -> {
+            assertThat(ex).isSameAs(recovered.get(0)).isInstanceOf(CallNotPermittedException.class);
+            assertThat(ex.getStackTrace()).isEmpty();
+        });
+        assertThat(circuitBreaker.getMetrics().getNumberOfNotPermittedCalls()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRunTheCallOnceTheOpenStateHasElapsed() throws InterruptedException {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .waitDurationInOpenState(Duration.ofMillis(1))
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build());
+        ResiliencePipeline pipeline = pipeline(circuitBreaker);
+        circuitBreaker.transitionToOpenState();
+        Thread.sleep(10);
+
+        assertThat(pipeline.apply(Mono.fromSupplier(this::call), ex -> Mono.just(fallback(ex))).block())
+                .isEqualTo("Hello");
+
+        assertThat(calls).hasValue(1);
+        assertThat(recovered).isEmpty();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private ResiliencePipeline pipeline(CircuitBreaker circuitBreaker) {
+        return new ResiliencePipeline("test", circuitBreaker, Bulkhead.ofDefaults("test"), threadPoolBulkhead,
+                Retry.ofDefaults("test"), TimeLimiter.ofDefaults("test"), scheduledExecutorService,
+                new StageTimers("test", Duration.ofMinutes(1), Duration.ofSeconds(10), Duration.ofMinutes(1)));
+    }
+
+    private String call() {
+        calls.incrementAndGet();
+        return "Hello";
+    }
+
+    private String fallback(Throwable ex) {
+        recovered.add(ex);
+        return "Recovered";
+    }
+}
@@ -0,0 +1,98 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyedRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private KeyedRateLimiter rateLimiter(KeyedRateLimiterConfig.Builder config) {
+        return new KeyedRateLimiter("test", config.build(), now::get);
+    }
+
+    @Test
+    public void shouldPermitTheBurstAtOnceAndThenSpreadThePermits() {
+        KeyedRateLimiter rateLimiter = rateLimiter(KeyedRateLimiterConfig.custom()
+                .limitForPeriod(10)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .burstCapacity(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.reservePermission("client")).isZero();
+        }
+        assertThat(rateLimiter.reservePermission("client")).isEqualTo(-1);
+        assertThat(rateLimiter.getRetryAfter("client")).isEqualTo(Duration.ofMillis(100));
+
+        // one permit every 100ms, not ten at the start of the next second
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(rateLimiter.reservePermission("client")).isZero();
+        assertThat(rateLimiter.reservePermission("client")).isEqualTo(-1);
+
+        assertThat(rateLimiter.getNumberOfPermittedCalls()).isEqualTo(6);
+        assertThat(rateLimiter.getNumberOfRejectedCalls()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReserveAPermitWithinTheTimeout() {
+        KeyedRateLimiter rateLimiter = rateLimiter(KeyedRateLimiterConfig.custom()
+                .limitForPeriod(10)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMillis(250))
+                .burstCapacity(1));
+
+        assertThat(rateLimiter.reservePermission("client")).isZero();
+        assertThat(rateLimiter.reservePermission("client")).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(rateLimiter.reservePermission("client")).isEqualTo(Duration.ofMillis(200).toNanos());
+        assertThat(rateLimiter.reservePermission("client")).isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldLimitEveryClientOnItsOwn() {
+        KeyedRateLimiter rateLimiter = rateLimiter(KeyedRateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO));
+
+        assertThat(rateLimiter.reservePermission("a")).isZero();
+        assertThat(rateLimiter.reservePermission("a")).isEqualTo(-1);
+        assertThat(rateLimiter.reservePermission("b")).isZero();
+        assertThat(rateLimiter.getNumberOfClients()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedClients() {
+        KeyedRateLimiter rateLimiter = rateLimiter(KeyedRateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .maxClients(16));
+
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.reservePermission("client-" + i);
+        }
+
+        assertThat(rateLimiter.getNumberOfClients()).isLessThanOrEqualTo(16);
+        assertThat(rateLimiter.getNumberOfEvictions()).isEqualTo(1000 - rateLimiter.getNumberOfClients());
+    }
+
+    @Test
+    public void shouldHandOutTheFixedWindowPermitsPerClient() {
+        KeyedRateLimiter rateLimiter = new KeyedRateLimiter("test", KeyedRateLimiterConfig.custom()
+                .mode(KeyedRateLimiterConfig.Mode.FIXED_WINDOW)
+                .limitForPeriod(2)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+
+        assertThat(rateLimiter.reservePermission("a")).isZero();
+        assertThat(rateLimiter.reservePermission("a")).isZero();
+        assertThat(rateLimiter.reservePermission("a")).isEqualTo(-1);
+        assertThat(rateLimiter.reservePermission("b")).isZero();
+    }
+}
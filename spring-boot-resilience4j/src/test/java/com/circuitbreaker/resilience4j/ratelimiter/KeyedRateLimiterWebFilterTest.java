@@ -0,0 +1,88 @@
+package com.circuitbreaker.resilience4j.ratelimiter;
+
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyedRateLimiterWebFilterTest {
+
+    private final AtomicInteger passed = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> Mono.fromRunnable(passed::incrementAndGet);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeyedRateLimiterWebFilter filter = filter(null);
+
+    private KeyedRateLimiterWebFilter filter(String keyHeader) {
+        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        KeyedRateLimiterProperties.InstanceProperties instance = new KeyedRateLimiterProperties.InstanceProperties();
+        instance.setPathPattern("/backend-b/**");
+        instance.setBurstCapacity(2);
+        instance.setKeyHeader(keyHeader);
+        KeyedRateLimiterProperties properties = new KeyedRateLimiterProperties();
+        properties.getInstances().put("backend-b", instance);
+        return new KeyedRateLimiterWebFilter(new KeyedRateLimiterRegistry(properties, rateLimiterRegistry, meterRegistry), properties);
+    }
+
+    private MockServerWebExchange call(String path, String address) {
+        return call(path, address, "client-" + passed.get());
+    }
+
+    private MockServerWebExchange call(String path, String address, String clientId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress(address, 8080))
+                .header("X-Client-Id", clientId));
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Test
+    public void shouldRejectAClientBeyondItsBurstWithRetryAfter() {
+        assertThat(call("/backend-b/success", "10.0.0.1").getResponse().getStatusCode()).isNull();
+        assertThat(call("/backend-b/success", "10.0.0.1").getResponse().getStatusCode()).isNull();
+
+        MockServerWebExchange rejected = call("/backend-b/success", "10.0.0.1");
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("60");
+
+        assertThat(call("/backend-b/success", "10.0.0.2").getResponse().getStatusCode()).isNull();
+        assertThat(passed).hasValue(3);
+        assertThat(meterRegistry.get("resilience.ratelimiter.keyed.rejected").tag("name", "backend-b").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotLimitOtherPaths() {
+        for (int i = 0; i < 5; i++) {
+            call("/north-europe/success", "10.0.0.1");
+        }
+
+        assertThat(passed).hasValue(5);
+    }
+
+    @Test
+    public void shouldLimitByTheKeyHeaderOnlyWhereConfigured() {
+        filter = filter("X-Client-Id");
+        call("/backend-b/success", "10.0.0.1", "a");
+        call("/backend-b/success", "10.0.0.1", "a");
+
+        assertThat(call("/backend-b/success", "10.0.0.1", "a").getResponse().getStatusCode())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(call("/backend-b/success", "10.0.0.1", "b").getResponse().getStatusCode()).isNull();
+        assertThat(passed).hasValue(3);
+    }
+}
@@ -0,0 +1,36 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import io.github.resilience4j.core.functions.Either;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class RetryBackoffConfigurationTest {
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @Autowired
+    private RetryBudgetRegistry retryBudgetRegistry;
+
+    @Test
+    public void shouldBackOffTheRetryOfTheWestEuropeControllerWithinItsBudget() {
+        // the instance WestEuropeRestController and ResiliencePipeline resolve
+        Retry retry = retryRegistry.retry("backend-b");
+        RetryBudget budget = retryBudgetRegistry.getBudget("backend-b").orElseThrow();
+        long granted = budget.getNumberOfGrantedRetries();
+
+        long wait = retry.getRetryConfig().getIntervalBiFunction().apply(1, Either.left(new IOException()));
+
+        assertThat(wait).isBetween(50L, 150L);
+        assertThat(budget.getNumberOfGrantedRetries()).isEqualTo(granted + 1);
+        assertThat(retry.getRetryConfig().getMaxAttempts()).isEqualTo(3);
+    }
+}
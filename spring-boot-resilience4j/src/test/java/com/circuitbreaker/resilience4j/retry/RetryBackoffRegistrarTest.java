@@ -0,0 +1,79 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.core.functions.Either;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryBackoffRegistrarTest {
+
+    @Test
+    public void shouldRegisterABudgetAndACustomizerPerInstance() {
+        RetryBackoffRegistrar registrar = new RetryBackoffRegistrar();
+        registrar.setEnvironment(new MockEnvironment()
+                .withProperty("resilience4j.retry-backoff.instances.north-europe.initial-interval", "10ms")
+                .withProperty("resilience4j.retry-backoff.instances.north-europe.max-interval", "50ms")
+                .withProperty("resilience4j.retry-backoff.instances.backend-b.budget-ratio", "0.2"));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+        registrar.postProcessBeanDefinitionRegistry(beanFactory);
+
+        assertThat(beanFactory.getBeansOfType(RetryBudget.class))
+                .containsOnlyKeys("retryBudget-north-europe", "retryBudget-backend-b");
+        RetryConfigCustomizer customizer = beanFactory.getBean("retryBackoffCustomizer-north-europe", RetryConfigCustomizer.class);
+        assertThat(customizer.name()).isEqualTo("north-europe");
+        RetryConfig.Builder<Object> builder = RetryConfig.custom().waitDuration(Duration.ofSeconds(100));
+        customizer.customize(builder);
+        IntervalBiFunction<Object> interval = builder.build().getIntervalBiFunction();
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            assertThat(interval.apply(attempt, Either.left(new IOException()))).isBetween(10L, 50L);
+        }
+    }
+
+    @Test
+    public void shouldSpreadTheWaitsWithinTheGrowingRange() {
+        DecorrelatedJitterBackoff backoff = new DecorrelatedJitterBackoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(backoff.apply(1, Either.left(new IOException()))).isBetween(100L, 300L);
+            assertThat(backoff.apply(2, Either.left(new IOException()))).isBetween(100L, 900L);
+            assertThat(backoff.apply(6, Either.left(new IOException()))).isBetween(100L, 1000L);
+        }
+    }
+
+    @Test
+    public void shouldStopRetryingWhenTheBudgetIsExhausted() {
+        RetryBudget budget = new RetryBudget("backend", 0.1, Duration.ofSeconds(10), 0.1);
+        Retry retry = Retry.of("backend", RetryConfig.custom()
+                .maxAttempts(3)
+                .intervalBiFunction(RetryBackoffRegistrar.budgeted((attempt, result) -> 0L, budget))
+                .build());
+        budget.trackAttempts(retry.getMetrics()::getNumberOfTotalCalls);
+        AtomicInteger calls = new AtomicInteger();
+
+        // one retry is granted without any traffic, the second retry and the next call's retry are not
+        assertThatThrownBy(() -> retry.executeCallable(() -> {
+            calls.incrementAndGet();
+            throw new IOException("down");
+        })).isInstanceOf(IOException.class);
+        assertThat(calls).hasValue(2);
+        assertThatThrownBy(() -> retry.executeCallable(() -> {
+            calls.incrementAndGet();
+            throw new IOException("down");
+        })).isInstanceOf(IOException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(budget.getNumberOfGrantedRetries()).isEqualTo(1);
+        assertThat(budget.getNumberOfExhaustedRetries()).isEqualTo(2);
+    }
+}
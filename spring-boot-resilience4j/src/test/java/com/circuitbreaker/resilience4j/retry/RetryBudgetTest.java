@@ -0,0 +1,69 @@
+package com.circuitbreaker.resilience4j.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicLong attempts = new AtomicLong();
+
+    private RetryBudget budget(double minRetriesPerSecond) {
+        RetryBudget budget = new RetryBudget("test", 0.1, Duration.ofSeconds(10), minRetriesPerSecond, now::get);
+        budget.trackAttempts(attempts::get);
+        return budget;
+    }
+
+    @Test
+    public void shouldCapTheRetriesAtTheirShareOfTheCalls() {
+        RetryBudget budget = budget(0);
+        attempts.addAndGet(100);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquireRetry()).isTrue();
+        }
+        assertThat(budget.tryAcquireRetry()).isFalse();
+        // the granted retries count as attempts, but not as calls
+        attempts.addAndGet(10);
+        assertThat(budget.tryAcquireRetry()).isFalse();
+
+        assertThat(budget.getCalls()).isEqualTo(100);
+        assertThat(budget.getNumberOfGrantedRetries()).isEqualTo(10);
+        assertThat(budget.getNumberOfExhaustedRetries()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldGrantTheMinimumRetriesWithoutCalls() {
+        RetryBudget budget = budget(0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(budget.tryAcquireRetry()).isTrue();
+        }
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    public void shouldForgetCallsAndRetriesOutsideTheWindow() {
+        RetryBudget budget = budget(0);
+        attempts.addAndGet(50);
+        assertThat(budget.getAvailableRetries()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            budget.tryAcquireRetry();
+        }
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        attempts.addAndGet(50 + 5);
+        assertThat(budget.getCalls()).isEqualTo(100);
+        assertThat(budget.getAvailableRetries()).isEqualTo(5);
+
+        // the first 50 calls and their retries leave the window, the other 50 were spread over the six seconds since
+        // the budget last looked, and the ones of the first two seconds leave as well
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(budget.getRetries()).isZero();
+        assertThat(budget.getCalls()).isEqualTo(34);
+    }
+}
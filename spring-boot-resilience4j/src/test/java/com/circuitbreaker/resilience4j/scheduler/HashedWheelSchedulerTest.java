@@ -0,0 +1,106 @@
+package com.circuitbreaker.resilience4j.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HashedWheelSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HashedWheelScheduler scheduler = new HashedWheelScheduler("test-scheduler", Duration.ofMillis(5), 64, 1);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunTaskAfterDelayAndRecordLag() throws Exception {
+        scheduler.bindTo(meterRegistry);
+        long start = System.nanoTime();
+
+        ScheduledFuture<String> future = scheduler.schedule(() -> "done", 20, TimeUnit.MILLISECONDS);
+
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(meterRegistry.get("resilience.scheduler.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotRunCancelledTask() throws Exception {
+        scheduler.bindTo(meterRegistry);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        ScheduledFuture<?> future = scheduler.schedule(() -> ran.set(true), 1, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("resilience.scheduler.pending").gauge().value()).isEqualTo(1);
+        assertThat(future.cancel(false)).isTrue();
+        Thread.sleep(50);
+
+        assertThat(future.isCancelled()).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(meterRegistry.get("resilience.scheduler.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    public void shouldRunPeriodicTasksUntilCancelled() throws Exception {
+        AtomicInteger rateRuns = new AtomicInteger();
+        AtomicInteger delayRuns = new AtomicInteger();
+
+        ScheduledFuture<?> rate = scheduler.scheduleAtFixedRate(rateRuns::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> delay = scheduler.scheduleWithFixedDelay(delayRuns::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+        Thread.sleep(200);
+
+        assertThat(rate.cancel(false)).isTrue();
+        assertThat(delay.cancel(false)).isTrue();
+        int rateRunsAtCancel = rateRuns.get();
+        int delayRunsAtCancel = delayRuns.get();
+        Thread.sleep(50);
+
+        assertThat(rateRunsAtCancel).isGreaterThanOrEqualTo(3);
+        assertThat(delayRunsAtCancel).isGreaterThanOrEqualTo(3);
+        assertThat(rateRuns).hasValue(rateRunsAtCancel);
+        assertThat(delayRuns).hasValue(delayRunsAtCancel);
+        assertThatThrownBy(() -> scheduler.scheduleAtFixedRate(() -> { }, 0, 0, TimeUnit.SECONDS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldRunDelayedTasksButCancelPeriodicTasksOnShutdown() throws Exception {
+        AtomicInteger periodicRuns = new AtomicInteger();
+
+        ScheduledFuture<String> delayed = scheduler.schedule(() -> "done", 50, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> periodic = scheduler.scheduleAtFixedRate(periodicRuns::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+        scheduler.shutdown();
+
+        assertThat(periodic.isCancelled()).isTrue();
+        assertThat(delayed.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(scheduler.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> scheduler.schedule(() -> { }, 0, TimeUnit.SECONDS))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void shouldCancelAndReturnPendingTasksOnShutdownNow() throws Exception {
+        ScheduledFuture<String> delayed = scheduler.schedule(() -> "done", 1, TimeUnit.SECONDS);
+        ScheduledFuture<?> periodic = scheduler.scheduleWithFixedDelay(() -> { }, 1, 1, TimeUnit.SECONDS);
+
+        List<Runnable> tasks = scheduler.shutdownNow();
+
+        assertThat(tasks).containsExactlyInAnyOrder((Runnable) delayed, (Runnable) periodic);
+        assertThatThrownBy(() -> delayed.get(1, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(periodic.isCancelled()).isTrue();
+        assertThat(scheduler.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,55 @@
+package com.circuitbreaker.resilience4j.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class BoundedElasticBackendServiceTest {
+
+    private final Scheduler blockingScheduler = Schedulers.newBoundedElastic(2, 10, "test-elastic");
+    private final AtomicInteger calls = new AtomicInteger();
+    private final BackendService backendService = new WestEuropeService(mock(SlowBackend.class)) {
+        @Override
+        public String success() {
+            calls.incrementAndGet();
+            return Thread.currentThread().getName();
+        }
+    };
+    private final ReactiveBackendService reactiveBackendService =
+            new BoundedElasticBackendService(backendService, blockingScheduler);
+
+    @AfterEach
+    public void tearDown() {
+        blockingScheduler.dispose();
+    }
+
+    @Test
+    public void shouldRunBlockingCallsOnBlockingScheduler() {
+        StepVerifier.create(reactiveBackendService.success())
+                .expectNextMatches(threadName -> threadName.startsWith("test-elastic"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldCallBackendOnEverySubscription() {
+        StepVerifier.create(reactiveBackendService.success().repeat(2))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    public void shouldSignalBlockingFailureAsError() {
+        StepVerifier.create(reactiveBackendService.failure())
+                .verifyError(HttpServerErrorException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.circuitbreaker.resilience4j.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FallbackResponseTest {
+
+    @Test
+    public void shouldReuseTheResponseOfARejection() {
+        CallNotPermittedException open = CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("a"));
+        BulkheadFullException full = BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("b"));
+
+        assertThat(FallbackResponse.of(open)).isSameAs(FallbackResponse.of(
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("c"))));
+        assertThat(FallbackResponse.of(open).body()).isEqualTo("Recovered: " + CallNotPermittedException.class.getName());
+        assertThat(FallbackResponse.of(full).body()).isEqualTo("Recovered: " + BulkheadFullException.class.getName());
+    }
+
+    @Test
+    public void shouldKeepTheMessageOfAnyOtherException() {
+        HttpServerErrorException ex = new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "This is a remote exception");
+
+        assertThat(FallbackResponse.of(ex).body()).isEqualTo("Recovered: " + ex);
+        assertThat(FallbackResponse.of(ex).mono().block()).contains("This is a remote exception");
+    }
+}
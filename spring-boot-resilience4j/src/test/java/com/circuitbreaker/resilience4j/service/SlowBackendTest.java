@@ -0,0 +1,67 @@
+package com.circuitbreaker.resilience4j.service;
+
+import com.circuitbreaker.resilience4j.scheduler.HashedWheelScheduler;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+public class SlowBackendTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HashedWheelScheduler scheduler = new HashedWheelScheduler("test-scheduler", Duration.ofMillis(5), 64, 1);
+    private final SlowBackend slowBackend = new SlowBackend(scheduler);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldCompleteOnSchedulerWithoutBlockingCaller() throws Exception {
+        AtomicReference<String> completingThread = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        CompletableFuture<String> future = slowBackend.respondAfter(Duration.ofMillis(50), "Hello");
+        future.thenRun(() -> {
+            completingThread.set(Thread.currentThread().getName());
+            completed.countDown();
+        });
+
+        assertThat(future).isNotDone();
+        assertThat(completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(future).isCompletedWithValue("Hello");
+        assertThat(completingThread.get()).startsWith("test-scheduler");
+    }
+
+    @Test
+    public void shouldTimeOutWithoutHoldingAThread() throws Exception {
+        scheduler.bindTo(meterRegistry);
+        TimeLimiter timeLimiter = TimeLimiter.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(50))
+                .build());
+
+        CompletableFuture<String> future = timeLimiter.executeCompletionStage(scheduler,
+                () -> slowBackend.respondAfter(Duration.ofSeconds(10), "Hello")).toCompletableFuture();
+
+        assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        // the backend response is unscheduled as soon as the TimeLimiter gives up, the wheel drops it on its next tick
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() ->
+                assertThat(meterRegistry.get("resilience.scheduler.pending").gauge().value()).isZero());
+    }
+}
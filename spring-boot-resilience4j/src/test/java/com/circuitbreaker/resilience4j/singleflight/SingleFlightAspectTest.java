@@ -0,0 +1,37 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import com.circuitbreaker.resilience4j.main.integration.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightAspectTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private SingleFlightRegistry singleFlightRegistry;
+
+    @Test
+    public void shouldPassBackendAMonoSuccessThroughTheSingleFlight() {
+        long calls = singleFlightRegistry.singleFlight(NORTH_EUROPE).getNumberOfCalls();
+
+        webClient.get().uri("/north-europe/mono-success")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Hello World Mono from backend A");
+
+        assertThat(singleFlightRegistry.singleFlight(NORTH_EUROPE).getNumberOfCalls()).isEqualTo(calls + 1);
+    }
+
+    @Test
+    public void shouldPassBackendAFutureSuccessThroughTheSingleFlight() {
+        long calls = singleFlightRegistry.singleFlight(NORTH_EUROPE).getNumberOfCalls();
+
+        webClient.get().uri("/north-europe/future-success")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Hello World from backend A");
+
+        assertThat(singleFlightRegistry.singleFlight(NORTH_EUROPE).getNumberOfCalls()).isEqualTo(calls + 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.circuitbreaker.resilience4j.singleflight;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight("test");
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    @Test
+    public void shouldCoalesceConcurrentCallsWithTheSameKey() {
+        Sinks.One<String> backend = Sinks.one();
+        Flux<String> callers = Flux.range(0, 10)
+                .flatMap(i -> singleFlight.executeMono("key", () -> {
+                    backendCalls.incrementAndGet();
+                    return backend.asMono();
+                }));
+
+        StepVerifier.create(callers)
+                .then(() -> backend.tryEmitValue("result"))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertThat(backendCalls).hasValue(1);
+        assertThat(singleFlight.getNumberOfCalls()).isEqualTo(10);
+        assertThat(singleFlight.getNumberOfExecutions()).isEqualTo(1);
+        assertThat(singleFlight.getDedupRatio()).isEqualTo(0.9);
+        assertThat(singleFlight.getNumberOfCallsInFlight()).isZero();
+    }
+
+    @Test
+    public void shouldNotCoalesceDifferentKeys() {
+        Flux<String> callers = Flux.range(0, 3)
+                .flatMap(i -> singleFlight.executeMono(i, () -> Mono.fromSupplier(() -> "call " + backendCalls.incrementAndGet())));
+
+        StepVerifier.create(callers)
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(backendCalls).hasValue(3);
+    }
+
+    @Test
+    public void shouldCallAgainOnceTheCallCompleted() {
+        Mono<String> call = singleFlight.executeMono("key", () -> Mono.fromSupplier(() -> "call " + backendCalls.incrementAndGet()));
+
+        StepVerifier.create(call).expectNext("call 1").verifyComplete();
+        StepVerifier.create(call).expectNext("call 2").verifyComplete();
+    }
+
+    @Test
+    public void shouldShareAnErrorWithTheJoinedCalls() {
+        Sinks.One<String> backend = Sinks.one();
+        Mono<String> first = singleFlight.executeMono("key", backend::asMono);
+        Mono<String> second = singleFlight.executeMono("key", () -> Mono.just("not called"));
+
+        StepVerifier.create(Flux.merge(first, second).materialize().filter(signal -> signal.isOnError()).count())
+                .then(() -> backend.tryEmitError(new IOException("BAM!")))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldKeepTheCallForTheOthersWhenOneCallerCancels() {
+        Sinks.One<String> backend = Sinks.one();
+        Mono<String> call = singleFlight.executeMono("key", backend::asMono);
+
+        Disposable cancelled = call.subscribe();
+        StepVerifier.create(call)
+                .then(cancelled::dispose)
+                .then(() -> backend.tryEmitValue("result"))
+                .expectNext("result")
+                .verifyComplete();
+
+        assertThat(singleFlight.getNumberOfExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCoalesceCompletionStagesAndHandOutCopies() {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.executeCompletionStage("key", () -> {
+            backendCalls.incrementAndGet();
+            return backend;
+        });
+        CompletableFuture<String> second = singleFlight.executeCompletionStage("key", () -> {
+            backendCalls.incrementAndGet();
+            return backend;
+        });
+
+        first.cancel(false);
+        backend.complete("result");
+
+        assertThat(second).isCompletedWithValue("result");
+        assertThat(backendCalls).hasValue(1);
+        assertThat(singleFlight.getNumberOfCallsInFlight()).isZero();
+    }
+}
@@ -0,0 +1,168 @@
+package com.circuitbreaker.resilience4j.timelimiter;
+
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveTimeLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private AdaptiveTimeLimiter timeLimiter(AdaptiveTimeLimiterConfig.Builder config) {
+        TimeLimiterConfig baseConfig = TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(2)).build();
+        return new AdaptiveTimeLimiter("test", baseConfig, config.build(), Map.of(), now::get);
+    }
+
+    private void record(AdaptiveTimeLimiter timeLimiter, int calls, Duration latency) {
+        for (int i = 0; i < calls; i++) {
+            timeLimiter.recordLatency(latency.toNanos());
+        }
+    }
+
+    @Test
+    public void shouldSetTheTimeoutFromThePercentileOfTheLatencies() {
+        AdaptiveTimeLimiter timeLimiter = timeLimiter(AdaptiveTimeLimiterConfig.custom()
+                .percentile(0.99)
+                .multiplier(1.5)
+                .minTimeout(Duration.ofMillis(5))
+                .maxTimeout(Duration.ofSeconds(2))
+                .minimumNumberOfCalls(100));
+
+        record(timeLimiter, 98, Duration.ofMillis(10));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(timeLimiter, 1, Duration.ofMillis(10));
+        // the first interval has 99 calls, one short of the minimum
+        assertThat(timeLimiter.getTimeout()).isEqualTo(Duration.ofSeconds(2));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(timeLimiter, 1, Duration.ofMillis(10));
+        assertThat(timeLimiter.getTimeout()).isBetween(Duration.ofMillis(15), Duration.ofMillis(16));
+        assertThat(timeLimiter.getTimeLimiterConfig().getTimeoutDuration()).isEqualTo(timeLimiter.getTimeout());
+    }
+
+    @Test
+    public void shouldBackOffTheTimeoutAfterALatencyStepAboveIt() {
+        AdaptiveTimeLimiter timeLimiter = timeLimiter(AdaptiveTimeLimiterConfig.custom()
+                .minTimeout(Duration.ofMillis(100))
+                .window(Duration.ofSeconds(2))
+                .minimumNumberOfCalls(10));
+        record(timeLimiter, 10, Duration.ofMillis(1));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(timeLimiter, 1, Duration.ofMillis(1));
+        assertThat(timeLimiter.getTimeout()).isEqualTo(Duration.ofMillis(100));
+
+        // the backend settles at 300ms, every call times out until the timeout has backed off above it
+        for (int i = 0; i < 5; i++) {
+            for (int call = 0; call < 20; call++) {
+                if (timeLimiter.getTimeout().compareTo(Duration.ofMillis(300)) <= 0) {
+                    timeLimiter.recordTimeout();
+                } else {
+                    timeLimiter.recordLatency(Duration.ofMillis(300).toNanos());
+                }
+            }
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+        }
+        record(timeLimiter, 1, Duration.ofMillis(300));
+
+        // the first call of an interval still times out before it closes the previous one
+        assertThat(timeLimiter.getNumberOfTimeouts()).isEqualTo(41);
+        assertThat(timeLimiter.getTimeout()).isBetween(Duration.ofMillis(450), Duration.ofMillis(452));
+    }
+
+    @Test
+    public void shouldNotLowerTheTimeoutWhileCallsTimeOut() {
+        AdaptiveTimeLimiter timeLimiter = timeLimiter(AdaptiveTimeLimiterConfig.custom()
+                .percentile(0.9)
+                .multiplier(1.5)
+                .minTimeout(Duration.ofMillis(10))
+                .window(Duration.ofSeconds(2))
+                .minimumNumberOfCalls(10));
+        record(timeLimiter, 10, Duration.ofMillis(200));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(timeLimiter, 1, Duration.ofMillis(200));
+        assertThat(timeLimiter.getTimeout()).isBetween(Duration.ofMillis(300), Duration.ofMillis(302));
+        Duration timeout = timeLimiter.getTimeout();
+
+        // the slow calls time out and the timeout backs off
+        record(timeLimiter, 10, Duration.ofMillis(1));
+        for (int call = 0; call < 10; call++) {
+            timeLimiter.recordTimeout();
+        }
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(timeLimiter, 1, Duration.ofMillis(1));
+        assertThat(timeLimiter.getTimeout()).isEqualTo(timeout.multipliedBy(2));
+
+        // while the window holds the timeouts only the fast calls are left as samples
+        record(timeLimiter, 10, Duration.ofMillis(1));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(timeLimiter, 1, Duration.ofMillis(1));
+        assertThat(timeLimiter.getTimeout()).isEqualTo(timeout.multipliedBy(2));
+
+        // once nothing times out the fast calls bring it down
+        for (int i = 0; i < 3; i++) {
+            record(timeLimiter, 10, Duration.ofMillis(1));
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+            record(timeLimiter, 1, Duration.ofMillis(1));
+        }
+        assertThat(timeLimiter.getTimeout()).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    public void shouldTimeOutACompletionStageAfterTheAdaptedTimeout() throws Exception {
+        AdaptiveTimeLimiter timeLimiter = timeLimiter(AdaptiveTimeLimiterConfig.custom()
+                .minTimeout(Duration.ofMillis(50))
+                .minimumNumberOfCalls(10));
+        record(timeLimiter, 10, Duration.ofMillis(1));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(timeLimiter.decorateCompletionStage(scheduler, () -> CompletableFuture.completedFuture("fast"))
+                .get().toCompletableFuture().get()).isEqualTo("fast");
+        assertThat(timeLimiter.getTimeout()).isEqualTo(Duration.ofMillis(50));
+
+        CompletableFuture<String> slow = timeLimiter
+                .decorateCompletionStage(scheduler, CompletableFuture<String>::new)
+                .get().toCompletableFuture();
+
+        assertThatThrownBy(slow::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void shouldRecordTheLatenciesOfAMonoAndTimeItOutAtSubscription() {
+        // the first subscriptions are slow while the classes load, the 90th percentile leaves them out
+        AdaptiveTimeLimiter timeLimiter = timeLimiter(AdaptiveTimeLimiterConfig.custom()
+                .percentile(0.9)
+                .minTimeout(Duration.ofMillis(50))
+                .minimumNumberOfCalls(100));
+        Mono<String> fast = Mono.just("fast").transformDeferred(AdaptiveTimeLimiterOperator.of(timeLimiter));
+        for (int i = 0; i < 100; i++) {
+            StepVerifier.create(fast).expectNext("fast").verifyComplete();
+        }
+        Mono<String> slow = Mono.just("slow").delayElement(Duration.ofMillis(500))
+                .transformDeferred(AdaptiveTimeLimiterOperator.of(timeLimiter));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        StepVerifier.create(fast).expectNext("fast").verifyComplete();
+
+        assertThat(timeLimiter.getTimeout()).isEqualTo(Duration.ofMillis(50));
+        StepVerifier.create(slow).expectError(TimeoutException.class).verify(Duration.ofMillis(400));
+    }
+}